@@ -0,0 +1,102 @@
+package tarabaho.tarabaho.config;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import tarabaho.tarabaho.entity.BookingStatus;
+
+/**
+ * Applies schema changes that {@code ddl-auto=update} cannot make: partial unique indexes it
+ * cannot express, enum check constraints it creates once but never widens, and backfills of
+ * new columns. Runs after Hibernate has updated the schema; every statement is idempotent. A
+ * failure (e.g. existing rows violating a new unique index) is logged and does not stop
+ * startup. The status check is only replaced when its value list differs from the enum, since
+ * replacing it locks and scans the bookings table.
+ */
+@Component
+public class DatabaseSchemaInitializer implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseSchemaInitializer.class);
+
+    private static final List<String> STATEMENTS = List.of(
+        // At most one active booking per user.
+        "CREATE UNIQUE INDEX IF NOT EXISTS ux_bookings_user_active ON bookings (user_id) " +
+        "WHERE status IN ('PENDING', 'ACCEPTED', 'IN_PROGRESS', 'WORKER_COMPLETED')",
+        // rating_sum was added after ratings were counted; seed it from the stored average.
+        "UPDATE graduates SET rating_sum = stars * rating_count WHERE rating_sum = 0 AND rating_count > 0"
+    );
+
+    private static final String STATUS_CHECK_SQL =
+        "SELECT pg_get_constraintdef(oid) FROM pg_constraint " +
+        "WHERE conrelid = 'bookings'::regclass AND conname = 'bookings_status_check'";
+
+    private static final Pattern QUOTED = Pattern.compile("'([^']*)'");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        for (String statement : STATEMENTS) {
+            execute(statement);
+        }
+        ensureStatusCheck();
+    }
+
+    // Hibernate's check constraint lists the statuses that existed when the table was created.
+    // The new one is added NOT VALID and validated separately, so the exclusive lock is only
+    // held for the catalog change and the scan runs under a lock that lets writes through.
+    private void ensureStatusCheck() {
+        Set<String> statuses = Arrays.stream(BookingStatus.values()).map(Enum::name)
+            .collect(Collectors.toCollection(TreeSet::new));
+        try {
+            List<String> definitions = jdbcTemplate.queryForList(STATUS_CHECK_SQL, String.class);
+            if (definitions.size() == 1 && statuses.equals(quotedValues(definitions.get(0)))) {
+                return;
+            }
+        } catch (DataAccessException e) {
+            logger.error("Could not read bookings_status_check: {}", e.getMessage());
+            return;
+        }
+        logger.info("Replacing bookings_status_check with statuses {}", statuses);
+        if (execute("ALTER TABLE bookings DROP CONSTRAINT IF EXISTS bookings_status_check")
+                && execute("ALTER TABLE bookings ADD CONSTRAINT bookings_status_check CHECK (status IN ("
+                    + statuses.stream().map(status -> "'" + status + "'").collect(Collectors.joining(", "))
+                    + ")) NOT VALID")) {
+            execute("ALTER TABLE bookings VALIDATE CONSTRAINT bookings_status_check");
+        }
+    }
+
+    private boolean execute(String statement) {
+        try {
+            jdbcTemplate.execute(statement);
+            return true;
+        } catch (DataAccessException e) {
+            logger.error("Could not apply schema DDL [{}]: {}", statement, e.getMessage());
+            return false;
+        }
+    }
+
+    // The string literals of a constraint definition, e.g. the statuses of an IN / = ANY check.
+    private static Set<String> quotedValues(String definition) {
+        Set<String> values = new TreeSet<>();
+        Matcher matcher = QUOTED.matcher(definition);
+        while (matcher.find()) {
+            values.add(matcher.group(1));
+        }
+        return values;
+    }
+}
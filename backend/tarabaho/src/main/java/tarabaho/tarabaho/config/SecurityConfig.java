@@ -17,6 +17,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import tarabaho.tarabaho.jwt.JwtAuthFilter;
@@ -46,6 +47,8 @@ public class SecurityConfig {
 			.authorizeHttpRequests(auth -> {
 				System.out.println("Configuring authorization rules...");
 				auth
+					// Async dispatches (SSE streams) were already authorized on the original request
+					.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
 					// Public endpoints
 					.requestMatchers("/api/admin/register", "/api/admin/login", "/api/admin/logout").permitAll()
 					.requestMatchers("/api/user/login", "/api/user/register", "/api/user/token").permitAll()
@@ -120,7 +123,7 @@ public class SecurityConfig {
 		System.out.println("Configuring CORS...");
 		CorsConfiguration config = new CorsConfiguration();
 		config.setAllowedOrigins(Arrays.asList("http://localhost:5173", "https://tarabaho.vercel.app")); // Update for production
-		config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+		config.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
 		config.setAllowCredentials(true);
 		config.setAllowedHeaders(List.of("*"));
 	
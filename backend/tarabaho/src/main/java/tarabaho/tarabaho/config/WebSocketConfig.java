@@ -1,7 +1,5 @@
 package tarabaho.tarabaho.config;
 
-import java.util.Collections;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.Message;
@@ -14,24 +12,24 @@ import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
-import tarabaho.tarabaho.jwt.JwtUtil;
+import tarabaho.tarabaho.jwt.JwtPrincipal;
+import tarabaho.tarabaho.jwt.JwtPrincipalResolver;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private JwtPrincipalResolver jwtPrincipalResolver;
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic");
+        // "/queue" carries per-user pushes such as /user/queue/urgent-offers
+        config.enableSimpleBroker("/topic", "/queue");
         config.setApplicationDestinationPrefixes("/app");
     }
 
@@ -63,12 +61,11 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                     if (authHeader != null && authHeader.startsWith("Bearer ")) {
                         String token = authHeader.substring(7);
                         try {
-                            String username = jwtUtil.getUsernameFromToken(token);
-                            if (username != null && jwtUtil.validateToken(token)) {
-                                System.out.println("WebSocket CONNECT: Valid token, username: " + username);
-                                UserDetails userDetails = new User(username, "", Collections.emptyList());
+                            JwtPrincipal principal = jwtPrincipalResolver.resolve(token);
+                            if (principal != null) {
+                                System.out.println("WebSocket CONNECT: Valid token, username: " + principal.getUsername());
                                 Authentication authentication = new UsernamePasswordAuthenticationToken(
-                                    userDetails, null, userDetails.getAuthorities());
+                                    principal, null, principal.getAuthorities());
                                 SecurityContextHolder.getContext().setAuthentication(authentication);
                                 accessor.setUser(authentication);
                             } else {
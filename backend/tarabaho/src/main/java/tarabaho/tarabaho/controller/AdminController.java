@@ -30,10 +30,12 @@ import tarabaho.tarabaho.dto.AuthResponse;
 import tarabaho.tarabaho.dto.GraduateUpdateDTO;
 import tarabaho.tarabaho.dto.UserUpdateDTO;
 import tarabaho.tarabaho.entity.Admin;
+import tarabaho.tarabaho.entity.Category;
 import tarabaho.tarabaho.entity.CategoryRequest;
 import tarabaho.tarabaho.entity.Certificate;
 import tarabaho.tarabaho.entity.Graduate;
 import tarabaho.tarabaho.entity.User;
+import tarabaho.tarabaho.jwt.JwtPrincipal;
 import tarabaho.tarabaho.jwt.JwtUtil;
 import tarabaho.tarabaho.payload.LoginRequest;
 import tarabaho.tarabaho.repository.CategoryRequestRepository;
@@ -146,7 +148,7 @@ public class AdminController {
         try {
             System.out.println("AdminController: Attempting login for username: " + loginRequest.getUsername());
             Admin admin = adminService.loginAdmin(loginRequest.getUsername(), loginRequest.getPassword());
-            String jwtToken = jwtUtil.generateToken(admin.getUsername());
+            String jwtToken = jwtUtil.generateToken(admin.getUsername(), JwtPrincipal.ROLE_ADMIN, admin.getId());
 
             Cookie tokenCookie = new Cookie("jwtToken", jwtToken);
             tokenCookie.setHttpOnly(true);
@@ -186,7 +188,7 @@ public class AdminController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Admin not found");
             }
             
-            String token = jwtUtil.generateToken(username);
+            String token = jwtUtil.generateToken(username, JwtPrincipal.ROLE_ADMIN, admin.getId());
             System.out.println("AdminController: Generated token for admin: " + username);
             return ResponseEntity.ok(new TokenResponse(token));
         } catch (Exception e) {
@@ -316,6 +318,57 @@ public class AdminController {
         }
     }
 
+    @Operation(summary = "Create category", description = "Adds a category; it is offered in search suggestions once saved")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Category created successfully"),
+        @ApiResponse(responseCode = "400", description = "Missing or duplicate name"),
+        @ApiResponse(responseCode = "401", description = "Admin not authenticated"),
+        @ApiResponse(responseCode = "403", description = "Caller is not an admin")
+    })
+    @PostMapping("/categories")
+    public ResponseEntity<?> createCategory(
+            @RequestBody Category category,
+            Authentication authentication
+    ) {
+        try {
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Admin not authenticated.");
+            }
+            if (JwtPrincipal.accountIdOf(authentication, JwtPrincipal.ROLE_ADMIN) == null) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only admins can manage categories.");
+            }
+            return ResponseEntity.ok(adminService.createCategory(category));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to create category: " + e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Update category", description = "Renames or edits a category by ID")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Category updated successfully"),
+        @ApiResponse(responseCode = "400", description = "Category not found, or missing or duplicate name"),
+        @ApiResponse(responseCode = "401", description = "Admin not authenticated"),
+        @ApiResponse(responseCode = "403", description = "Caller is not an admin")
+    })
+    @PutMapping("/categories/{id}")
+    public ResponseEntity<?> updateCategory(
+            @PathVariable Long id,
+            @RequestBody Category category,
+            Authentication authentication
+    ) {
+        try {
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Admin not authenticated.");
+            }
+            if (JwtPrincipal.accountIdOf(authentication, JwtPrincipal.ROLE_ADMIN) == null) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only admins can manage categories.");
+            }
+            return ResponseEntity.ok(adminService.updateCategory(id, category));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Failed to update category: " + e.getMessage());
+        }
+    }
+
     @Operation(summary = "Get certificates for a graduate", description = "Retrieve all certificates associated with a graduate")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "List of certificates returned successfully"),
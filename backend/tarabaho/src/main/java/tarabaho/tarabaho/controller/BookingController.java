@@ -1,9 +1,12 @@
 package tarabaho.tarabaho.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -11,17 +14,22 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import tarabaho.tarabaho.dto.BookingSummaryPage;
 import tarabaho.tarabaho.entity.Booking;
-import tarabaho.tarabaho.entity.Graduate;
-import tarabaho.tarabaho.entity.User;
+import tarabaho.tarabaho.entity.BookingStatus;
+import tarabaho.tarabaho.jwt.JwtPrincipal;
 import tarabaho.tarabaho.service.BookingService;
+import tarabaho.tarabaho.service.BookingStreamService;
 import tarabaho.tarabaho.service.GraduateService;
 import tarabaho.tarabaho.service.RatingService;
 import tarabaho.tarabaho.service.UserService;
@@ -44,6 +52,9 @@ public class BookingController {
     @Autowired
     private RatingService ratingService;
 
+    @Autowired
+    private BookingStreamService bookingStreamService;
+
     @Operation(summary = "Create urgent booking", description = "Creates an urgent booking for a user")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Booking created successfully"),
@@ -60,10 +71,9 @@ public class BookingController {
             if (authentication == null || !authentication.isAuthenticated()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not authenticated.");
             }
-            User user = userService.findByUsername(authentication.getName())
-                .orElseThrow(() -> new Exception("User not found"));
+            Long userId = currentUserId(authentication);
             Booking booking = bookingService.createUrgentBooking(
-                user.getId(),
+                userId,
                 request.getCategoryName(),
                 request.getLatitude(),
                 request.getLongitude(),
@@ -93,10 +103,9 @@ public class BookingController {
             if (authentication == null || !authentication.isAuthenticated()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not authenticated.");
             }
-            User user = userService.findByUsername(authentication.getName())
-                .orElseThrow(() -> new Exception("User not found"));
+            Long userId = currentUserId(authentication);
             Booking booking = bookingService.createCategoryBooking(
-                user.getId(),
+                userId,
                 request.getGraduateId(),
                 request.getCategoryName(),
                 request.getPaymentMethod(),
@@ -124,16 +133,15 @@ public class BookingController {
             if (authentication == null || !authentication.isAuthenticated()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Graduate not authenticated.");
             }
-            Graduate graduate = graduateService.findByUsername(authentication.getName())
-                .orElseThrow(() -> new Exception("Graduate not found"));
-            Booking booking = bookingService.acceptBooking(bookingId, graduate.getId());
+            Long graduateId = currentGraduateId(authentication);
+            Booking booking = bookingService.acceptBooking(bookingId, graduateId);
             return ResponseEntity.ok(booking);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("⚠️ " + e.getMessage());
         }
     }
 
-    @Operation(summary = "Reject booking", description = "Graduate rejects a booking")
+    @Operation(summary = "Reject booking", description = "Graduate rejects a booking. For an urgent booking currently offered to the graduate this declines the offer, which moves on to the next graduate, and the booking stays pending")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Booking rejected"),
         @ApiResponse(responseCode = "400", description = "Invalid input"),
@@ -149,9 +157,8 @@ public class BookingController {
             if (authentication == null || !authentication.isAuthenticated()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Graduate not authenticated.");
             }
-            Graduate graduate = graduateService.findByUsername(authentication.getName())
-                .orElseThrow(() -> new Exception("Graduate not found"));
-            Booking booking = bookingService.rejectBooking(bookingId, graduate.getId());
+            Long graduateId = currentGraduateId(authentication);
+            Booking booking = bookingService.rejectBooking(bookingId, graduateId);
             return ResponseEntity.ok(booking);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("⚠️ " + e.getMessage());
@@ -174,9 +181,8 @@ public class BookingController {
             if (authentication == null || !authentication.isAuthenticated()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not authenticated.");
             }
-            User user = userService.findByUsername(authentication.getName())
-                .orElseThrow(() -> new Exception("User not found"));
-            Booking booking = bookingService.cancelBooking(bookingId, user.getId());
+            Long userId = currentUserId(authentication);
+            Booking booking = bookingService.cancelBooking(bookingId, userId);
             return ResponseEntity.ok("Booking cancelled successfully.");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("⚠️ " + e.getMessage());
@@ -199,9 +205,8 @@ public class BookingController {
             if (authentication == null || !authentication.isAuthenticated()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not authenticated.");
             }
-            User user = userService.findByUsername(authentication.getName())
-                .orElseThrow(() -> new Exception("User not found"));
-            Booking booking = bookingService.startBooking(bookingId, user.getId());
+            Long userId = currentUserId(authentication);
+            Booking booking = bookingService.startBooking(bookingId, userId);
             return ResponseEntity.ok("Job started successfully.");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("⚠️ " + e.getMessage());
@@ -225,9 +230,8 @@ public class BookingController {
             if (authentication == null || !authentication.isAuthenticated()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Graduate not authenticated.");
             }
-            Graduate graduate = graduateService.findByUsername(authentication.getName())
-                .orElseThrow(() -> new Exception("Graduate not found"));
-            Booking booking = bookingService.completeBooking(bookingId, graduate.getId(), request.getAmount());
+            Long graduateId = currentGraduateId(authentication);
+            Booking booking = bookingService.completeBooking(bookingId, graduateId, request.getAmount());
             return ResponseEntity.ok("Booking marked as completed successfully.");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("⚠️ " + e.getMessage());
@@ -251,9 +255,8 @@ public class BookingController {
             if (authentication == null || !authentication.isAuthenticated()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Graduate not authenticated.");
             }
-            Graduate graduate = graduateService.findByUsername(authentication.getName())
-                .orElseThrow(() -> new Exception("Graduate not found"));
-            Booking booking = bookingService.confirmPayment(bookingId, graduate.getId(), request.getAmount());
+            Long graduateId = currentGraduateId(authentication);
+            Booking booking = bookingService.confirmPayment(bookingId, graduateId, request.getAmount());
             return ResponseEntity.ok(booking); // Return the Booking object as JSON
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("⚠️ " + e.getMessage());
@@ -276,9 +279,8 @@ public class BookingController {
             if (authentication == null || !authentication.isAuthenticated()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not authenticated.");
             }
-            User user = userService.findByUsername(authentication.getName())
-                .orElseThrow(() -> new Exception("User not found"));
-            Booking booking = bookingService.acceptCompletion(bookingId, user.getId());
+            Long userId = currentUserId(authentication);
+            Booking booking = bookingService.acceptCompletion(bookingId, userId);
             return ResponseEntity.ok("Completion accepted successfully.");
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("⚠️ " + e.getMessage());
@@ -301,10 +303,9 @@ public class BookingController {
             if (authentication == null || !authentication.isAuthenticated()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not authenticated.");
             }
-            User user = userService.findByUsername(authentication.getName())
-                .orElseThrow(() -> new Exception("User not found"));
+            Long userId = currentUserId(authentication);
             ratingService.submitRating(
-                user.getId(),
+                userId,
                 ratingRequest.getBookingId(),
                 ratingRequest.getRating(),
                 ratingRequest.getComment()
@@ -315,7 +316,7 @@ public class BookingController {
         }
     }
 
-    @Operation(summary = "Get user bookings", description = "Retrieve all bookings for a user")
+    @Operation(summary = "Get user bookings", description = "Retrieve all bookings for a user as full entities. List screens should use /api/booking/user/page instead")
     @ApiResponse(responseCode = "200", description = "List of bookings")
     @GetMapping("/user")
     public ResponseEntity<?> getUserBookings(Authentication authentication) {
@@ -323,16 +324,15 @@ public class BookingController {
             if (authentication == null || !authentication.isAuthenticated()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not authenticated.");
             }
-            User user = userService.findByUsername(authentication.getName())
-                .orElseThrow(() -> new Exception("User not found"));
-            List<Booking> bookings = bookingService.getUserBookings(user.getId());
+            Long userId = currentUserId(authentication);
+            List<Booking> bookings = bookingService.getUserBookings(userId);
             return ResponseEntity.ok(bookings);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("⚠️ " + e.getMessage());
         }
     }
 
-    @Operation(summary = "Get graduate bookings", description = "Retrieve all bookings for a graduate")
+    @Operation(summary = "Get graduate bookings", description = "Retrieve all bookings for a graduate as full entities. List screens should use /api/booking/graduate/page instead")
     @ApiResponse(responseCode = "200", description = "List of bookings")
     @GetMapping("/graduate")
     public ResponseEntity<?> getGraduateBookings(Authentication authentication) {
@@ -340,22 +340,96 @@ public class BookingController {
             if (authentication == null || !authentication.isAuthenticated()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Graduate not authenticated.");
             }
-            Graduate graduate = graduateService.findByUsername(authentication.getName())
-                .orElseThrow(() -> new Exception("Graduate not found"));
-            List<Booking> bookings = bookingService.getGraduateBookings(graduate.getId());
+            Long graduateId = currentGraduateId(authentication);
+            List<Booking> bookings = bookingService.getGraduateBookings(graduateId);
             return ResponseEntity.ok(bookings);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("⚠️ " + e.getMessage());
         }
     }
 
-    @Operation(summary = "Get pending urgent bookings", description = "Retrieve all pending urgent bookings for graduates")
+    @Operation(summary = "Get user bookings page", description = "Retrieve the user's bookings newest first as flat summaries, optionally filtered by status (repeatable) and a createdAt range [from, to). Pass the returned nextCursor as 'after' to fetch the next page")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page of booking summaries"),
+        @ApiResponse(responseCode = "400", description = "Invalid limit or cursor"),
+        @ApiResponse(responseCode = "401", description = "User not authenticated")
+    })
+    @GetMapping("/user/page")
+    public ResponseEntity<?> getUserBookingPage(
+            @RequestParam(value = "status", required = false) List<BookingStatus> status,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            Authentication authentication
+    ) {
+        try {
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not authenticated.");
+            }
+            Long userId = currentUserId(authentication);
+            BookingSummaryPage page = bookingService.getUserBookingPage(userId, status, from, to, after, limit);
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("⚠️ " + e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Get graduate bookings page", description = "Retrieve the graduate's bookings newest first as flat summaries, optionally filtered by status (repeatable) and a createdAt range [from, to). Pass the returned nextCursor as 'after' to fetch the next page")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page of booking summaries"),
+        @ApiResponse(responseCode = "400", description = "Invalid limit or cursor"),
+        @ApiResponse(responseCode = "401", description = "Graduate not authenticated")
+    })
+    @GetMapping("/graduate/page")
+    public ResponseEntity<?> getGraduateBookingPage(
+            @RequestParam(value = "status", required = false) List<BookingStatus> status,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            Authentication authentication
+    ) {
+        try {
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Graduate not authenticated.");
+            }
+            Long graduateId = currentGraduateId(authentication);
+            BookingSummaryPage page = bookingService.getGraduateBookingPage(graduateId, status, from, to, after, limit);
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("⚠️ " + e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Get pending urgent bookings", description = "Retrieve all pending urgent bookings for graduates. Clients should subscribe to /user/queue/urgent-offers over STOMP instead of polling this endpoint")
     @ApiResponse(responseCode = "200", description = "List of pending urgent bookings")
     @GetMapping("/urgent/pending")
     public ResponseEntity<List<Booking>> getPendingUrgentBookings() {
         return ResponseEntity.ok(bookingService.getPendingUrgentBookings());
     }
 
+    @Operation(summary = "Stream booking status changes", description = "Server-Sent Events stream of 'booking-status' events for every booking the caller (user or graduate) is party to. Browsers resume with the Last-Event-ID header automatically; a 'resync' event means missed events are no longer available and bookings should be reloaded. Replaces polling /{bookingId}/status")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated")
+    })
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<?> streamBookingStatus(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            Authentication authentication
+    ) {
+        try {
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not authenticated.");
+            }
+            SseEmitter emitter = bookingStreamService.subscribe(currentParty(authentication), lastEventId);
+            return ResponseEntity.ok().header("X-Accel-Buffering", "no").body(emitter);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("⚠️ " + e.getMessage());
+        }
+    }
+
     @Operation(summary = "Get booking status", description = "Retrieve the status of a specific booking")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Booking status retrieved"),
@@ -418,15 +492,52 @@ public class BookingController {
             if (authentication == null || !authentication.isAuthenticated()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not authenticated.");
             }
-            User user = userService.findByUsername(authentication.getName())
-                .orElseThrow(() -> new Exception("User not found"));
-            Booking booking = bookingService.markBookingInProgress(bookingId, user.getId());
+            Long userId = currentUserId(authentication);
+            Booking booking = bookingService.markBookingInProgress(bookingId, userId);
             return ResponseEntity.ok(booking);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("⚠️ " + e.getMessage());
         }
     }
 
+    /**
+     * Account ids come from the JWT principal; the username lookup only covers tokens
+     * issued before the accountId claim existed.
+     */
+    private Long currentUserId(Authentication authentication) throws Exception {
+        Long id = JwtPrincipal.accountIdOf(authentication, JwtPrincipal.ROLE_USER);
+        if (id != null) {
+            return id;
+        }
+        return userService.findByUsername(authentication.getName())
+            .orElseThrow(() -> new Exception("User not found")).getId();
+    }
+
+    private Long currentGraduateId(Authentication authentication) throws Exception {
+        Long id = JwtPrincipal.accountIdOf(authentication, JwtPrincipal.ROLE_GRADUATE);
+        if (id != null) {
+            return id;
+        }
+        return graduateService.findByUsername(authentication.getName())
+            .orElseThrow(() -> new Exception("Graduate not found")).getId();
+    }
+
+    // Stream key of the caller: users and graduates have separate id spaces.
+    private String currentParty(Authentication authentication) throws Exception {
+        Long userId = JwtPrincipal.accountIdOf(authentication, JwtPrincipal.ROLE_USER);
+        if (userId != null) {
+            return BookingStreamService.userKey(userId);
+        }
+        Long graduateId = JwtPrincipal.accountIdOf(authentication, JwtPrincipal.ROLE_GRADUATE);
+        if (graduateId != null) {
+            return BookingStreamService.graduateKey(graduateId);
+        }
+        if (userService.findByUsername(authentication.getName()).isPresent()) {
+            return BookingStreamService.userKey(currentUserId(authentication));
+        }
+        return BookingStreamService.graduateKey(currentGraduateId(authentication));
+    }
+
     static class BookingStatusResponse {
         private String status;
 
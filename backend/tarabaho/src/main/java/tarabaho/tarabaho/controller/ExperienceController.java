@@ -61,7 +61,7 @@ public class ExperienceController {
             String username = authentication.getName();
             Graduate graduate = graduateService.findByUsername(username)
                 .orElseThrow(() -> new Exception("Graduate not found."));
-            portfolioService.getPortfolio(portfolioId, username); // Verify portfolio access
+            portfolioService.checkPortfolioAccess(portfolioId, username); // Verify portfolio access
             List<Experience> experiences = experienceService.getExperiencesByPortfolioId(portfolioId);
             return ResponseEntity.ok(experiences);
         } catch (Exception e) {
@@ -84,7 +84,7 @@ public class ExperienceController {
             String username = authentication.getName();
             Graduate graduate = graduateService.findByUsername(username)
                 .orElseThrow(() -> new Exception("Graduate not found."));
-            portfolioService.getPortfolio(experience.getPortfolio().getId(), username); // Verify portfolio access
+            portfolioService.checkPortfolioAccess(experience.getPortfolio().getId(), username); // Verify portfolio access
             Portfolio portfolio = portfolioRepository.findById(experience.getPortfolio().getId())
                 .orElseThrow(() -> new Exception("Portfolio not found with id: " + experience.getPortfolio().getId()));
             if (!portfolio.getGraduate().getUsername().equals(username)) {
@@ -115,7 +115,7 @@ public class ExperienceController {
             Graduate graduate = graduateService.findByUsername(username)
                 .orElseThrow(() -> new Exception("Graduate not found."));
             Experience experience = experienceService.getExperienceById(id); // Assume method exists
-            portfolioService.getPortfolio(experience.getPortfolio().getId(), username); // Verify portfolio access
+            portfolioService.checkPortfolioAccess(experience.getPortfolio().getId(), username); // Verify portfolio access
             if (!experience.getPortfolio().getGraduate().getUsername().equals(username)) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied to delete experience.");
             }
@@ -144,7 +144,7 @@ public class ExperienceController {
             Graduate graduate = graduateService.findByUsername(username)
                 .orElseThrow(() -> new Exception("Graduate not found."));
             Experience existingExperience = experienceService.getExperienceById(id);
-            portfolioService.getPortfolio(existingExperience.getPortfolio().getId(), username); // Verify portfolio access
+            portfolioService.checkPortfolioAccess(existingExperience.getPortfolio().getId(), username); // Verify portfolio access
             if (!existingExperience.getPortfolio().getGraduate().getUsername().equals(username)) {
                 System.out.println("ExperienceController: Access denied to update experience");
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied to update experience.");
@@ -182,7 +182,7 @@ public class ExperienceController {
             String username = authentication.getName();
             Graduate graduate = graduateService.findByUsername(username)
                 .orElseThrow(() -> new Exception("Graduate not found."));
-            portfolioService.getPortfolio(portfolioId, username); // Verify portfolio access
+            portfolioService.checkPortfolioAccess(portfolioId, username); // Verify portfolio access
             // Validate experiences
             for (Experience experience : experiences) {
                 if (experience.getJobTitle() == null || experience.getJobTitle().trim().isEmpty()) {
@@ -37,6 +37,7 @@ import tarabaho.tarabaho.dto.GraduateUpdateDTO;
 import tarabaho.tarabaho.entity.CategoryRequest;
 import tarabaho.tarabaho.entity.Graduate;
 import tarabaho.tarabaho.entity.User;
+import tarabaho.tarabaho.jwt.JwtPrincipal;
 import tarabaho.tarabaho.jwt.JwtUtil;
 import tarabaho.tarabaho.repository.GraduateRepository;
 import tarabaho.tarabaho.service.GraduateService;
@@ -91,10 +92,23 @@ public class GraduateController {
         }
     }
 
+    @Operation(summary = "Get graduates by category", description = "Graduates in the category, best ranked first. Paged by offset; limit defaults to and is capped at ranking.list-limit (100)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page of graduates; fewer than limit means there are no more"),
+        @ApiResponse(responseCode = "400", description = "Negative offset or limit out of range")
+    })
     @GetMapping("/category/{categoryName}/graduates")
-    public ResponseEntity<List<Graduate>> getGraduatesByCategory(@PathVariable String categoryName) {
-        List<Graduate> graduates = graduateService.getGraduatesByCategory(categoryName);
-        return ResponseEntity.ok(graduates);
+    public ResponseEntity<?> getGraduatesByCategory(
+            @PathVariable String categoryName,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "${ranking.list-limit:100}") int limit
+    ) {
+        try {
+            List<Graduate> graduates = graduateService.getGraduatesByCategory(categoryName, offset, limit);
+            return ResponseEntity.ok(graduates);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("⚠️ " + e.getMessage());
+        }
     }
 
     @Operation(summary = "Check for duplicate graduate details", description = "Checks if username, email, or phone number already exists")
@@ -321,7 +335,7 @@ public class GraduateController {
         try {
             System.out.println("GraduateController: Attempting login for username: " + loginData.getUsername());
             Graduate graduate = graduateService.loginGraduate(loginData.getUsername(), loginData.getPassword());
-            String jwtToken = jwtUtil.generateToken(graduate.getUsername());
+            String jwtToken = jwtUtil.generateToken(graduate.getUsername(), JwtPrincipal.ROLE_GRADUATE, graduate.getId());
 
             Cookie tokenCookie = new Cookie("jwtToken", jwtToken);
             tokenCookie.setHttpOnly(true);
@@ -361,7 +375,7 @@ public class GraduateController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Graduate not found");
             }
             
-            String token = jwtUtil.generateToken(username);
+            String token = jwtUtil.generateToken(username, JwtPrincipal.ROLE_GRADUATE, graduate.get().getId());
             System.out.println("GraduateController: Generated token for graduate: " + username);
             return ResponseEntity.ok(new TokenResponse(token));
         } catch (Exception e) {
@@ -529,10 +543,10 @@ public class GraduateController {
         return ResponseEntity.ok(graduateRepository.findByMaxHourly(maxHourly));
     }
 
-    @Operation(summary = "Rate a graduate", description = "Submit a rating (1.0–5.0) for a graduate")
+    @Operation(summary = "Rate a graduate", description = "Submit a rating (1.0–5.0) for a graduate for one of the caller's COMPLETED bookings with that graduate. The rating is rounded to whole stars and stored like any other rating; returns the graduate with updated totals")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Rating submitted successfully"),
-        @ApiResponse(responseCode = "400", description = "Invalid rating value"),
+        @ApiResponse(responseCode = "400", description = "Invalid rating value, booking not completed, or booking not the caller's with this graduate"),
         @ApiResponse(responseCode = "404", description = "Graduate not found")
     })
     @PostMapping("/{graduateId}/rate")
@@ -716,18 +730,34 @@ public class GraduateController {
         }
     }
 
+    @Operation(summary = "Get available graduates by category", description = "Available, not busy graduates in the category, best ranked first. Paged by offset; limit defaults to and is capped at ranking.list-limit (100)")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page of graduates; fewer than limit means there are no more"),
+        @ApiResponse(responseCode = "400", description = "Negative offset or limit out of range")
+    })
     @GetMapping("/category/{categoryName}/available")
-    public ResponseEntity<List<Graduate>> getAvailableGraduatesByCategory(@PathVariable String categoryName) {
-        List<Graduate> graduates = graduateService.getAvailableGraduatesByCategory(categoryName);
-        return ResponseEntity.ok(graduates);
+    public ResponseEntity<?> getAvailableGraduatesByCategory(
+            @PathVariable String categoryName,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "${ranking.list-limit:100}") int limit
+    ) {
+        try {
+            List<Graduate> graduates = graduateService.getAvailableGraduatesByCategory(categoryName, offset, limit);
+            return ResponseEntity.ok(graduates);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("⚠️ " + e.getMessage());
+        }
     }
 
+    @Operation(summary = "Get nearby available graduates by category", description = "Available graduates in the category within radius km, best ranked first with closeness counted. Paged by offset; limit defaults to and is capped at ranking.list-limit (100)")
     @GetMapping("/category/{categoryName}/nearby/available")
     public ResponseEntity<?> getNearbyAvailableGraduatesByCategory(
             @PathVariable String categoryName,
             @RequestParam Double latitude,
             @RequestParam Double longitude,
             @RequestParam Double radius,
+            @RequestParam(value = "offset", defaultValue = "0") int offset,
+            @RequestParam(value = "limit", defaultValue = "${ranking.list-limit:100}") int limit,
             Authentication authentication
     ) {
         try {
@@ -745,7 +775,7 @@ public class GraduateController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not verified.");
             }
 
-            List<Graduate> graduates = graduateService.getNearbyAvailableGraduatesByCategory(categoryName, latitude, longitude, radius);
+            List<Graduate> graduates = graduateService.getNearbyAvailableGraduatesByCategory(categoryName, latitude, longitude, radius, offset, limit);
             return ResponseEntity.ok(graduates);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("⚠️ " + e.getMessage());
@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -101,7 +102,7 @@ public class MessageController {
         }
     }
 
-    @Operation(summary = "Get booking messages", description = "Retrieves all messages for a booking")
+    @Operation(summary = "Get booking messages", description = "Retrieves a booking's messages in ascending order, at most 'limit' of them: the latest by default, those older than the 'before' message id when paging back, or those newer than the 'after' message id when catching up after a reconnect")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "List of messages"),
         @ApiResponse(responseCode = "400", description = "Invalid input"),
@@ -111,6 +112,9 @@ public class MessageController {
     @GetMapping("/booking/{bookingId}")
     public ResponseEntity<?> getBookingMessages(
             @PathVariable Long bookingId,
+            @RequestParam(value = "before", required = false) Long before,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", defaultValue = "50") int limit,
             Authentication authentication
     ) {
         try {
@@ -127,7 +131,7 @@ public class MessageController {
                     .orElseThrow(() -> new Exception("Graduate not found for username: " + username))
                     .getId();
 
-            List<MessageDTO> messages = messageService.getBookingMessages(bookingId, requesterId, isUser);
+            List<MessageDTO> messages = messageService.getBookingMessages(bookingId, requesterId, isUser, before, after, limit);
             return ResponseEntity.ok(messages);
         } catch (Exception e) {
             System.err.println("MessageController: getBookingMessages failed: " + e.getMessage());
@@ -13,6 +13,7 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.transaction.Transactional;
 import tarabaho.tarabaho.entity.User;
+import tarabaho.tarabaho.jwt.JwtPrincipal;
 import tarabaho.tarabaho.jwt.JwtUtil;
 import tarabaho.tarabaho.repository.UserRepository;
 
@@ -88,7 +89,7 @@ public class OAuth2Controller {
             return;
         }
 
-        String jwtToken = jwtUtil.generateToken(user.getUsername());
+        String jwtToken = jwtUtil.generateToken(user.getUsername(), JwtPrincipal.ROLE_USER, user.getId());
         System.out.println("Generated JWT: " + jwtToken);
 
         // Set cookie and log it
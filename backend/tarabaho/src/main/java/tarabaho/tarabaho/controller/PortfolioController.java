@@ -1,18 +1,25 @@
 package tarabaho.tarabaho.controller;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -29,10 +36,11 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
-import tarabaho.tarabaho.dto.CompletePublicPortfolioResponse;
 import tarabaho.tarabaho.dto.PortfolioRequest;
-import tarabaho.tarabaho.dto.PublicPortfolioSearchResult;
+import tarabaho.tarabaho.dto.PortfolioSectionsPatch;
+import tarabaho.tarabaho.dto.PublicPortfolioSearchPage;
 import tarabaho.tarabaho.dto.ShareInfo;
+import tarabaho.tarabaho.dto.TrendingPortfolioPage;
 import tarabaho.tarabaho.entity.AwardRecognition;
 import tarabaho.tarabaho.entity.ContinuingEducation;
 import tarabaho.tarabaho.entity.Experience;
@@ -43,8 +51,11 @@ import tarabaho.tarabaho.entity.Reference;
 import tarabaho.tarabaho.entity.Skill;
 import tarabaho.tarabaho.entity.Visibility;
 import tarabaho.tarabaho.service.GraduateService;
+import tarabaho.tarabaho.service.PortfolioLeaderboardService;
+import tarabaho.tarabaho.service.PortfolioSearchService;
 import tarabaho.tarabaho.service.PortfolioService;
 import tarabaho.tarabaho.service.ProjectService;
+import tarabaho.tarabaho.service.PublicPortfolioSnapshotCache;
 
 @RestController
 @RequestMapping("/api/portfolio")
@@ -63,6 +74,15 @@ public class PortfolioController {
     @Autowired
     private ProjectService projectService;
 
+    @Autowired
+    private PortfolioSearchService portfolioSearchService;
+
+    @Autowired
+    private PortfolioLeaderboardService portfolioLeaderboardService;
+
+    @Autowired
+    private PublicPortfolioSnapshotCache publicPortfolioSnapshotCache;
+
     
 
     @Operation(summary = "Get portfolio by graduate ID", description = "Retrieves the portfolio associated with the given graduate ID if accessible")
@@ -301,7 +321,7 @@ public class PortfolioController {
             }
             
             // Verify portfolio access
-            portfolioService.getPortfolio(portfolioId, username);
+            portfolioService.checkPortfolioAccess(portfolioId, username);
             
             if (title == null || title.trim().isEmpty()) {
                 logger.warn("Project title is required");
@@ -370,6 +390,39 @@ public class PortfolioController {
         }
     }
 
+    @Operation(summary = "Patch portfolio sections", description = "Applies add / update-by-id / remove operations to individual portfolio sections (skills, experiences, awardsRecognitions, continuingEducations, professionalMemberships, references). Sections omitted from the body are left untouched; only changed rows are written. Returns the patched sections.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Sections patched successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid input or unknown section item id"),
+        @ApiResponse(responseCode = "401", description = "Not authenticated"),
+        @ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    @PatchMapping("/{portfolioId}/sections")
+    public ResponseEntity<?> patchPortfolioSections(@PathVariable Long portfolioId, @RequestBody PortfolioSectionsPatch patch, Authentication authentication) {
+        try {
+            logger.debug("Patching sections of portfolio ID: {}", portfolioId);
+            if (authentication == null || !authentication.isAuthenticated()) {
+                logger.warn("Not authenticated");
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not authenticated.");
+            }
+
+            Map<String, List<?>> patched = portfolioService.patchSections(portfolioId, patch, authentication.getName());
+            logger.info("Portfolio sections patched successfully, ID: {}, sections: {}", portfolioId, patched.keySet());
+            return ResponseEntity.ok(patched);
+        } catch (IllegalArgumentException e) {
+            logger.error("Validation error: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("⚠️ " + e.getMessage());
+        } catch (Exception e) {
+            if (e.getMessage() != null && e.getMessage().startsWith("Unauthorized")) {
+                logger.warn("Access denied patching portfolio ID: {}", portfolioId);
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body("⚠️ " + e.getMessage());
+            }
+            logger.error("Unexpected error: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body("⚠️ Unexpected error: " + e.getMessage());
+        }
+    }
+
     // Helper method to validate PortfolioRequest
     private void validatePortfolioRequest(PortfolioRequest portfolioRequest) {
         if (portfolioRequest.getFullName() == null || portfolioRequest.getFullName().trim().isEmpty()) {
@@ -489,7 +542,7 @@ public class PortfolioController {
     @GetMapping("/public/graduate/{graduateId}/portfolio")
     @CrossOrigin(origins = {"https://tarabaho.vercel.app", "http://localhost:3000", "http://localhost:5173"}, allowCredentials = "true",
     allowedHeaders = {"*"},
-    exposedHeaders = {"Set-Cookie"},  // ← ADD: Expose Set-Cookie for browser
+    exposedHeaders = {"Set-Cookie", "ETag"},  // ← ADD: Expose Set-Cookie for browser
     methods = {RequestMethod.GET}
     )
     public ResponseEntity<?> getPublicPortfolioByShareToken(
@@ -538,17 +591,41 @@ public class PortfolioController {
             
             logger.info("📊 Portfolio view - New: {}, View ID: {}...", isNewView ? "YES" : "NO", viewId.substring(0, 8));
             
-            // ← PASS VIEW ID TO SERVICE (not session ID)
-            CompletePublicPortfolioResponse completePortfolio = portfolioService.getPublicPortfolioByShareToken(graduateId, shareToken, viewId);
+            PublicPortfolioSnapshotCache.Snapshot snapshot = publicPortfolioSnapshotCache.get(graduateId, shareToken);
             
-            if (completePortfolio == null) {
+            if (snapshot == null) {
                 logger.warn("Public portfolio access denied for graduate ID: {}", graduateId);
                 return ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body("⚠️ Portfolio not found or access denied.");
             }
             
-            logger.info("Complete public portfolio accessed successfully, ID: {}", completePortfolio.getPortfolio().getId());
-            return ResponseEntity.ok(completePortfolio);
+            // ← PASS VIEW ID TO SERVICE (not session ID); recorded even when the client copy is current
+            portfolioService.recordPublicView(snapshot.getPortfolioId(), viewId);
+            
+            String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+            boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+            CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+            
+            if (snapshot.matches(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+                logger.debug("Public portfolio not modified, ID: {}", snapshot.getPortfolioId());
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(gzip ? snapshot.getGzipEtag() : snapshot.getEtag())
+                        .cacheControl(cacheControl)
+                        .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                        .build();
+            }
+            
+            logger.info("Complete public portfolio accessed successfully, ID: {}", snapshot.getPortfolioId());
+            ResponseEntity.BodyBuilder ok = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .cacheControl(cacheControl)
+                    .varyBy(HttpHeaders.ACCEPT_ENCODING);
+            if (gzip) {
+                return ok.eTag(snapshot.getGzipEtag())
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .body(snapshot.getGzip());
+            }
+            return ok.eTag(snapshot.getEtag()).body(snapshot.getJson());
             
         } catch (Exception e) {
             logger.error("Unexpected error accessing public portfolio: {}", e.getMessage(), e);
@@ -586,20 +663,71 @@ public class PortfolioController {
         }
     }
 
-    @Operation(summary = "Search public portfolios", description = "Searches public portfolios by keyword across multiple fields including skills, experiences, etc.")
+    @Operation(summary = "Search public portfolios", description = "Searches public portfolios by keyword across multiple fields including skills, experiences, etc. Results are ranked by relevance and paged with an opaque cursor: pass the returned nextCursor as 'after' to fetch the next page. Optional facet filters (ncLevel, portfolioCategory, trainingCenter, scholarshipType, preferredWorkLocation) may be repeated; the response carries per-value counts for each facet.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Search results returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid limit or cursor"),
         @ApiResponse(responseCode = "500", description = "Internal server error")
     })
     @GetMapping("/search")
-    public ResponseEntity<List<PublicPortfolioSearchResult>> searchPublicPortfolios(
-            @RequestParam("query") String query) {
+    public ResponseEntity<?> searchPublicPortfolios(
+            @RequestParam("query") String query,
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "ncLevel", required = false) Set<String> ncLevel,
+            @RequestParam(value = "portfolioCategory", required = false) Set<String> portfolioCategory,
+            @RequestParam(value = "trainingCenter", required = false) Set<String> trainingCenter,
+            @RequestParam(value = "scholarshipType", required = false) Set<String> scholarshipType,
+            @RequestParam(value = "preferredWorkLocation", required = false) Set<String> preferredWorkLocation) {
         try {
-            List<PublicPortfolioSearchResult> results = portfolioService.searchPublicPortfolios(query);
-            return ResponseEntity.ok(results);
+            Map<String, Set<String>> filters = new HashMap<>();
+            filters.put("ncLevel", ncLevel);
+            filters.put("portfolioCategory", portfolioCategory);
+            filters.put("trainingCenter", trainingCenter);
+            filters.put("scholarshipType", scholarshipType);
+            filters.put("preferredWorkLocation", preferredWorkLocation);
+            PublicPortfolioSearchPage page = portfolioService.searchPublicPortfolios(query, limit, after, filters);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid portfolio search request: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("⚠️ " + e.getMessage());
         } catch (Exception e) {
             logger.error("Error during portfolio search: {}", e.getMessage(), e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new PublicPortfolioSearchPage(Collections.emptyList(), null, 0, Collections.emptyMap()));
+        }
+    }
+
+    @Operation(summary = "Suggest search terms", description = "Returns the most common skills, course types, NC levels, training centers and categories starting with the given prefix")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Suggestions returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid limit")
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(
+            @RequestParam("prefix") String prefix,
+            @RequestParam(value = "limit", defaultValue = "8") int limit) {
+        if (limit < 1) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("⚠️ Limit must be at least 1");
+        }
+        return ResponseEntity.ok(portfolioSearchService.suggest(prefix, limit));
+    }
+
+    @Operation(summary = "Trending portfolios", description = "Returns the most viewed public portfolios over the last 24 hours, 7 days or 30 days. Counts come from an in-memory leaderboard and may slightly overestimate portfolios near the bottom of the list.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Leaderboard page returned"),
+        @ApiResponse(responseCode = "400", description = "Invalid window, page or size")
+    })
+    @GetMapping("/trending")
+    public ResponseEntity<?> getTrendingPortfolios(
+            @RequestParam(value = "window", defaultValue = "7d") String window,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "20") int size) {
+        try {
+            TrendingPortfolioPage trending = portfolioLeaderboardService.getTrending(window, page, size);
+            return ResponseEntity.ok(trending);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("⚠️ " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
@@ -43,7 +43,7 @@ public class PortfolioViewController {
     @Autowired
     private PortfolioService portfolioService;
 
-    @Operation(summary = "Get view statistics", description = "Retrieves weekly, monthly, and yearly view counts for a portfolio")
+    @Operation(summary = "Get view statistics", description = "Retrieves weekly, monthly, and yearly view counts for a portfolio, with approximate unique visitors for the same windows")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "View stats retrieved successfully"),
         @ApiResponse(responseCode = "401", description = "Not authenticated"),
@@ -67,7 +67,7 @@ public class PortfolioViewController {
             
             // Verify portfolio access without throwing - just log
             try {
-                portfolioService.getPortfolio(portfolioId, username);
+                portfolioService.checkPortfolioAccess(portfolioId, username);
             } catch (Exception e) {
                 logger.warn("Portfolio access denied for user {} on portfolio {}", username, portfolioId);
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Access denied to this portfolio."));
@@ -77,7 +77,10 @@ public class PortfolioViewController {
             Map<String, Long> stats = Map.of(
                 "weeklyViews", portfolioViewService.getWeeklyViews(portfolioId),
                 "monthlyViews", portfolioViewService.getMonthlyViews(portfolioId),
-                "yearlyViews", portfolioViewService.getYearlyViews(portfolioId)
+                "yearlyViews", portfolioViewService.getYearlyViews(portfolioId),
+                "weeklyUniqueVisitors", portfolioViewService.getUniqueVisitors(portfolioId, 7),
+                "monthlyUniqueVisitors", portfolioViewService.getUniqueVisitors(portfolioId, 30),
+                "yearlyUniqueVisitors", portfolioViewService.getUniqueVisitors(portfolioId, 365)
             );
             
             logger.info("Successfully retrieved view stats for portfolio {}: {}", 
@@ -119,7 +122,7 @@ public class PortfolioViewController {
             
             // Verify portfolio access without throwing - just log
             try {
-                portfolioService.getPortfolio(portfolioId, username);
+                portfolioService.checkPortfolioAccess(portfolioId, username);
             } catch (Exception e) {
                 logger.warn("Portfolio access denied for user {} on portfolio {}", username, portfolioId);
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(Map.of("error", "Access denied to this portfolio."));
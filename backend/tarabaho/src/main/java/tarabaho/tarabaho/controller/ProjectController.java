@@ -66,7 +66,7 @@ public class ProjectController {
             String username = authentication.getName();
             
             // Verify portfolio access - this method should handle graduate lookup internally
-            portfolioService.getPortfolio(portfolioId, username);
+            portfolioService.checkPortfolioAccess(portfolioId, username);
             
             List<Project> projects = projectService.getProjectsByPortfolioId(portfolioId);
             logger.info("Retrieved {} projects for portfolio ID: {}", projects.size(), portfolioId);
@@ -115,7 +115,7 @@ public class ProjectController {
             String username = authentication.getName();
             
             // Verify portfolio access - this should validate ownership
-            portfolioService.getPortfolio(portfolioId, username);
+            portfolioService.checkPortfolioAccess(portfolioId, username);
 
             Project project = projectService.addProject(
                 portfolioId, title, description, imageUrls, startDate, endDate, projectImageFile
@@ -170,7 +170,7 @@ public class ProjectController {
             
             // Verify project ownership through portfolio access
             Project existingProject = projectService.getProjectById(projectId);
-            portfolioService.getPortfolio(existingProject.getPortfolio().getId(), username);
+            portfolioService.checkPortfolioAccess(existingProject.getPortfolio().getId(), username);
 
             Project updatedProject = projectService.updateProject(
                 projectId, portfolioId, title, description, imageUrls, startDate, endDate, projectImageFile
@@ -204,7 +204,7 @@ public class ProjectController {
             String username = authentication.getName();
 
             Project project = projectService.getProjectById(id);
-            portfolioService.getPortfolio(project.getPortfolio().getId(), username);
+            portfolioService.checkPortfolioAccess(project.getPortfolio().getId(), username);
 
             projectService.deleteProject(id);
             logger.info("Project deleted successfully, ID: {}", id);
@@ -239,7 +239,7 @@ public class ProjectController {
             Project project = projectService.getProjectById(projectId);
             
             // Verify access through portfolio
-            portfolioService.getPortfolio(project.getPortfolio().getId(), username);
+            portfolioService.checkPortfolioAccess(project.getPortfolio().getId(), username);
 
             logger.info("Project retrieved successfully, ID: {}", projectId);
             return ResponseEntity.ok(project);
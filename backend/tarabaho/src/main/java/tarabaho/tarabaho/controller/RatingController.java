@@ -12,12 +12,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import tarabaho.tarabaho.dto.ReviewPage;
 import tarabaho.tarabaho.entity.Rating;
 import tarabaho.tarabaho.entity.User;
 import tarabaho.tarabaho.service.RatingService;
@@ -35,7 +37,7 @@ public class RatingController {
     @Autowired
     private UserService userService;
 
-    @Operation(summary = "Get ratings by graduate ID", description = "Retrieve all ratings for a specific graduate")
+    @Operation(summary = "Get ratings by graduate ID", description = "Retrieve all ratings for a specific graduate with their users. Profile pages should use the graduate's rating1Count..rating5Count for the star breakdown and /graduate/{graduateId}/reviews for the reviews")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Ratings retrieved successfully"),
         @ApiResponse(responseCode = "401", description = "User not authenticated"),
@@ -55,6 +57,30 @@ public class RatingController {
         }
     }
 
+    @Operation(summary = "Get graduate reviews page", description = "Retrieve a graduate's reviews newest first with only the reviewer name, rating, comment and date. Pass the returned nextCursor as 'after' to fetch the next page")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page of reviews"),
+        @ApiResponse(responseCode = "400", description = "Invalid limit"),
+        @ApiResponse(responseCode = "401", description = "User not authenticated")
+    })
+    @GetMapping("/graduate/{graduateId}/reviews")
+    public ResponseEntity<?> getReviewPage(
+            @PathVariable Long graduateId,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", defaultValue = "20") int limit,
+            Authentication authentication
+    ) {
+        try {
+            if (authentication == null || !authentication.isAuthenticated()) {
+                return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not authenticated.");
+            }
+            ReviewPage page = ratingService.getReviewPage(graduateId, after, limit);
+            return ResponseEntity.ok(page);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("⚠️ " + e.getMessage());
+        }
+    }
+
     @Operation(summary = "Submit rating", description = "User submits a rating and comment for a completed booking")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Rating submitted successfully"),
@@ -60,7 +60,7 @@ public class TestimonialController {
             String username = authentication.getName();
             Graduate graduate = graduateService.findByUsername(username)
                 .orElseThrow(() -> new Exception("Graduate not found."));
-            portfolioService.getPortfolio(portfolioId, username); // Verify portfolio access
+            portfolioService.checkPortfolioAccess(portfolioId, username); // Verify portfolio access
             List<Testimonial> testimonials = testimonialService.getTestimonialsByPortfolioId(portfolioId);
             return ResponseEntity.ok(testimonials);
         } catch (Exception e) {
@@ -83,7 +83,7 @@ public class TestimonialController {
             String username = authentication.getName();
             Graduate graduate = graduateService.findByUsername(username)
                 .orElseThrow(() -> new Exception("Graduate not found."));
-            portfolioService.getPortfolio(testimonial.getPortfolio().getId(), username); // Verify portfolio access
+            portfolioService.checkPortfolioAccess(testimonial.getPortfolio().getId(), username); // Verify portfolio access
             Portfolio portfolio = portfolioRepository.findById(testimonial.getPortfolio().getId())
                 .orElseThrow(() -> new Exception("Portfolio not found with id: " + testimonial.getPortfolio().getId()));
             if (!portfolio.getGraduate().getUsername().equals(username)) {
@@ -114,7 +114,7 @@ public class TestimonialController {
             Graduate graduate = graduateService.findByUsername(username)
                 .orElseThrow(() -> new Exception("Graduate not found."));
             Testimonial testimonial = testimonialService.getTestimonialById(id); // Assume method exists
-            portfolioService.getPortfolio(testimonial.getPortfolio().getId(), username); // Verify portfolio access
+            portfolioService.checkPortfolioAccess(testimonial.getPortfolio().getId(), username); // Verify portfolio access
             if (!testimonial.getPortfolio().getGraduate().getUsername().equals(username)) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Access denied to delete testimonial.");
             }
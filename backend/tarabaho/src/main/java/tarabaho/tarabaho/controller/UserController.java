@@ -30,6 +30,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import tarabaho.tarabaho.dto.AuthResponse;
 import tarabaho.tarabaho.entity.User;
+import tarabaho.tarabaho.jwt.JwtPrincipal;
 import tarabaho.tarabaho.jwt.JwtUtil;
 import tarabaho.tarabaho.service.PasswordEncoderService;
 import tarabaho.tarabaho.service.SupabaseRestStorageService;
@@ -104,7 +105,7 @@ public class UserController {
         try {
             System.out.println("UserController: Attempting login for username: " + loginData.getUsername());
             User user = userService.loginUser(loginData.getUsername(), loginData.getPassword());
-            String jwtToken = jwtUtil.generateToken(user.getUsername());
+            String jwtToken = jwtUtil.generateToken(user.getUsername(), JwtPrincipal.ROLE_USER, user.getId());
 
             Cookie tokenCookie = new Cookie("jwtToken", jwtToken);
             tokenCookie.setHttpOnly(true);
@@ -164,7 +165,7 @@ public class UserController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not found");
             }
             
-            String token = jwtUtil.generateToken(username);
+            String token = jwtUtil.generateToken(username, JwtPrincipal.ROLE_USER, user.get().getId());
             System.out.println("UserController: Generated token for user: " + username);
             return ResponseEntity.ok(new TokenResponse(token));
         } catch (Exception e) {
@@ -0,0 +1,38 @@
+package tarabaho.tarabaho.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in a booking list ordered by (createdAt DESC, id DESC): the next page
+ * starts strictly after the last booking returned.
+ */
+public class BookingCursor {
+
+    private final LocalDateTime createdAt;
+    private final long bookingId;
+
+    public BookingCursor(LocalDateTime createdAt, long bookingId) {
+        this.createdAt = createdAt;
+        this.bookingId = bookingId;
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + bookingId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static BookingCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new BookingCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid booking cursor");
+        }
+    }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public long getBookingId() { return bookingId; }
+}
@@ -0,0 +1,40 @@
+package tarabaho.tarabaho.dto;
+
+import java.time.LocalDateTime;
+
+import tarabaho.tarabaho.entity.BookingStatus;
+import tarabaho.tarabaho.entity.BookingType;
+import tarabaho.tarabaho.event.BookingStatusChangedEvent;
+
+/**
+ * Payload of a {@code booking-status} event on {@code /api/booking/stream}.
+ */
+public class BookingStatusMessage {
+    private Long bookingId;
+    private BookingType type;
+    private BookingStatus previousStatus;
+    private BookingStatus status;
+    private Long userId;
+    private Long graduateId;
+    private LocalDateTime occurredAt;
+
+    public static BookingStatusMessage from(BookingStatusChangedEvent event) {
+        BookingStatusMessage message = new BookingStatusMessage();
+        message.bookingId = event.getBookingId();
+        message.type = event.getType();
+        message.previousStatus = event.getPreviousStatus();
+        message.status = event.getNewStatus();
+        message.userId = event.getUserId();
+        message.graduateId = event.getGraduateId();
+        message.occurredAt = event.getOccurredAt();
+        return message;
+    }
+
+    public Long getBookingId() { return bookingId; }
+    public BookingType getType() { return type; }
+    public BookingStatus getPreviousStatus() { return previousStatus; }
+    public BookingStatus getStatus() { return status; }
+    public Long getUserId() { return userId; }
+    public Long getGraduateId() { return graduateId; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+}
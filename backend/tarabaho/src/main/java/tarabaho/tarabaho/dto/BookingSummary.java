@@ -0,0 +1,83 @@
+package tarabaho.tarabaho.dto;
+
+import java.time.LocalDateTime;
+
+import tarabaho.tarabaho.entity.BookingStatus;
+import tarabaho.tarabaho.entity.BookingType;
+import tarabaho.tarabaho.entity.PaymentConfirmationStatus;
+import tarabaho.tarabaho.entity.PaymentMethod;
+
+/**
+ * Flat booking row for list screens, built by a single JPQL constructor query instead of
+ * serialising the booking with its user, graduate and category entities.
+ */
+public class BookingSummary {
+    private Long id;
+    private BookingType type;
+    private BookingStatus status;
+    private PaymentMethod paymentMethod;
+    private PaymentConfirmationStatus paymentConfirmationStatus;
+    private Double amount;
+    private String categoryName;
+    private String jobDetails;
+    private Double latitude;
+    private Double longitude;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long userId;
+    private String userFirstname;
+    private String userLastname;
+    private String userProfilePicture;
+    private Long graduateId;
+    private String graduateFirstName;
+    private String graduateLastName;
+    private String graduateProfilePicture;
+
+    public BookingSummary(Long id, BookingType type, BookingStatus status, PaymentMethod paymentMethod,
+            PaymentConfirmationStatus paymentConfirmationStatus, Double amount, String categoryName,
+            String jobDetails, Double latitude, Double longitude, LocalDateTime createdAt, LocalDateTime updatedAt,
+            Long userId, String userFirstname, String userLastname, String userProfilePicture,
+            Long graduateId, String graduateFirstName, String graduateLastName, String graduateProfilePicture) {
+        this.id = id;
+        this.type = type;
+        this.status = status;
+        this.paymentMethod = paymentMethod;
+        this.paymentConfirmationStatus = paymentConfirmationStatus;
+        this.amount = amount;
+        this.categoryName = categoryName;
+        this.jobDetails = jobDetails;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.userId = userId;
+        this.userFirstname = userFirstname;
+        this.userLastname = userLastname;
+        this.userProfilePicture = userProfilePicture;
+        this.graduateId = graduateId;
+        this.graduateFirstName = graduateFirstName;
+        this.graduateLastName = graduateLastName;
+        this.graduateProfilePicture = graduateProfilePicture;
+    }
+
+    public Long getId() { return id; }
+    public BookingType getType() { return type; }
+    public BookingStatus getStatus() { return status; }
+    public PaymentMethod getPaymentMethod() { return paymentMethod; }
+    public PaymentConfirmationStatus getPaymentConfirmationStatus() { return paymentConfirmationStatus; }
+    public Double getAmount() { return amount; }
+    public String getCategoryName() { return categoryName; }
+    public String getJobDetails() { return jobDetails; }
+    public Double getLatitude() { return latitude; }
+    public Double getLongitude() { return longitude; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public Long getUserId() { return userId; }
+    public String getUserFirstname() { return userFirstname; }
+    public String getUserLastname() { return userLastname; }
+    public String getUserProfilePicture() { return userProfilePicture; }
+    public Long getGraduateId() { return graduateId; }
+    public String getGraduateFirstName() { return graduateFirstName; }
+    public String getGraduateLastName() { return graduateLastName; }
+    public String getGraduateProfilePicture() { return graduateProfilePicture; }
+}
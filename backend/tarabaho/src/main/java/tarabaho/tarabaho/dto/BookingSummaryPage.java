@@ -0,0 +1,19 @@
+package tarabaho.tarabaho.dto;
+
+import java.util.List;
+
+public class BookingSummaryPage {
+    private List<BookingSummary> results;
+    private String nextCursor;
+
+    public BookingSummaryPage(List<BookingSummary> results, String nextCursor) {
+        this.results = results;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<BookingSummary> getResults() { return results; }
+    public void setResults(List<BookingSummary> results) { this.results = results; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
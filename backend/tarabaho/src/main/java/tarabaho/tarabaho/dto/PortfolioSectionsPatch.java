@@ -0,0 +1,60 @@
+package tarabaho.tarabaho.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import tarabaho.tarabaho.entity.AwardRecognition;
+import tarabaho.tarabaho.entity.ContinuingEducation;
+import tarabaho.tarabaho.entity.Experience;
+import tarabaho.tarabaho.entity.ProfessionalMembership;
+import tarabaho.tarabaho.entity.Reference;
+import tarabaho.tarabaho.entity.Skill;
+
+/**
+ * Per-section operations for {@code PATCH /api/portfolio/{id}/sections}. Sections left null
+ * are not touched (and not loaded).
+ */
+public class PortfolioSectionsPatch {
+    private SectionPatch<Skill> skills;
+    private SectionPatch<Experience> experiences;
+    private SectionPatch<AwardRecognition> awardsRecognitions;
+    private SectionPatch<ContinuingEducation> continuingEducations;
+    private SectionPatch<ProfessionalMembership> professionalMemberships;
+    private SectionPatch<Reference> references;
+
+    public SectionPatch<Skill> getSkills() { return skills; }
+    public void setSkills(SectionPatch<Skill> skills) { this.skills = skills; }
+
+    public SectionPatch<Experience> getExperiences() { return experiences; }
+    public void setExperiences(SectionPatch<Experience> experiences) { this.experiences = experiences; }
+
+    public SectionPatch<AwardRecognition> getAwardsRecognitions() { return awardsRecognitions; }
+    public void setAwardsRecognitions(SectionPatch<AwardRecognition> awardsRecognitions) { this.awardsRecognitions = awardsRecognitions; }
+
+    public SectionPatch<ContinuingEducation> getContinuingEducations() { return continuingEducations; }
+    public void setContinuingEducations(SectionPatch<ContinuingEducation> continuingEducations) { this.continuingEducations = continuingEducations; }
+
+    public SectionPatch<ProfessionalMembership> getProfessionalMemberships() { return professionalMemberships; }
+    public void setProfessionalMemberships(SectionPatch<ProfessionalMembership> professionalMemberships) { this.professionalMemberships = professionalMemberships; }
+
+    public SectionPatch<Reference> getReferences() { return references; }
+    public void setReferences(SectionPatch<Reference> references) { this.references = references; }
+
+    /**
+     * Items to add (ids ignored), items to update (matched by id) and ids to remove.
+     */
+    public static class SectionPatch<T> {
+        private List<T> add = new ArrayList<>();
+        private List<T> update = new ArrayList<>();
+        private List<Long> remove = new ArrayList<>();
+
+        public List<T> getAdd() { return add; }
+        public void setAdd(List<T> add) { this.add = add != null ? add : new ArrayList<>(); }
+
+        public List<T> getUpdate() { return update; }
+        public void setUpdate(List<T> update) { this.update = update != null ? update : new ArrayList<>(); }
+
+        public List<Long> getRemove() { return remove; }
+        public void setRemove(List<Long> remove) { this.remove = remove != null ? remove : new ArrayList<>(); }
+    }
+}
@@ -0,0 +1,31 @@
+package tarabaho.tarabaho.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class PublicPortfolioSearchPage {
+    private List<PublicPortfolioSearchResult> results;
+    private String nextCursor;
+    private int totalMatches;
+    private Map<String, Map<String, Integer>> facets;
+
+    public PublicPortfolioSearchPage(List<PublicPortfolioSearchResult> results, String nextCursor, int totalMatches,
+            Map<String, Map<String, Integer>> facets) {
+        this.results = results;
+        this.nextCursor = nextCursor;
+        this.totalMatches = totalMatches;
+        this.facets = facets;
+    }
+
+    public List<PublicPortfolioSearchResult> getResults() { return results; }
+    public void setResults(List<PublicPortfolioSearchResult> results) { this.results = results; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public int getTotalMatches() { return totalMatches; }
+    public void setTotalMatches(int totalMatches) { this.totalMatches = totalMatches; }
+
+    public Map<String, Map<String, Integer>> getFacets() { return facets; }
+    public void setFacets(Map<String, Map<String, Integer>> facets) { this.facets = facets; }
+}
@@ -0,0 +1,19 @@
+package tarabaho.tarabaho.dto;
+
+import java.util.List;
+
+public class ReviewPage {
+    private List<ReviewSummary> results;
+    private Long nextCursor;
+
+    public ReviewPage(List<ReviewSummary> results, Long nextCursor) {
+        this.results = results;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<ReviewSummary> getResults() { return results; }
+    public void setResults(List<ReviewSummary> results) { this.results = results; }
+
+    public Long getNextCursor() { return nextCursor; }
+    public void setNextCursor(Long nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,40 @@
+package tarabaho.tarabaho.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One review in a graduate's feed: the reviewer's display name and the rating, without the
+ * reviewer's account or the booking.
+ */
+public class ReviewSummary {
+    private Long id;
+    private String reviewerName;
+    private Integer rating;
+    private String comment;
+    private LocalDateTime createdAt;
+
+    public ReviewSummary(Long id, String reviewerFirstname, String reviewerLastname, Integer rating, String comment,
+                         LocalDateTime createdAt) {
+        this.id = id;
+        this.reviewerName = ((reviewerFirstname != null ? reviewerFirstname : "") + " "
+            + (reviewerLastname != null ? reviewerLastname : "")).trim();
+        this.rating = rating;
+        this.comment = comment;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getReviewerName() { return reviewerName; }
+    public void setReviewerName(String reviewerName) { this.reviewerName = reviewerName; }
+
+    public Integer getRating() { return rating; }
+    public void setRating(Integer rating) { this.rating = rating; }
+
+    public String getComment() { return comment; }
+    public void setComment(String comment) { this.comment = comment; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,22 @@
+package tarabaho.tarabaho.dto;
+
+public class TrendingPortfolio {
+    private Long portfolioId;
+    private long views;
+    private PublicPortfolioSearchResult portfolio;
+
+    public TrendingPortfolio(Long portfolioId, long views, PublicPortfolioSearchResult portfolio) {
+        this.portfolioId = portfolioId;
+        this.views = views;
+        this.portfolio = portfolio;
+    }
+
+    public Long getPortfolioId() { return portfolioId; }
+    public void setPortfolioId(Long portfolioId) { this.portfolioId = portfolioId; }
+
+    public long getViews() { return views; }
+    public void setViews(long views) { this.views = views; }
+
+    public PublicPortfolioSearchResult getPortfolio() { return portfolio; }
+    public void setPortfolio(PublicPortfolioSearchResult portfolio) { this.portfolio = portfolio; }
+}
@@ -0,0 +1,34 @@
+package tarabaho.tarabaho.dto;
+
+import java.util.List;
+
+public class TrendingPortfolioPage {
+    private String window;
+    private int page;
+    private int size;
+    private boolean hasMore;
+    private List<TrendingPortfolio> results;
+
+    public TrendingPortfolioPage(String window, int page, int size, boolean hasMore, List<TrendingPortfolio> results) {
+        this.window = window;
+        this.page = page;
+        this.size = size;
+        this.hasMore = hasMore;
+        this.results = results;
+    }
+
+    public String getWindow() { return window; }
+    public void setWindow(String window) { this.window = window; }
+
+    public int getPage() { return page; }
+    public void setPage(int page) { this.page = page; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public List<TrendingPortfolio> getResults() { return results; }
+    public void setResults(List<TrendingPortfolio> results) { this.results = results; }
+}
@@ -0,0 +1,75 @@
+package tarabaho.tarabaho.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pushed to graduates on {@code /user/queue/urgent-offers}. An {@code OFFER} announces a new
+ * urgent booking nearby; a {@code RETRACT} withdraws it once it is taken or closed, or (in
+ * cascade mode) once the graduate's turn has timed out. Cascade offers carry
+ * {@code offerExpiresAt}.
+ */
+public class UrgentOfferMessage {
+
+    public static final String OFFER = "OFFER";
+    public static final String RETRACT = "RETRACT";
+
+    private String action;
+    private Long bookingId;
+    private String categoryName;
+    private Double latitude;
+    private Double longitude;
+    private Double distanceKm;
+    private String jobDetails;
+    private String paymentMethod;
+    private LocalDateTime createdAt;
+    private String reason;
+    private LocalDateTime offerExpiresAt;
+
+    public UrgentOfferMessage() {}
+
+    public static UrgentOfferMessage offer(Long bookingId, String categoryName, Double latitude, Double longitude,
+            Double distanceKm, String jobDetails, String paymentMethod, LocalDateTime createdAt) {
+        UrgentOfferMessage message = new UrgentOfferMessage();
+        message.action = OFFER;
+        message.bookingId = bookingId;
+        message.categoryName = categoryName;
+        message.latitude = latitude;
+        message.longitude = longitude;
+        message.distanceKm = distanceKm;
+        message.jobDetails = jobDetails;
+        message.paymentMethod = paymentMethod;
+        message.createdAt = createdAt;
+        return message;
+    }
+
+    public static UrgentOfferMessage retract(Long bookingId, String reason) {
+        UrgentOfferMessage message = new UrgentOfferMessage();
+        message.action = RETRACT;
+        message.bookingId = bookingId;
+        message.reason = reason;
+        return message;
+    }
+
+    public String getAction() { return action; }
+    public void setAction(String action) { this.action = action; }
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+    public String getCategoryName() { return categoryName; }
+    public void setCategoryName(String categoryName) { this.categoryName = categoryName; }
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+    public Double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(Double distanceKm) { this.distanceKm = distanceKm; }
+    public String getJobDetails() { return jobDetails; }
+    public void setJobDetails(String jobDetails) { this.jobDetails = jobDetails; }
+    public String getPaymentMethod() { return paymentMethod; }
+    public void setPaymentMethod(String paymentMethod) { this.paymentMethod = paymentMethod; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+    public LocalDateTime getOfferExpiresAt() { return offerExpiresAt; }
+    public void setOfferExpiresAt(LocalDateTime offerExpiresAt) { this.offerExpiresAt = offerExpiresAt; }
+}
@@ -9,12 +9,16 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    @Index(name = "ix_bookings_user_status_created", columnList = "user_id, status, created_at"),
+    @Index(name = "ix_bookings_graduate_status_created", columnList = "graduate_id, status, created_at")
+})
 public class Booking {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -66,6 +70,14 @@ public class Booking {
     @Column(nullable = true)
     private LocalDateTime updatedAt;
 
+    // When the accepting graduate was offered the booking, if not at creation (urgent cascade).
+    @Column(nullable = true)
+    private LocalDateTime offeredAt;
+
+    // When the graduate accepted or rejected it.
+    @Column(nullable = true)
+    private LocalDateTime respondedAt;
+
     @Column(nullable = true)
     private String jobDetails;
 
@@ -97,6 +109,10 @@ public class Booking {
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+    public LocalDateTime getOfferedAt() { return offeredAt; }
+    public void setOfferedAt(LocalDateTime offeredAt) { this.offeredAt = offeredAt; }
+    public LocalDateTime getRespondedAt() { return respondedAt; }
+    public void setRespondedAt(LocalDateTime respondedAt) { this.respondedAt = respondedAt; }
     public String getJobDetails() { return jobDetails; }
     public void setJobDetails(String jobDetails) { this.jobDetails = jobDetails; }
 }
\ No newline at end of file
@@ -1,5 +1,5 @@
 package tarabaho.tarabaho.entity;
 
 public enum BookingStatus {
-    PENDING, ACCEPTED, REJECTED, IN_PROGRESS, COMPLETED, CANCELLED,WORKER_COMPLETED
+    PENDING, ACCEPTED, REJECTED, IN_PROGRESS, COMPLETED, CANCELLED,WORKER_COMPLETED, EXPIRED
 }
\ No newline at end of file
@@ -57,12 +57,33 @@ public class Graduate{
     @Column(nullable = false)
     private Double hourly = 0.0; // Hourly rate for services, default to 0.0
 
-    @Column(name = "stars", nullable = false)
+    // Rating totals are only written on insert and by GraduateRepository.addRating, so saving
+    // a stale entity cannot undo a rating submitted in between.
+    @Column(name = "stars", nullable = false, updatable = false)
     private Double stars = 0.0; // Average rating (1.0 to 5.0), default to 0.0
 
-    @Column(name = "rating_count", nullable = false)
+    @Column(name = "rating_count", nullable = false, updatable = false)
     private Integer ratingCount = 0; // Number of ratings received, default to 0
 
+    @Column(name = "rating_sum", nullable = false, updatable = false, columnDefinition = "double precision default 0")
+    private Double ratingSum = 0.0; // Sum of all ratings received, stars = ratingSum / ratingCount
+
+    // Star histogram: how many of the ratings were 1, 2, 3, 4 and 5 stars.
+    @Column(name = "rating_1_count", nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private Integer rating1Count = 0;
+
+    @Column(name = "rating_2_count", nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private Integer rating2Count = 0;
+
+    @Column(name = "rating_3_count", nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private Integer rating3Count = 0;
+
+    @Column(name = "rating_4_count", nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private Integer rating4Count = 0;
+
+    @Column(name = "rating_5_count", nullable = false, updatable = false, columnDefinition = "integer default 0")
+    private Integer rating5Count = 0;
+
     @Column(name = "is_available", nullable = false)
     private Boolean isAvailable = true; // Availability for jobs, default to true
 
@@ -104,6 +125,24 @@ public class Graduate{
         if (this.ratingCount == null) {
             this.ratingCount = 0;
         }
+        if (this.ratingSum == null) {
+            this.ratingSum = 0.0;
+        }
+        if (this.rating1Count == null) {
+            this.rating1Count = 0;
+        }
+        if (this.rating2Count == null) {
+            this.rating2Count = 0;
+        }
+        if (this.rating3Count == null) {
+            this.rating3Count = 0;
+        }
+        if (this.rating4Count == null) {
+            this.rating4Count = 0;
+        }
+        if (this.rating5Count == null) {
+            this.rating5Count = 0;
+        }
         if (this.isAvailable == null) {
             this.isAvailable = true;
         }
@@ -155,6 +194,18 @@ public class Graduate{
     public void setStars(Double stars) { this.stars = stars; }
     public Integer getRatingCount() { return ratingCount; }
     public void setRatingCount(Integer ratingCount) { this.ratingCount = ratingCount; }
+    public Double getRatingSum() { return ratingSum; }
+    public void setRatingSum(Double ratingSum) { this.ratingSum = ratingSum; }
+    public Integer getRating1Count() { return rating1Count; }
+    public void setRating1Count(Integer rating1Count) { this.rating1Count = rating1Count; }
+    public Integer getRating2Count() { return rating2Count; }
+    public void setRating2Count(Integer rating2Count) { this.rating2Count = rating2Count; }
+    public Integer getRating3Count() { return rating3Count; }
+    public void setRating3Count(Integer rating3Count) { this.rating3Count = rating3Count; }
+    public Integer getRating4Count() { return rating4Count; }
+    public void setRating4Count(Integer rating4Count) { this.rating4Count = rating4Count; }
+    public Integer getRating5Count() { return rating5Count; }
+    public void setRating5Count(Integer rating5Count) { this.rating5Count = rating5Count; }
     public Boolean getIsAvailable() { return isAvailable; }
     public void setIsAvailable(Boolean isAvailable) { this.isAvailable = isAvailable; }
     public Boolean getIsVerified() { return isVerified; }
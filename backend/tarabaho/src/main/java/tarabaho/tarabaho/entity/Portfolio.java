@@ -6,6 +6,9 @@
     import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
     import com.fasterxml.jackson.annotation.JsonInclude;
 
+    import org.hibernate.annotations.Fetch;
+    import org.hibernate.annotations.FetchMode;
+
     import jakarta.persistence.CascadeType;
     import jakarta.persistence.Column;
     import jakarta.persistence.Entity;
@@ -101,28 +104,39 @@
         @Column
         private String salaryExpectations;
 
-        @OneToMany(mappedBy = "portfolio", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+        // Sections are lazy. Once one portfolio's section is touched, Hibernate loads that
+        // section for every portfolio read by the same query in one subselect, so read
+        // paths cost one query per section type instead of a join per portfolio.
+        @OneToMany(mappedBy = "portfolio", cascade = CascadeType.ALL, orphanRemoval = true)
+        @Fetch(FetchMode.SUBSELECT)
         private List<Skill> skills = new ArrayList<>();
 
-        @OneToMany(mappedBy = "portfolio", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+        @OneToMany(mappedBy = "portfolio", cascade = CascadeType.ALL, orphanRemoval = true)
+        @Fetch(FetchMode.SUBSELECT)
         private List<Experience> experiences = new ArrayList<>();
 
-        @OneToMany(mappedBy = "portfolio", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+        @OneToMany(mappedBy = "portfolio", cascade = CascadeType.ALL, orphanRemoval = true)
+        @Fetch(FetchMode.SUBSELECT)
         private List<Project> projects = new ArrayList<>();
 
-        @OneToMany(mappedBy = "portfolio", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+        @OneToMany(mappedBy = "portfolio", cascade = CascadeType.ALL, orphanRemoval = true)
+        @Fetch(FetchMode.SUBSELECT)
         private List<AwardRecognition> awardsRecognitions = new ArrayList<>();
 
-        @OneToMany(mappedBy = "portfolio", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+        @OneToMany(mappedBy = "portfolio", cascade = CascadeType.ALL, orphanRemoval = true)
+        @Fetch(FetchMode.SUBSELECT)
         private List<ContinuingEducation> continuingEducations = new ArrayList<>();
 
-        @OneToMany(mappedBy = "portfolio", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+        @OneToMany(mappedBy = "portfolio", cascade = CascadeType.ALL, orphanRemoval = true)
+        @Fetch(FetchMode.SUBSELECT)
         private List<ProfessionalMembership> professionalMemberships = new ArrayList<>();
 
-        @OneToMany(mappedBy = "portfolio", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+        @OneToMany(mappedBy = "portfolio", cascade = CascadeType.ALL, orphanRemoval = true)
+        @Fetch(FetchMode.SUBSELECT)
         private List<Reference> references = new ArrayList<>();
 
-        @OneToMany(mappedBy = "portfolio", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+        @OneToMany(mappedBy = "portfolio", cascade = CascadeType.ALL, orphanRemoval = true)
+        @Fetch(FetchMode.SUBSELECT)
         private List<PortfolioView> portfolioViews = new ArrayList<>();
 
         // Getters and setters
@@ -0,0 +1,58 @@
+package tarabaho.tarabaho.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Per-portfolio, per-day view totals. Maintained incrementally by the view flusher with
+ * {@code INSERT ... ON CONFLICT (portfolio_id, day)}, so stats and trends read at most one
+ * row per day instead of scanning {@code portfolio_views}. {@code visitors_hll} holds a
+ * HyperLogLog sketch of the day's viewers, merged across days for unique-visitor counts.
+ */
+@Entity
+@Table(name = "portfolio_view_daily",
+       uniqueConstraints = @UniqueConstraint(name = "ux_portfolio_view_daily_day", columnNames = {"portfolio_id", "day"}))
+public class PortfolioViewDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "portfolio_id", nullable = false)
+    private Long portfolioId;
+
+    @Column(name = "day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "views", nullable = false)
+    private long views;
+
+    @Column(name = "uniques", nullable = false)
+    private long uniques;
+
+    @Column(name = "visitors_hll")
+    private byte[] visitorsHll;
+
+    public PortfolioViewDaily() {
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public Long getPortfolioId() { return portfolioId; }
+    public void setPortfolioId(Long portfolioId) { this.portfolioId = portfolioId; }
+    public LocalDate getDay() { return day; }
+    public void setDay(LocalDate day) { this.day = day; }
+    public long getViews() { return views; }
+    public void setViews(long views) { this.views = views; }
+    public long getUniques() { return uniques; }
+    public void setUniques(long uniques) { this.uniques = uniques; }
+    public byte[] getVisitorsHll() { return visitorsHll; }
+    public void setVisitorsHll(byte[] visitorsHll) { this.visitorsHll = visitorsHll; }
+}
@@ -1,16 +1,19 @@
 package tarabaho.tarabaho.entity;
 
+import java.time.LocalDateTime;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "ratings")
+@Table(name = "ratings", indexes = @Index(name = "ix_ratings_graduate_id", columnList = "graduate_id, id"))
 public class Rating {
 
     @Id
@@ -35,6 +38,9 @@ public class Rating {
     @Column(length = 500)
     private String comment; // Optional comment, max 500 characters
 
+    @Column(name = "created_at")
+    private LocalDateTime createdAt; // Null for ratings submitted before it was recorded
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -48,4 +54,6 @@ public class Rating {
     public void setRating(Integer rating) { this.rating = rating; }
     public String getComment() { return comment; }
     public void setComment(String comment) { this.comment = comment; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package tarabaho.tarabaho.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Where the offer cascade of a pending urgent booking stands: the ranked graduate ids (comma
+ * separated, in offer order), the index of the one currently holding the offer and when it
+ * was made. One row per booking, deleted once the booking leaves PENDING or the cascade runs
+ * out, so the table only ever holds live cascades and they survive a restart.
+ */
+@Entity
+@Table(name = "urgent_dispatch_cascades")
+public class UrgentDispatchCascade {
+
+    @Id
+    @Column(name = "booking_id")
+    private Long bookingId;
+
+    @Column(name = "graduate_ids", nullable = false, columnDefinition = "TEXT")
+    private String graduateIds;
+
+    @Column(name = "position", nullable = false)
+    private int position;
+
+    @Column(name = "offered_at", nullable = false)
+    private LocalDateTime offeredAt;
+
+    public UrgentDispatchCascade() {
+    }
+
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+    public String getGraduateIds() { return graduateIds; }
+    public void setGraduateIds(String graduateIds) { this.graduateIds = graduateIds; }
+    public int getPosition() { return position; }
+    public void setPosition(int position) { this.position = position; }
+    public LocalDateTime getOfferedAt() { return offeredAt; }
+    public void setOfferedAt(LocalDateTime offeredAt) { this.offeredAt = offeredAt; }
+}
@@ -0,0 +1,76 @@
+package tarabaho.tarabaho.event;
+
+import java.time.LocalDateTime;
+
+import tarabaho.tarabaho.entity.Booking;
+import tarabaho.tarabaho.entity.BookingStatus;
+import tarabaho.tarabaho.entity.BookingType;
+
+/**
+ * Published by {@code BookingService} after every booking status transition, including
+ * creation ({@code previousStatus} is {@code null}). It carries a snapshot of the fields
+ * listeners need so they do not have to reload the booking after commit.
+ */
+public class BookingStatusChangedEvent {
+
+    private final Long bookingId;
+    private final BookingType type;
+    private final String categoryName;
+    private final BookingStatus previousStatus;
+    private final BookingStatus newStatus;
+    private final Long userId;
+    private final String userUsername;
+    private final Long graduateId;
+    private final String graduateUsername;
+    private final Double latitude;
+    private final Double longitude;
+    private final Double radius;
+    private final String jobDetails;
+    private final String paymentMethod;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime occurredAt;
+
+    private BookingStatusChangedEvent(Booking booking, BookingStatus previousStatus) {
+        this.bookingId = booking.getId();
+        this.type = booking.getType();
+        this.categoryName = booking.getCategory() != null ? booking.getCategory().getName() : null;
+        this.previousStatus = previousStatus;
+        this.newStatus = booking.getStatus();
+        this.userId = booking.getUser() != null ? booking.getUser().getId() : null;
+        this.userUsername = booking.getUser() != null ? booking.getUser().getUsername() : null;
+        this.graduateId = booking.getGraduate() != null ? booking.getGraduate().getId() : null;
+        this.graduateUsername = booking.getGraduate() != null ? booking.getGraduate().getUsername() : null;
+        this.latitude = booking.getLatitude();
+        this.longitude = booking.getLongitude();
+        this.radius = booking.getRadius();
+        this.jobDetails = booking.getJobDetails();
+        this.paymentMethod = booking.getPaymentMethod() != null ? booking.getPaymentMethod().name() : null;
+        this.createdAt = booking.getCreatedAt();
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    public static BookingStatusChangedEvent of(Booking booking, BookingStatus previousStatus) {
+        return new BookingStatusChangedEvent(booking, previousStatus);
+    }
+
+    public boolean isCreation() {
+        return previousStatus == null;
+    }
+
+    public Long getBookingId() { return bookingId; }
+    public BookingType getType() { return type; }
+    public String getCategoryName() { return categoryName; }
+    public BookingStatus getPreviousStatus() { return previousStatus; }
+    public BookingStatus getNewStatus() { return newStatus; }
+    public Long getUserId() { return userId; }
+    public String getUserUsername() { return userUsername; }
+    public Long getGraduateId() { return graduateId; }
+    public String getGraduateUsername() { return graduateUsername; }
+    public Double getLatitude() { return latitude; }
+    public Double getLongitude() { return longitude; }
+    public Double getRadius() { return radius; }
+    public String getJobDetails() { return jobDetails; }
+    public String getPaymentMethod() { return paymentMethod; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+}
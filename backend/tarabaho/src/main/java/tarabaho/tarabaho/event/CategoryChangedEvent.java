@@ -0,0 +1,16 @@
+package tarabaho.tarabaho.event;
+
+/**
+ * Published when an admin creates a category or changes its name or details. Listeners
+ * reload categories themselves, so the event only carries the id.
+ */
+public class CategoryChangedEvent {
+
+    private final Long categoryId;
+
+    public CategoryChangedEvent(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Long getCategoryId() { return categoryId; }
+}
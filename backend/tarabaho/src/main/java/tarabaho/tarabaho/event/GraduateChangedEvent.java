@@ -0,0 +1,16 @@
+package tarabaho.tarabaho.event;
+
+/**
+ * Published when a graduate is registered, deleted, rated, or has its location,
+ * availability or categories changed. Listeners reload the graduate by id.
+ */
+public class GraduateChangedEvent {
+
+    private final Long graduateId;
+
+    public GraduateChangedEvent(Long graduateId) {
+        this.graduateId = graduateId;
+    }
+
+    public Long getGraduateId() { return graduateId; }
+}
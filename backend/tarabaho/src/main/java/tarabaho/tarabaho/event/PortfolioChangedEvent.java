@@ -0,0 +1,17 @@
+package tarabaho.tarabaho.event;
+
+/**
+ * Published whenever a portfolio is created, updated, deleted or changes visibility, and
+ * when one of its sections (skills, experiences, projects, certificates, ...) is written.
+ * Listeners reload the portfolio by id, so the event only carries identifiers.
+ */
+public class PortfolioChangedEvent {
+
+    private final Long portfolioId;
+
+    public PortfolioChangedEvent(Long portfolioId) {
+        this.portfolioId = portfolioId;
+    }
+
+    public Long getPortfolioId() { return portfolioId; }
+}
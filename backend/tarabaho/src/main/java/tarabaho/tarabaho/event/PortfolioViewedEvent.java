@@ -0,0 +1,19 @@
+package tarabaho.tarabaho.event;
+
+/**
+ * Published by the view buffer for every view it accepts after deduplication, before the view
+ * is written. In-memory consumers such as the trending leaderboard count from it directly.
+ */
+public class PortfolioViewedEvent {
+
+    private final Long portfolioId;
+    private final long viewedAtMillis;
+
+    public PortfolioViewedEvent(Long portfolioId, long viewedAtMillis) {
+        this.portfolioId = portfolioId;
+        this.viewedAtMillis = viewedAtMillis;
+    }
+
+    public Long getPortfolioId() { return portfolioId; }
+    public long getViewedAtMillis() { return viewedAtMillis; }
+}
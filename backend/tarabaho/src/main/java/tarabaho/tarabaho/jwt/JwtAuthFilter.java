@@ -2,14 +2,11 @@ package tarabaho.tarabaho.jwt;
 
 import java.io.IOException;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -21,24 +18,12 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import tarabaho.tarabaho.repository.AdminRepository;
-import tarabaho.tarabaho.repository.GraduateRepository;
-import tarabaho.tarabaho.repository.UserRepository;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     @Autowired
-    private JwtUtil jwtUtil;
-
-    @Autowired
-    private UserRepository userRepository;
-
-    @Autowired
-    private AdminRepository adminRepository;
-
-    @Autowired
-    private GraduateRepository graduateRepository;
+    private JwtPrincipalResolver jwtPrincipalResolver;
 
     private static final List<String> SKIP_FILTER_PATHS = Arrays.asList(
          "/chat",  //  <--- Skip the WebSocket endpoint
@@ -116,38 +101,12 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         if (jwtToken != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             try {
                 System.out.println("JwtAuthFilter: Validating token...");
-                String username = jwtUtil.getUsernameFromToken(jwtToken);
-
-                if (username != null && jwtUtil.validateToken(jwtToken)) {
-                    System.out.println("JwtAuthFilter: Token valid, username: " + username);
-
-                    // Check Admin first
-                    Optional<tarabaho.tarabaho.entity.Admin> adminOptional = Optional.ofNullable(adminRepository.findByUsername(username));
-                    if (adminOptional.isPresent()) {
-                        System.out.println("JwtAuthFilter: Authenticated as Admin: " + username);
-                        UserDetails userDetails = new User(adminOptional.get().getUsername(), adminOptional.get().getPassword(), Collections.emptyList());
-                        setAuthentication(request, userDetails);
-                    } else {
-                        // Check User
-                        Optional<tarabaho.tarabaho.entity.User> userOptional = Optional.ofNullable(userRepository.findByUsername(username));
-                        if (userOptional.isPresent()) {
-                            System.out.println("JwtAuthFilter: Authenticated as User: " + username);
-                            UserDetails userDetails = new User(userOptional.get().getUsername(), userOptional.get().getPassword(), Collections.emptyList());
-                            setAuthentication(request, userDetails);
-                        } else {
-                            // Check Graduate
-                            Optional<tarabaho.tarabaho.entity.Graduate> graduateOptional = Optional.ofNullable(graduateRepository.findByUsername(username));
-                            if (graduateOptional.isPresent()) {
-                                System.out.println("JwtAuthFilter: Authenticated as Graduate: " + username);
-                                UserDetails userDetails = new User(graduateOptional.get().getUsername(), graduateOptional.get().getPassword(), Collections.emptyList());
-                                setAuthentication(request, userDetails);
-                            } else {
-                                System.out.println("JwtAuthFilter: No Admin, User, or Graduate found for username: " + username);
-                            }
-                        }
-                    }
+                JwtPrincipal principal = jwtPrincipalResolver.resolve(jwtToken);
+                if (principal != null) {
+                    System.out.println("JwtAuthFilter: Authenticated as " + principal.getRole() + ": " + principal.getUsername());
+                    setAuthentication(request, principal);
                 } else {
-                    System.out.println("JwtAuthFilter: Token invalid or username not found in token.");
+                    System.out.println("JwtAuthFilter: No Admin, User, or Graduate found for token subject.");
                 }
             } catch (Exception e) {
                 System.out.println("JwtAuthFilter: Token validation failed: " + e.getMessage());
@@ -0,0 +1,43 @@
+package tarabaho.tarabaho.jwt;
+
+import java.util.Collections;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * Principal built from a verified JWT: the username plus the account's role and id, so
+ * request handling does not need to look the account up again.
+ */
+public class JwtPrincipal extends User {
+
+    public static final String ROLE_ADMIN = "ADMIN";
+    public static final String ROLE_USER = "USER";
+    public static final String ROLE_GRADUATE = "GRADUATE";
+
+    private final String role;
+    private final Long accountId;
+
+    public JwtPrincipal(String username, String role, Long accountId) {
+        super(username, "", Collections.emptyList());
+        this.role = role;
+        this.accountId = accountId;
+    }
+
+    public String getRole() { return role; }
+    public Long getAccountId() { return accountId; }
+
+    /**
+     * The account id of the authenticated principal when it has the given role, otherwise
+     * {@code null} (for example for OAuth2 sessions, which carry no JWT principal).
+     */
+    public static Long accountIdOf(Authentication authentication, String role) {
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal) {
+            JwtPrincipal principal = (JwtPrincipal) authentication.getPrincipal();
+            if (role.equals(principal.getRole())) {
+                return principal.getAccountId();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,129 @@
+package tarabaho.tarabaho.jwt;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+import tarabaho.tarabaho.entity.Admin;
+import tarabaho.tarabaho.entity.Graduate;
+import tarabaho.tarabaho.entity.User;
+import tarabaho.tarabaho.repository.AdminRepository;
+import tarabaho.tarabaho.repository.GraduateRepository;
+import tarabaho.tarabaho.repository.UserRepository;
+
+/**
+ * Turns a JWT into a {@link JwtPrincipal}, caching verified tokens.
+ *
+ * Tokens issued with role and account id claims resolve without touching the database.
+ * Older tokens that only carry a username fall back to the admin, user and graduate lookups
+ * once; the result is cached like any other token. Cache entries never outlive the token and
+ * are bounded in size and age.
+ */
+@Component
+public class JwtPrincipalResolver {
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GraduateRepository graduateRepository;
+
+    @Value("${jwt.cache.max-size:10000}")
+    private int maxSize;
+
+    @Value("${jwt.cache.ttl-ms:300000}")
+    private long ttlMillis;
+
+    private final Map<String, CachedPrincipal> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the principal for the token, or {@code null} when the token is valid but names
+     * no known account. Throws a {@link io.jsonwebtoken.JwtException} for invalid tokens.
+     */
+    public JwtPrincipal resolve(String token) {
+        long now = System.currentTimeMillis();
+        CachedPrincipal cached = cache.get(token);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                return cached.principal;
+            }
+            cache.remove(token);
+        }
+
+        Claims claims = jwtUtil.parseClaims(token);
+        JwtPrincipal principal = fromClaims(claims);
+        if (principal == null) {
+            principal = lookup(claims.getSubject());
+        }
+        if (principal != null) {
+            long expiresAt = now + ttlMillis;
+            if (claims.getExpiration() != null) {
+                expiresAt = Math.min(expiresAt, claims.getExpiration().getTime());
+            }
+            put(token, new CachedPrincipal(principal, expiresAt), now);
+        }
+        return principal;
+    }
+
+    private static JwtPrincipal fromClaims(Claims claims) {
+        String role = claims.get(JwtUtil.ROLE_CLAIM, String.class);
+        Number accountId = claims.get(JwtUtil.ACCOUNT_ID_CLAIM, Number.class);
+        if (role == null || accountId == null || claims.getSubject() == null) {
+            return null;
+        }
+        return new JwtPrincipal(claims.getSubject(), role, accountId.longValue());
+    }
+
+    // Legacy tokens: same precedence as before (admin, then user, then graduate).
+    private JwtPrincipal lookup(String username) {
+        if (username == null) {
+            return null;
+        }
+        Admin admin = adminRepository.findByUsername(username);
+        if (admin != null) {
+            return new JwtPrincipal(admin.getUsername(), JwtPrincipal.ROLE_ADMIN, admin.getId());
+        }
+        User user = userRepository.findByUsername(username);
+        if (user != null) {
+            return new JwtPrincipal(user.getUsername(), JwtPrincipal.ROLE_USER, user.getId());
+        }
+        Graduate graduate = graduateRepository.findByUsername(username);
+        if (graduate != null) {
+            return new JwtPrincipal(graduate.getUsername(), JwtPrincipal.ROLE_GRADUATE, graduate.getId());
+        }
+        return null;
+    }
+
+    private void put(String token, CachedPrincipal entry, long now) {
+        if (cache.size() >= maxSize) {
+            cache.values().removeIf(cached -> cached.expiresAt <= now);
+            Iterator<String> keys = cache.keySet().iterator();
+            while (cache.size() >= maxSize && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        }
+        cache.put(token, entry);
+    }
+
+    private static class CachedPrincipal {
+        private final JwtPrincipal principal;
+        private final long expiresAt;
+
+        private CachedPrincipal(JwtPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
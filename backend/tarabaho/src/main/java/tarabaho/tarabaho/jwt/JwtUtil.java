@@ -9,49 +9,76 @@ import javax.crypto.spec.SecretKeySpec;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import jakarta.annotation.PostConstruct;
 
 @Component
 public class JwtUtil {
+    public static final String ROLE_CLAIM = "role";
+    public static final String ACCOUNT_ID_CLAIM = "accountId";
+
     @Value("${jwt.secret}")
     private String secretKey;
     
     @Value("${jwt.expiration}")
     private long expirationTime;
 
-    private Key getSigningKey() {
+    // Built once; both are immutable and thread-safe.
+    private Key signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
         byte[] keyBytes = secretKey.getBytes(StandardCharsets.UTF_8);
-        return new SecretKeySpec(keyBytes, SignatureAlgorithm.HS256.getJcaName());
+        signingKey = new SecretKeySpec(keyBytes, SignatureAlgorithm.HS256.getJcaName());
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
     }
 
     public String generateToken(String username) {
+        return builder(username).compact();
+    }
+
+    /**
+     * Token carrying the account's role and id, which lets {@link JwtAuthFilter} authenticate
+     * without a database lookup.
+     */
+    public String generateToken(String username, String role, Long accountId) {
+        return builder(username)
+            .claim(ROLE_CLAIM, role)
+            .claim(ACCOUNT_ID_CLAIM, accountId)
+            .compact();
+    }
+
+    private JwtBuilder builder(String username) {
         return Jwts.builder()
             .setSubject(username)
             .setIssuedAt(new Date())
             .setExpiration(new Date(System.currentTimeMillis() + expirationTime))
-            .signWith(getSigningKey())
-            .compact();
+            .signWith(signingKey);
+    }
+
+    /**
+     * Verifies the signature and expiry and returns the claims. Throws a
+     * {@link io.jsonwebtoken.JwtException} when the token is not valid.
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public String getUsernameFromToken(String token) {
-        return Jwts.parserBuilder()
-            .setSigningKey(getSigningKey())
-            .build()
-            .parseClaimsJws(token)
-            .getBody()
-            .getSubject();
+        return parseClaims(token).getSubject();
     }
 
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token);
+            parseClaims(token);
             return true;
         } catch (Exception e) {
             return false;
         }
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,16 @@
 package tarabaho.tarabaho.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import tarabaho.tarabaho.dto.BookingSummary;
 import tarabaho.tarabaho.entity.Booking;
 import tarabaho.tarabaho.entity.BookingStatus;
 import tarabaho.tarabaho.entity.Category;
@@ -16,6 +20,19 @@ import tarabaho.tarabaho.entity.Graduate;
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    String SUMMARY_SELECT =
+        "SELECT new tarabaho.tarabaho.dto.BookingSummary(b.id, b.type, b.status, b.paymentMethod, " +
+        "b.paymentConfirmationStatus, b.amount, c.name, b.jobDetails, b.latitude, b.longitude, b.createdAt, b.updatedAt, " +
+        "u.id, u.firstname, u.lastname, u.profilePicture, g.id, g.firstName, g.lastName, g.profilePicture) " +
+        "FROM Booking b JOIN b.category c JOIN b.user u LEFT JOIN b.graduate g ";
+
+    // Keyset page: bookings created in [from, to) with a status in the set, strictly after the
+    // (createdAt, id) cursor, newest first. Served by ix_bookings_*_status_created.
+    String SUMMARY_PAGE =
+        "AND b.status IN :statuses AND b.createdAt >= :from AND b.createdAt < :to " +
+        "AND (b.createdAt < :afterCreatedAt OR (b.createdAt = :afterCreatedAt AND b.id < :afterId)) " +
+        "ORDER BY b.createdAt DESC, b.id DESC";
+
     List<Booking> findByUser(User user);
 
     List<Booking> findByGraduate(Graduate graduate);
@@ -23,9 +40,57 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT b FROM Booking b WHERE b.status IN (:statuses)")
     List<Booking> findByStatuses(@Param("statuses") List<BookingStatus> statuses);
 
-    @Query("SELECT b FROM Booking b WHERE b.graduate = :graduate AND b.status IN ('ACCEPTED', 'IN_PROGRESS')")
-    List<Booking> findActiveBookingsByGraduate(@Param("graduate") Graduate graduate);
+    @Query("SELECT b.id, b.graduate.id FROM Booking b WHERE b.graduate IS NOT NULL AND b.status IN ('ACCEPTED', 'IN_PROGRESS')")
+    List<Object[]> findActiveBookingAssignments();
+
     List<Booking> findByStatusIn(List<BookingStatus> statuses);
     List<Booking> findByUserAndCategoryAndStatusIn(User user, Category category, List<BookingStatus> statuses);
     List<Booking> findByUserAndStatusIn(User user, List<BookingStatus> statuses);
+
+    @Query(SUMMARY_SELECT + "WHERE b.user.id = :userId " + SUMMARY_PAGE)
+    List<BookingSummary> findUserSummaries(@Param("userId") Long userId, @Param("statuses") List<BookingStatus> statuses,
+                                           @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                           @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                           @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE b.graduate.id = :graduateId " + SUMMARY_PAGE)
+    List<BookingSummary> findGraduateSummaries(@Param("graduateId") Long graduateId, @Param("statuses") List<BookingStatus> statuses,
+                                               @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                               @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+                                               @Param("afterId") Long afterId, Pageable pageable);
+
+    // Conditional (compare-and-set) transitions: each returns the number of rows updated, 0
+    // when the booking was no longer in the expected state.
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :to, b.updatedAt = :now WHERE b.id = :id AND b.status = :from")
+    int transition(@Param("id") Long id, @Param("from") BookingStatus from, @Param("to") BookingStatus to,
+                   @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Booking b SET b.graduate = :graduate, b.status = tarabaho.tarabaho.entity.BookingStatus.ACCEPTED, " +
+           "b.updatedAt = :now, b.respondedAt = :now, b.offeredAt = :offeredAt " +
+           "WHERE b.id = :id AND b.status = tarabaho.tarabaho.entity.BookingStatus.PENDING " +
+           "AND (b.graduate IS NULL OR b.graduate = :graduate)")
+    int accept(@Param("id") Long id, @Param("graduate") Graduate graduate, @Param("offeredAt") LocalDateTime offeredAt,
+               @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = tarabaho.tarabaho.entity.BookingStatus.REJECTED, b.updatedAt = :now, b.respondedAt = :now " +
+           "WHERE b.id = :id AND b.status = tarabaho.tarabaho.entity.BookingStatus.PENDING")
+    int reject(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = tarabaho.tarabaho.entity.BookingStatus.WORKER_COMPLETED, " +
+           "b.paymentConfirmationStatus = tarabaho.tarabaho.entity.PaymentConfirmationStatus.PENDING, " +
+           "b.amount = COALESCE(:amount, b.amount), b.updatedAt = :now " +
+           "WHERE b.id = :id AND b.status = tarabaho.tarabaho.entity.BookingStatus.IN_PROGRESS")
+    int markWorkerCompleted(@Param("id") Long id, @Param("amount") Double amount, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Booking b SET b.amount = :amount, " +
+           "b.paymentConfirmationStatus = tarabaho.tarabaho.entity.PaymentConfirmationStatus.CONFIRMED, b.updatedAt = :now " +
+           "WHERE b.id = :id AND b.status = tarabaho.tarabaho.entity.BookingStatus.COMPLETED " +
+           "AND b.paymentConfirmationStatus = tarabaho.tarabaho.entity.PaymentConfirmationStatus.PENDING")
+    int confirmPayment(@Param("id") Long id, @Param("amount") Double amount, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
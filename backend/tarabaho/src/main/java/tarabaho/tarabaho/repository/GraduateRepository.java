@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -31,23 +32,10 @@ public interface GraduateRepository extends JpaRepository<Graduate, Long> {
     @Query("SELECT w FROM Graduate w WHERE w.hourly <= :maxHourly")
     List<Graduate> findByMaxHourly(@Param("maxHourly") Double maxHourly);
 
-    @Query("SELECT w FROM Graduate w JOIN w.categories c WHERE c.name = :categoryName AND w.isAvailable = true " +
-           "AND NOT EXISTS (SELECT b FROM Booking b WHERE b.graduate = w AND b.status IN ('ACCEPTED', 'IN_PROGRESS'))")
+    // Busy graduates (active bookings) are filtered out in memory by BusyGraduateRegistry
+    @Query("SELECT w FROM Graduate w JOIN w.categories c WHERE c.name = :categoryName AND w.isAvailable = true")
     List<Graduate> findAvailableGraduatesByCategory(@Param("categoryName") String categoryName);
 
-    @Query("SELECT w FROM Graduate w JOIN w.categories c WHERE c.name = :categoryName " +
-           "AND w.isAvailable = true AND w.latitude IS NOT NULL AND w.longitude IS NOT NULL " +
-           "AND (6371 * acos(cos(radians(:latitude)) * cos(radians(w.latitude)) * " +
-           "cos(radians(w.longitude) - radians(:longitude)) + " +
-           "sin(radians(:latitude)) * sin(radians(w.latitude)))) <= :radius " +
-           "AND NOT EXISTS (SELECT b FROM Booking b WHERE b.graduate = w AND b.status IN ('ACCEPTED', 'IN_PROGRESS'))")
-    List<Graduate> findNearbyAvailableGraduatesByCategory(
-        @Param("categoryName") String categoryName,
-        @Param("latitude") Double latitude,
-        @Param("longitude") Double longitude,
-        @Param("radius") Double radius
-    );
-
     @Query("SELECT w FROM Graduate w JOIN w.categories c WHERE c.name = :categoryName " +
            "AND w.isAvailable = true AND w.latitude IS NOT NULL AND w.longitude IS NOT NULL " +
            "AND (6371 * acos(cos(radians(:latitude)) * cos(radians(w.latitude)) * " +
@@ -60,8 +48,22 @@ public interface GraduateRepository extends JpaRepository<Graduate, Long> {
         @Param("radius") Double radius
     );
 
+    @Query("SELECT DISTINCT w FROM Graduate w LEFT JOIN FETCH w.categories " +
+           "WHERE w.latitude IS NOT NULL AND w.longitude IS NOT NULL")
+    List<Graduate> findAllWithLocation();
+
     @Query("SELECT DISTINCT w FROM Graduate w JOIN w.categories c WHERE c.name IN :categoryNames AND w.id != :graduateId")
     List<Graduate> findByCategoryNames(@Param("categoryNames") List<String> categoryNames, @Param("graduateId") Long graduateId);
 
-    
+    // One atomic update per rating; the SET expressions all read the row's previous values.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Graduate w SET w.ratingSum = w.ratingSum + :rating, w.ratingCount = w.ratingCount + 1, " +
+           "w.stars = (w.ratingSum + :rating) / (w.ratingCount + 1), " +
+           "w.rating1Count = w.rating1Count + CASE WHEN :rating = 1 THEN 1 ELSE 0 END, " +
+           "w.rating2Count = w.rating2Count + CASE WHEN :rating = 2 THEN 1 ELSE 0 END, " +
+           "w.rating3Count = w.rating3Count + CASE WHEN :rating = 3 THEN 1 ELSE 0 END, " +
+           "w.rating4Count = w.rating4Count + CASE WHEN :rating = 4 THEN 1 ELSE 0 END, " +
+           "w.rating5Count = w.rating5Count + CASE WHEN :rating = 5 THEN 1 ELSE 0 END " +
+           "WHERE w.id = :graduateId")
+    int addRating(@Param("graduateId") Long graduateId, @Param("rating") int rating);
 }
\ No newline at end of file
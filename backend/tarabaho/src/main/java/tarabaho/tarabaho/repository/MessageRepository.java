@@ -2,14 +2,27 @@ package tarabaho.tarabaho.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import tarabaho.tarabaho.entity.Booking;
+import tarabaho.tarabaho.dto.MessageDTO;
 import tarabaho.tarabaho.entity.Message;
 
 @Repository
 public interface MessageRepository extends JpaRepository<Message, Long> {
 
-    List<Message> findByBookingOrderBySentAtAsc(Booking booking);
+    // Flat rows with the sender's username in one query; keyset pages run off ix_messages_booking_id.
+    String DTO_SELECT =
+        "SELECT new tarabaho.tarabaho.dto.MessageDTO(m.id, m.booking.id, su.id, sg.id, " +
+        "COALESCE(su.username, sg.username, 'Unknown'), m.content, m.sentAt) " +
+        "FROM Message m LEFT JOIN m.senderUser su LEFT JOIN m.senderGraduate sg ";
+
+    @Query(DTO_SELECT + "WHERE m.booking.id = :bookingId AND m.id > :afterId ORDER BY m.id ASC")
+    List<MessageDTO> findMessagesAfter(@Param("bookingId") Long bookingId, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE m.booking.id = :bookingId AND m.id < :beforeId ORDER BY m.id DESC")
+    List<MessageDTO> findMessagesBefore(@Param("bookingId") Long bookingId, @Param("beforeId") Long beforeId, Pageable pageable);
 }
\ No newline at end of file
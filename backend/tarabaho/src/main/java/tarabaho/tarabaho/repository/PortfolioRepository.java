@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,49 +18,37 @@ public interface PortfolioRepository extends JpaRepository<Portfolio, Long> {
 
     Optional<Portfolio> findByIdAndVisibility(Long id, Visibility visibility);
 
-    @Query("SELECT p, COUNT(v) FROM Portfolio p LEFT JOIN p.portfolioViews v GROUP BY p ORDER BY COUNT(v) DESC")
-    List<Object[]> findTopPortfoliosByViews();
+    List<Portfolio> findByVisibility(Visibility visibility);
 
+    /**
+     * Editor load: the portfolio with its graduate; sections are read lazily, one subselect
+     * per section.
+     */
+    @EntityGraph(attributePaths = "graduate")
+    Optional<Portfolio> findWithGraduateById(Long id);
+
+    /**
+     * Ownership check without loading the portfolio or its sections.
+     */
+    @Query("SELECT p.id AS id, p.visibility AS visibility, g.id AS graduateId, g.username AS graduateUsername " +
+           "FROM Portfolio p JOIN p.graduate g WHERE p.id = :id")
+    Optional<PortfolioAccess> findAccessById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = "graduate")
     @Query("SELECT p FROM Portfolio p WHERE p.graduate.id = :graduateId")
     Optional<Portfolio> findByGraduateId(@Param("graduateId") Long graduateId);
     
-   @Query("SELECT p FROM Portfolio p WHERE p.graduate.id = :graduateId AND p.shareToken = :shareToken")
+    @EntityGraph(attributePaths = "graduate")
+    @Query("SELECT p FROM Portfolio p WHERE p.graduate.id = :graduateId AND p.shareToken = :shareToken")
     Optional<Portfolio> findByGraduateIdAndShareToken(@Param("graduateId") Long graduateId, @Param("shareToken") String shareToken);
 
     @Query("SELECT COUNT(v) > 0 FROM PortfolioView v WHERE v.portfolio.id = :portfolioId AND v.viewDate > :cutoffTime")
     boolean hasRecentView(@Param("portfolioId") Long portfolioId, @Param("cutoffTime") LocalDateTime cutoffTime);
 
-    @Query("SELECT DISTINCT p FROM Portfolio p " +
-       "LEFT JOIN p.skills s " +
-       "LEFT JOIN p.experiences e " +
-       "LEFT JOIN p.projects pr " +
-       "LEFT JOIN p.awardsRecognitions a " +
-       "LEFT JOIN p.continuingEducations ce " +
-       "LEFT JOIN p.professionalMemberships pm " +
-       "WHERE p.visibility = Visibility.PUBLIC " +
-       "AND (LOWER(p.fullName) LIKE LOWER(CONCAT('%', :query, '%')) " +
-       "OR LOWER(p.professionalSummary) LIKE LOWER(CONCAT('%', :query, '%')) " +
-       "OR LOWER(p.professionalTitle) LIKE LOWER(CONCAT('%', :query, '%')) " +
-       "OR LOWER(p.primaryCourseType) LIKE LOWER(CONCAT('%', :query, '%')) " +
-       "OR LOWER(p.scholarScheme) LIKE LOWER(CONCAT('%', :query, '%')) " +
-       "OR LOWER(p.ncLevel) LIKE LOWER(CONCAT('%', :query, '%')) " +
-       "OR LOWER(p.trainingCenter) LIKE LOWER(CONCAT('%', :query, '%')) " +
-       "OR LOWER(p.scholarshipType) LIKE LOWER(CONCAT('%', :query, '%')) " +
-       "OR LOWER(p.portfolioCategory) LIKE LOWER(CONCAT('%', :query, '%')) " +
-       "OR LOWER(p.preferredWorkLocation) LIKE LOWER(CONCAT('%', :query, '%')) " +
-       "OR LOWER(p.workScheduleAvailability) LIKE LOWER(CONCAT('%', :query, '%')) " +
-       "OR LOWER(p.salaryExpectations) LIKE LOWER(CONCAT('%', :query, '%')) " +
-       "OR LOWER(s.name) LIKE LOWER(CONCAT('%', :query, '%')) " +
-       "OR LOWER(e.jobTitle) LIKE LOWER(CONCAT('%', :query, '%')) " +
-       "OR LOWER(e.employer) LIKE LOWER(CONCAT('%', :query, '%')) " +
-       "OR LOWER(e.description) LIKE LOWER(CONCAT('%', :query, '%')) " +
-       "OR LOWER(pr.title) LIKE LOWER(CONCAT('%', :query, '%')) " +
-       "OR LOWER(pr.description) LIKE LOWER(CONCAT('%', :query, '%')) " +
-       "OR LOWER(a.title) LIKE LOWER(CONCAT('%', :query, '%')) " +
-       "OR LOWER(a.issuer) LIKE LOWER(CONCAT('%', :query, '%')) " +
-       "OR LOWER(ce.courseName) LIKE LOWER(CONCAT('%', :query, '%')) " +
-       "OR LOWER(ce.institution) LIKE LOWER(CONCAT('%', :query, '%')) " +
-       "OR LOWER(pm.organization) LIKE LOWER(CONCAT('%', :query, '%')) " +
-       "OR LOWER(pm.membershipType) LIKE LOWER(CONCAT('%', :query, '%')))")
-    List<Portfolio> searchPublicPortfolios(@Param("query") String query);
+    interface PortfolioAccess {
+        Long getId();
+        Visibility getVisibility();
+        Long getGraduateId();
+        String getGraduateUsername();
+    }
 }
\ No newline at end of file
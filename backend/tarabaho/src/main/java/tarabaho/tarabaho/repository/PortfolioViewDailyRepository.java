@@ -0,0 +1,58 @@
+package tarabaho.tarabaho.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import tarabaho.tarabaho.entity.PortfolioViewDaily;
+
+@Repository
+public interface PortfolioViewDailyRepository extends JpaRepository<PortfolioViewDaily, Long> {
+
+    @Query("SELECT COALESCE(SUM(d.views), 0) FROM PortfolioViewDaily d WHERE d.portfolioId = :portfolioId AND d.day >= :fromDay")
+    long sumViews(@Param("portfolioId") Long portfolioId, @Param("fromDay") LocalDate fromDay);
+
+    @Query(value = """
+        SELECT day, views
+        FROM portfolio_view_daily
+        WHERE portfolio_id = :portfolioId
+        AND day >= :fromDay
+        ORDER BY day
+        """, nativeQuery = true)
+    List<Object[]> getDailyViewTrends(@Param("portfolioId") Long portfolioId, @Param("fromDay") LocalDate fromDay);
+
+    @Query(value = """
+        SELECT
+            EXTRACT(YEAR FROM day) as year,
+            EXTRACT(MONTH FROM day) as month,
+            SUM(views) as views
+        FROM portfolio_view_daily
+        WHERE portfolio_id = :portfolioId
+        AND day >= :fromDay
+        GROUP BY EXTRACT(YEAR FROM day), EXTRACT(MONTH FROM day)
+        ORDER BY EXTRACT(YEAR FROM day), EXTRACT(MONTH FROM day)
+        """, nativeQuery = true)
+    List<Object[]> getMonthlyViewTrends(@Param("portfolioId") Long portfolioId, @Param("fromDay") LocalDate fromDay);
+
+    @Modifying
+    @Query("DELETE FROM PortfolioViewDaily d WHERE d.portfolioId = :portfolioId")
+    void deleteByPortfolioId(@Param("portfolioId") Long portfolioId);
+
+    // Windows are whole days including today: the last 7 days are today and the 6 before it.
+    default long getWeeklyViews(Long portfolioId) {
+        return sumViews(portfolioId, LocalDate.now().minusDays(6));
+    }
+
+    default long getMonthlyViews(Long portfolioId) {
+        return sumViews(portfolioId, LocalDate.now().minusDays(29));
+    }
+
+    default long getYearlyViews(Long portfolioId) {
+        return sumViews(portfolioId, LocalDate.now().minusDays(364));
+    }
+}
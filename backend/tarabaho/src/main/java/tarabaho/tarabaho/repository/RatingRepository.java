@@ -2,10 +2,12 @@ package tarabaho.tarabaho.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import tarabaho.tarabaho.dto.ReviewSummary;
 import tarabaho.tarabaho.entity.Rating;
 import tarabaho.tarabaho.entity.Graduate;
 
@@ -13,4 +15,9 @@ public interface RatingRepository extends JpaRepository<Rating, Long> {
     List<Rating> findByGraduate(Graduate graduate);
     @Query("SELECT r FROM Rating r JOIN FETCH r.user WHERE r.graduate.id = :graduateId")
     List<Rating> findByGraduateId(@Param("graduateId") Long graduateId);
+
+    // Keyset page, newest first, served from ix_ratings_graduate_id.
+    @Query("SELECT new tarabaho.tarabaho.dto.ReviewSummary(r.id, u.firstname, u.lastname, r.rating, r.comment, r.createdAt) " +
+           "FROM Rating r JOIN r.user u WHERE r.graduate.id = :graduateId AND r.id < :beforeId ORDER BY r.id DESC")
+    List<ReviewSummary> findReviewPage(@Param("graduateId") Long graduateId, @Param("beforeId") Long beforeId, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,10 @@
+package tarabaho.tarabaho.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import tarabaho.tarabaho.entity.UrgentDispatchCascade;
+
+@Repository
+public interface UrgentDispatchCascadeRepository extends JpaRepository<UrgentDispatchCascade, Long> {
+}
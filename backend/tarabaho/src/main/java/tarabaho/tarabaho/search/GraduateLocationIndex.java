@@ -0,0 +1,193 @@
+package tarabaho.tarabaho.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory grid over graduate coordinates, partitioned by category name.
+ *
+ * The globe is cut into fixed {@link #CELL_DEGREES} cells. A radius query only visits the
+ * cells overlapping the circle's bounding box and computes the exact great-circle distance
+ * for the graduates found there, instead of evaluating the distance for every graduate in
+ * the category.
+ */
+public class GraduateLocationIndex {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    private static final double CELL_DEGREES = 0.1;
+    private static final int LONGITUDE_CELLS = (int) Math.round(360 / CELL_DEGREES);
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Location> locations = new HashMap<>();
+    private final Map<String, Map<Long, Set<Long>>> cellsByCategory = new HashMap<>();
+
+    /**
+     * Adds or moves a graduate. Graduates without coordinates or categories are removed.
+     */
+    public void put(Long graduateId, Double latitude, Double longitude, boolean available, Collection<String> categories) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(graduateId);
+            if (latitude == null || longitude == null || categories == null || categories.isEmpty()) {
+                return;
+            }
+            Location location = new Location(latitude, longitude, available, new HashSet<>(categories));
+            long cell = cellKey(latitude, longitude);
+            for (String category : location.categories) {
+                cellsByCategory.computeIfAbsent(category, key -> new HashMap<>())
+                    .computeIfAbsent(cell, key -> new HashSet<>()).add(graduateId);
+            }
+            locations.put(graduateId, location);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long graduateId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(graduateId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(Long graduateId) {
+        Location previous = locations.remove(graduateId);
+        if (previous == null) {
+            return;
+        }
+        long cell = cellKey(previous.latitude, previous.longitude);
+        for (String category : previous.categories) {
+            Map<Long, Set<Long>> cells = cellsByCategory.get(category);
+            Set<Long> ids = cells == null ? null : cells.get(cell);
+            if (ids != null) {
+                ids.remove(graduateId);
+                if (ids.isEmpty()) {
+                    cells.remove(cell);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the available graduates of the category within {@code radiusKm} of the point,
+     * nearest first.
+     */
+    public List<Nearby> findNearby(String category, double latitude, double longitude, double radiusKm) {
+        lock.readLock().lock();
+        try {
+            Map<Long, Set<Long>> cells = cellsByCategory.get(category);
+            if (cells == null || cells.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            double latitudeSpan = radiusKm / KM_PER_DEGREE;
+            int minLatCell = latitudeCell(Math.max(-90, latitude - latitudeSpan));
+            int maxLatCell = latitudeCell(Math.min(90, latitude + latitudeSpan));
+            // Longitude degrees shrink towards the poles; near them the box covers every column.
+            double cosLatitude = Math.cos(Math.toRadians(Math.min(90, Math.abs(latitude) + latitudeSpan)));
+            double longitudeSpan = cosLatitude <= 1e-9 ? 180 : radiusKm / (KM_PER_DEGREE * cosLatitude);
+            int firstLngCell = (int) Math.floor((longitude - longitudeSpan + 180) / CELL_DEGREES);
+            int lngCellCount = Math.min(LONGITUDE_CELLS,
+                (int) Math.floor((longitude + longitudeSpan + 180) / CELL_DEGREES) - firstLngCell + 1);
+
+            List<Nearby> result = new ArrayList<>();
+            for (int latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+                for (int i = 0; i < lngCellCount; i++) {
+                    int lngCell = Math.floorMod(firstLngCell + i, LONGITUDE_CELLS);
+                    Set<Long> ids = cells.get(pack(latCell, lngCell));
+                    if (ids == null) {
+                        continue;
+                    }
+                    for (Long id : ids) {
+                        Location location = locations.get(id);
+                        if (!location.available) {
+                            continue;
+                        }
+                        double distance = distanceKm(latitude, longitude, location.latitude, location.longitude);
+                        if (distance <= radiusKm) {
+                            result.add(new Nearby(id, distance));
+                        }
+                    }
+                }
+            }
+            result.sort((a, b) -> Double.compare(a.distanceKm, b.distanceKm));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return locations.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Great-circle distance using the haversine formula.
+     */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+            + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static long cellKey(double latitude, double longitude) {
+        int lngCell = Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), LONGITUDE_CELLS);
+        return pack(latitudeCell(latitude), lngCell);
+    }
+
+    private static int latitudeCell(double latitude) {
+        return (int) Math.floor((latitude + 90) / CELL_DEGREES);
+    }
+
+    private static long pack(int latCell, int lngCell) {
+        return ((long) latCell << 32) | (lngCell & 0xffffffffL);
+    }
+
+    private static class Location {
+        private final double latitude;
+        private final double longitude;
+        private final boolean available;
+        private final Set<String> categories;
+
+        private Location(double latitude, double longitude, boolean available, Set<String> categories) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.available = available;
+            this.categories = categories;
+        }
+    }
+
+    /**
+     * A graduate id with its distance from the query point.
+     */
+    public static class Nearby {
+        private final Long graduateId;
+        private final double distanceKm;
+
+        public Nearby(Long graduateId, double distanceKm) {
+            this.graduateId = graduateId;
+            this.distanceKm = distanceKm;
+        }
+
+        public Long getGraduateId() { return graduateId; }
+        public double getDistanceKm() { return distanceKm; }
+    }
+}
@@ -0,0 +1,101 @@
+package tarabaho.tarabaho.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import tarabaho.tarabaho.dto.PublicPortfolioSearchResult;
+import tarabaho.tarabaho.entity.AwardRecognition;
+import tarabaho.tarabaho.entity.ContinuingEducation;
+import tarabaho.tarabaho.entity.Experience;
+import tarabaho.tarabaho.entity.Portfolio;
+import tarabaho.tarabaho.entity.ProfessionalMembership;
+import tarabaho.tarabaho.entity.Project;
+import tarabaho.tarabaho.entity.Skill;
+
+/**
+ * Immutable snapshot of a public portfolio as seen by the search index: the searchable
+ * text per field plus the prebuilt search card returned to clients.
+ */
+public class PortfolioDocument {
+
+    /** Fields whose whole values are offered as typeahead suggestions. */
+    private static final List<String> SUGGESTION_FIELDS =
+        List.of("skill", "primaryCourseType", "ncLevel", "trainingCenter");
+
+    private final Long portfolioId;
+    private final Map<String, List<String>> fields;
+    private final PublicPortfolioSearchResult card;
+
+    public PortfolioDocument(Long portfolioId, Map<String, List<String>> fields, PublicPortfolioSearchResult card) {
+        this.portfolioId = portfolioId;
+        this.fields = Collections.unmodifiableMap(fields);
+        this.card = card;
+    }
+
+    /**
+     * Builds a document from a loaded portfolio. Must be called while the portfolio's
+     * section collections can still be read.
+     */
+    public static PortfolioDocument from(Portfolio portfolio) {
+        Map<String, List<String>> fields = new LinkedHashMap<>();
+        add(fields, "fullName", portfolio.getFullName());
+        add(fields, "professionalSummary", portfolio.getProfessionalSummary());
+        add(fields, "professionalTitle", portfolio.getProfessionalTitle());
+        add(fields, "primaryCourseType", portfolio.getPrimaryCourseType());
+        add(fields, "scholarScheme", portfolio.getScholarScheme());
+        add(fields, "ncLevel", portfolio.getNcLevel());
+        add(fields, "trainingCenter", portfolio.getTrainingCenter());
+        add(fields, "scholarshipType", portfolio.getScholarshipType());
+        add(fields, "portfolioCategory", portfolio.getPortfolioCategory());
+        add(fields, "preferredWorkLocation", portfolio.getPreferredWorkLocation());
+        add(fields, "workScheduleAvailability", portfolio.getWorkScheduleAvailability());
+        add(fields, "salaryExpectations", portfolio.getSalaryExpectations());
+        for (Skill skill : portfolio.getSkills()) {
+            add(fields, "skill", skill.getName());
+        }
+        for (Experience experience : portfolio.getExperiences()) {
+            add(fields, "experienceTitle", experience.getJobTitle());
+            add(fields, "experienceEmployer", experience.getEmployer());
+            add(fields, "experienceDescription", experience.getDescription());
+        }
+        for (Project project : portfolio.getProjects()) {
+            add(fields, "projectTitle", project.getTitle());
+            add(fields, "projectDescription", project.getDescription());
+        }
+        for (AwardRecognition award : portfolio.getAwardsRecognitions()) {
+            add(fields, "award", award.getTitle());
+            add(fields, "award", award.getIssuer());
+        }
+        for (ContinuingEducation education : portfolio.getContinuingEducations()) {
+            add(fields, "education", education.getCourseName());
+            add(fields, "education", education.getInstitution());
+        }
+        for (ProfessionalMembership membership : portfolio.getProfessionalMemberships()) {
+            add(fields, "membership", membership.getOrganization());
+            add(fields, "membership", membership.getMembershipType());
+        }
+        return new PortfolioDocument(portfolio.getId(), fields, new PublicPortfolioSearchResult(portfolio));
+    }
+
+    private static void add(Map<String, List<String>> fields, String field, String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        fields.computeIfAbsent(field, key -> new ArrayList<>()).add(value);
+    }
+
+    public List<String> getSuggestionPhrases() {
+        List<String> phrases = new ArrayList<>();
+        for (String field : SUGGESTION_FIELDS) {
+            phrases.addAll(fields.getOrDefault(field, Collections.emptyList()));
+        }
+        return phrases;
+    }
+
+    public Long getPortfolioId() { return portfolioId; }
+    public Map<String, List<String>> getFields() { return fields; }
+    public PublicPortfolioSearchResult getCard() { return card; }
+}
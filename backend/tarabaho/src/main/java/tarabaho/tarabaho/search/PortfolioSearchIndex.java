@@ -0,0 +1,396 @@
+package tarabaho.tarabaho.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import tarabaho.tarabaho.dto.PublicPortfolioSearchResult;
+
+/**
+ * In-memory inverted index over public portfolios.
+ *
+ * Every field value is lower-cased and split into terms; each term maps to the portfolios
+ * containing it together with a field-weighted term frequency. A query matches a portfolio
+ * when every query term is a prefix of at least one of its terms, which covers what the old
+ * {@code LIKE '%q%'} search was used for (whole and partially typed words) without touching
+ * the database.
+ *
+ * Hits are ranked with BM25 over the boosted term frequencies, so a word in the title or
+ * skills outweighs the same word buried in an experience description.
+ *
+ * Each document also gets a dense ordinal, and every value of the {@link #FACET_FIELDS} keeps
+ * a {@link BitSet} of the ordinals carrying it. Facet filters and counts are then bitwise
+ * intersections with the set of matching ordinals.
+ */
+public class PortfolioSearchIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // Index terms that only start with the query term score below whole-word matches.
+    private static final double PREFIX_MATCH_WEIGHT = 0.7;
+    private static final float DEFAULT_BOOST = 1.0f;
+    private static final Map<String, Float> FIELD_BOOSTS = Map.ofEntries(
+        Map.entry("professionalTitle", 3.0f),
+        Map.entry("skill", 3.0f),
+        Map.entry("fullName", 2.5f),
+        Map.entry("primaryCourseType", 2.0f),
+        Map.entry("portfolioCategory", 2.0f),
+        Map.entry("ncLevel", 1.5f),
+        Map.entry("experienceTitle", 1.5f),
+        Map.entry("projectTitle", 1.2f),
+        Map.entry("experienceDescription", 0.5f),
+        Map.entry("projectDescription", 0.5f)
+    );
+
+    public static final List<String> FACET_FIELDS = List.of(
+        "ncLevel", "portfolioCategory", "trainingCenter", "scholarshipType", "preferredWorkLocation");
+
+    private static final Comparator<ScoredHit> RANKING = Comparator
+        .comparingDouble((ScoredHit hit) -> hit.score).reversed()
+        .thenComparingLong(hit -> hit.portfolioId);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Map<Long, Float>> postings = new TreeMap<>();
+    private final Map<Long, PortfolioDocument> documents = new HashMap<>();
+    private final Map<Long, Set<String>> documentTerms = new HashMap<>();
+    private final Map<Long, Float> documentLengths = new HashMap<>();
+    private double totalLength;
+
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private int nextOrdinal;
+    private final Map<String, Map<String, BitSet>> facets = new HashMap<>();
+
+    /**
+     * Adds the document, replacing any previous version with the same portfolio id.
+     */
+    public void put(PortfolioDocument document) {
+        Map<String, Float> frequencies = new HashMap<>();
+        float length = 0;
+        for (Map.Entry<String, List<String>> field : document.getFields().entrySet()) {
+            float boost = FIELD_BOOSTS.getOrDefault(field.getKey(), DEFAULT_BOOST);
+            for (String value : field.getValue()) {
+                for (String term : tokenize(value)) {
+                    frequencies.merge(term, boost, Float::sum);
+                    length += boost;
+                }
+            }
+        }
+
+        Long id = document.getPortfolioId();
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            int ordinal = allocateOrdinal(id);
+            for (String field : FACET_FIELDS) {
+                String value = facetValue(document, field);
+                if (value != null) {
+                    facets.computeIfAbsent(field, key -> new HashMap<>())
+                        .computeIfAbsent(value, key -> new BitSet()).set(ordinal);
+                }
+            }
+            for (Map.Entry<String, Float> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), key -> new HashMap<>()).put(id, entry.getValue());
+            }
+            documents.put(id, document);
+            documentTerms.put(id, frequencies.keySet());
+            documentLengths.put(id, length);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long portfolioId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(portfolioId);
+            Integer ordinal = ordinals.remove(portfolioId);
+            if (ordinal != null) {
+                freeOrdinals.push(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the document's postings and facet bits but keeps its ordinal, so a replacement
+     * reuses it.
+     */
+    private void removeLocked(Long portfolioId) {
+        Set<String> terms = documentTerms.remove(portfolioId);
+        PortfolioDocument previous = documents.remove(portfolioId);
+        Integer ordinal = ordinals.get(portfolioId);
+        if (previous != null && ordinal != null) {
+            for (String field : FACET_FIELDS) {
+                String value = facetValue(previous, field);
+                Map<String, BitSet> values = value == null ? null : facets.get(field);
+                BitSet bits = values == null ? null : values.get(value);
+                if (bits != null) {
+                    bits.clear(ordinal);
+                    if (bits.isEmpty()) {
+                        values.remove(value);
+                    }
+                }
+            }
+        }
+        Float length = documentLengths.remove(portfolioId);
+        if (length != null) {
+            totalLength -= length;
+        }
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Float> docs = postings.get(term);
+            if (docs != null) {
+                docs.remove(portfolioId);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private int allocateOrdinal(Long portfolioId) {
+        Integer ordinal = ordinals.get(portfolioId);
+        if (ordinal == null) {
+            ordinal = freeOrdinals.isEmpty() ? nextOrdinal++ : freeOrdinals.pop();
+            ordinals.put(portfolioId, ordinal);
+        }
+        return ordinal;
+    }
+
+    private static String facetValue(PortfolioDocument document, String field) {
+        List<String> values = document.getFields().get(field);
+        return values == null || values.isEmpty() ? null : values.get(0).trim();
+    }
+
+    /**
+     * Returns up to {@code limit} documents matching every query term and the facet filters,
+     * best first, starting after {@code after} when given. Only the requested page is
+     * collected. {@code filters} maps a facet field to the accepted values; values within a
+     * facet are OR-ed, facets are AND-ed.
+     */
+    public SearchPage search(String query, int limit, SearchCursor after, Map<String, Set<String>> filters) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return SearchPage.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            int documentCount = documents.size();
+            double averageLength = documentCount == 0 ? 1 : Math.max(totalLength / documentCount, 1e-6);
+
+            // Score each query term independently, keeping the best expansion per document.
+            List<Map<Long, Double>> termScores = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                Map<Long, Double> scores = scoreTerm(term, documentCount, averageLength);
+                if (scores.isEmpty()) {
+                    return SearchPage.empty();
+                }
+                termScores.add(scores);
+            }
+            termScores.sort(Comparator.comparingInt(Map::size));
+
+            Map<String, BitSet> facetFilters = resolveFilters(filters);
+            BitSet allowed = null;
+            for (BitSet bits : facetFilters.values()) {
+                if (allowed == null) {
+                    allowed = (BitSet) bits.clone();
+                } else {
+                    allowed.and(bits);
+                }
+            }
+
+            // Walk the most selective term and require the others; keep only limit + 1 hits.
+            PriorityQueue<ScoredHit> page = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            BitSet matched = new BitSet(nextOrdinal);
+            int totalMatches = 0;
+            for (Map.Entry<Long, Double> candidate : termScores.get(0).entrySet()) {
+                double score = candidate.getValue();
+                boolean matchesAll = true;
+                for (int i = 1; i < termScores.size() && matchesAll; i++) {
+                    Double other = termScores.get(i).get(candidate.getKey());
+                    if (other == null) {
+                        matchesAll = false;
+                    } else {
+                        score += other;
+                    }
+                }
+                if (!matchesAll) {
+                    continue;
+                }
+                int ordinal = ordinals.get(candidate.getKey());
+                matched.set(ordinal);
+                if (allowed != null && !allowed.get(ordinal)) {
+                    continue;
+                }
+                totalMatches++;
+                ScoredHit hit = new ScoredHit(candidate.getKey(), (float) score);
+                if (after != null && !after.precedes(hit.score, hit.portfolioId)) {
+                    continue;
+                }
+                page.offer(hit);
+                if (page.size() > limit + 1) {
+                    page.poll();
+                }
+            }
+
+            List<ScoredHit> ranked = new ArrayList<>(page);
+            ranked.sort(RANKING);
+            SearchCursor next = null;
+            if (ranked.size() > limit) {
+                ranked = ranked.subList(0, limit);
+                ScoredHit last = ranked.get(limit - 1);
+                next = new SearchCursor(last.score, last.portfolioId);
+            }
+            List<PortfolioDocument> hits = new ArrayList<>(ranked.size());
+            for (ScoredHit hit : ranked) {
+                hits.add(documents.get(hit.portfolioId));
+            }
+            return new SearchPage(hits, totalMatches, next, countFacets(matched, facetFilters));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Map<String, BitSet> resolveFilters(Map<String, Set<String>> filters) {
+        Map<String, BitSet> resolved = new HashMap<>();
+        if (filters == null) {
+            return resolved;
+        }
+        for (Map.Entry<String, Set<String>> filter : filters.entrySet()) {
+            if (filter.getValue() == null || filter.getValue().isEmpty()) {
+                continue;
+            }
+            Map<String, BitSet> values = facets.getOrDefault(filter.getKey(), Collections.emptyMap());
+            BitSet union = new BitSet();
+            for (String value : filter.getValue()) {
+                BitSet bits = values.get(value.trim());
+                if (bits != null) {
+                    union.or(bits);
+                }
+            }
+            resolved.put(filter.getKey(), union);
+        }
+        return resolved;
+    }
+
+    /**
+     * Counts every facet value over the matches. Each facet is narrowed by the filters of the
+     * other facets only, so selecting one value still shows the alternatives for that facet.
+     */
+    private Map<String, Map<String, Integer>> countFacets(BitSet matched, Map<String, BitSet> facetFilters) {
+        Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+        for (String field : FACET_FIELDS) {
+            BitSet base = (BitSet) matched.clone();
+            for (Map.Entry<String, BitSet> filter : facetFilters.entrySet()) {
+                if (!filter.getKey().equals(field)) {
+                    base.and(filter.getValue());
+                }
+            }
+            List<Map.Entry<String, Integer>> valueCounts = new ArrayList<>();
+            for (Map.Entry<String, BitSet> value : facets.getOrDefault(field, Collections.emptyMap()).entrySet()) {
+                if (!base.intersects(value.getValue())) {
+                    continue;
+                }
+                BitSet intersection = (BitSet) base.clone();
+                intersection.and(value.getValue());
+                valueCounts.add(Map.entry(value.getKey(), intersection.cardinality()));
+            }
+            valueCounts.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+            Map<String, Integer> fieldCounts = new LinkedHashMap<>();
+            for (Map.Entry<String, Integer> entry : valueCounts) {
+                fieldCounts.put(entry.getKey(), entry.getValue());
+            }
+            counts.put(field, fieldCounts);
+        }
+        return counts;
+    }
+
+    private Map<Long, Double> scoreTerm(String term, int documentCount, double averageLength) {
+        Map<Long, Double> scores = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Float>> expansion
+                : postings.subMap(term, true, term + Character.MAX_VALUE, true).entrySet()) {
+            Map<Long, Float> docs = expansion.getValue();
+            double idf = Math.log(1 + (documentCount - docs.size() + 0.5) / (docs.size() + 0.5));
+            double weight = expansion.getKey().equals(term) ? 1.0 : PREFIX_MATCH_WEIGHT;
+            for (Map.Entry<Long, Float> posting : docs.entrySet()) {
+                double tf = posting.getValue();
+                double norm = K1 * (1 - B + B * documentLengths.get(posting.getKey()) / averageLength);
+                double score = weight * idf * tf * (K1 + 1) / (tf + norm);
+                scores.merge(posting.getKey(), score, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * The result card of an indexed (public) portfolio, or {@code null} if it is not indexed.
+     */
+    public PublicPortfolioSearchResult getCard(Long portfolioId) {
+        lock.readLock().lock();
+        try {
+            PortfolioDocument document = documents.get(portfolioId);
+            return document != null ? document.getCard() : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits text into lower-case letter/digit terms.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Collections.emptyList();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static class ScoredHit {
+        private final long portfolioId;
+        private final float score;
+
+        private ScoredHit(long portfolioId, float score) {
+            this.portfolioId = portfolioId;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package tarabaho.tarabaho.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last hit on a ranked search page. Results are ordered by score descending,
+ * then portfolio id ascending, so (score, id) identifies where the next page starts.
+ */
+public class SearchCursor {
+
+    private final float score;
+    private final long portfolioId;
+
+    public SearchCursor(float score, long portfolioId) {
+        this.score = score;
+        this.portfolioId = portfolioId;
+    }
+
+    /**
+     * True when a hit with the given score and id sorts strictly after this cursor.
+     */
+    public boolean precedes(float otherScore, long otherId) {
+        int byScore = Float.compare(otherScore, score);
+        return byScore < 0 || (byScore == 0 && otherId > portfolioId);
+    }
+
+    public String encode() {
+        String raw = Integer.toHexString(Float.floatToIntBits(score)) + ":" + portfolioId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            float score = Float.intBitsToFloat(Integer.parseUnsignedInt(raw.substring(0, separator), 16));
+            long portfolioId = Long.parseLong(raw.substring(separator + 1));
+            return new SearchCursor(score, portfolioId);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid search cursor");
+        }
+    }
+
+    public float getScore() { return score; }
+    public long getPortfolioId() { return portfolioId; }
+}
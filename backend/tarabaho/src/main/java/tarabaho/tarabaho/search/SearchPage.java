@@ -0,0 +1,34 @@
+package tarabaho.tarabaho.search;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of ranked search hits, the cursor for the next page ({@code null} on the last) and
+ * the facet value counts over all matches.
+ */
+public class SearchPage {
+
+    private final List<PortfolioDocument> hits;
+    private final int totalMatches;
+    private final SearchCursor next;
+    private final Map<String, Map<String, Integer>> facetCounts;
+
+    public SearchPage(List<PortfolioDocument> hits, int totalMatches, SearchCursor next,
+            Map<String, Map<String, Integer>> facetCounts) {
+        this.hits = hits;
+        this.totalMatches = totalMatches;
+        this.next = next;
+        this.facetCounts = facetCounts;
+    }
+
+    public static SearchPage empty() {
+        return new SearchPage(Collections.emptyList(), 0, null, Collections.emptyMap());
+    }
+
+    public List<PortfolioDocument> getHits() { return hits; }
+    public int getTotalMatches() { return totalMatches; }
+    public SearchCursor getNext() { return next; }
+    public Map<String, Map<String, Integer>> getFacetCounts() { return facetCounts; }
+}
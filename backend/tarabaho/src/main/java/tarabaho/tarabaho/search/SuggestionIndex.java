@@ -0,0 +1,184 @@
+package tarabaho.tarabaho.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Prefix trie of suggestion phrases (skills, course types, NC levels, training centers,
+ * categories) weighted by how many public portfolios use them.
+ *
+ * Each node caches the top {@link #MAX_SUGGESTIONS} phrases of its subtree, so a lookup is a
+ * walk down the prefix and a copy of that list. Counts change incrementally: the phrases each
+ * portfolio contributed are remembered, and only the difference is applied on re-index.
+ * Phrases not tied to a portfolio (category names) are kept the same way as one set.
+ */
+public class SuggestionIndex {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+    private final Map<Long, Collection<String>> contributions = new HashMap<>();
+    private Collection<String> fixed = Collections.emptyList();
+
+    /**
+     * Replaces the phrases that are not tied to a portfolio, such as the category names.
+     */
+    public void setFixed(Collection<String> phrases) {
+        Map<String, String> distinct = distinct(phrases);
+        lock.writeLock().lock();
+        try {
+            apply(fixed, distinct);
+            fixed = distinct.keySet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the phrases contributed by a portfolio with the given ones.
+     */
+    public void put(Long portfolioId, Collection<String> phrases) {
+        Map<String, String> distinct = distinct(phrases);
+        lock.writeLock().lock();
+        try {
+            apply(contributions.getOrDefault(portfolioId, Collections.emptyList()), distinct);
+            if (distinct.isEmpty()) {
+                contributions.remove(portfolioId);
+            } else {
+                contributions.put(portfolioId, distinct.keySet());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long portfolioId) {
+        put(portfolioId, Collections.emptyList());
+    }
+
+    /**
+     * Returns up to {@code limit} phrases starting with the prefix, most used first.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+            }
+            if (node == null) {
+                return Collections.emptyList();
+            }
+            List<String> result = new ArrayList<>(Math.min(limit, node.top.size()));
+            for (Node terminal : node.top) {
+                if (result.size() == limit) {
+                    break;
+                }
+                result.add(terminal.phrase);
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Normalized key to display phrase, first spelling wins.
+    private static Map<String, String> distinct(Collection<String> phrases) {
+        Map<String, String> distinct = new LinkedHashMap<>();
+        for (String phrase : phrases) {
+            String key = normalize(phrase);
+            if (!key.isEmpty()) {
+                distinct.putIfAbsent(key, phrase.trim());
+            }
+        }
+        return distinct;
+    }
+
+    // Counts down the keys that were dropped and up the ones that are new. Caller holds the write lock.
+    private void apply(Collection<String> previous, Map<String, String> current) {
+        for (String key : previous) {
+            if (!current.containsKey(key)) {
+                adjust(key, null, -1);
+            }
+        }
+        for (Map.Entry<String, String> entry : current.entrySet()) {
+            if (!previous.contains(entry.getKey())) {
+                adjust(entry.getKey(), entry.getValue(), 1);
+            }
+        }
+    }
+
+    private void adjust(String key, String phrase, int delta) {
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null) {
+                if (delta < 0) {
+                    return;
+                }
+                child = new Node();
+                node.children.put(key.charAt(i), child);
+            }
+            node = child;
+            path[i + 1] = node;
+        }
+
+        node.count = Math.max(0, node.count + delta);
+        if (node.count > 0 && node.phrase == null) {
+            node.phrase = phrase;
+        } else if (node.count == 0) {
+            node.phrase = null;
+        }
+
+        // Refresh cached top lists bottom-up and prune branches that became empty.
+        for (int i = key.length(); i >= 0; i--) {
+            Node current = path[i];
+            current.refreshTop();
+            if (i > 0 && current.count == 0 && current.children.isEmpty()) {
+                path[i - 1].children.remove(key.charAt(i - 1));
+            }
+        }
+    }
+
+    private static String normalize(String phrase) {
+        return phrase == null ? "" : phrase.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static class Node {
+        private final Map<Character, Node> children = new TreeMap<>();
+        private String phrase;
+        private int count;
+        private List<Node> top = Collections.emptyList();
+
+        private void refreshTop() {
+            List<Node> candidates = new ArrayList<>();
+            if (count > 0) {
+                candidates.add(this);
+            }
+            for (Node child : children.values()) {
+                candidates.addAll(child.top);
+            }
+            candidates.sort((a, b) -> a.count != b.count
+                ? Integer.compare(b.count, a.count)
+                : a.phrase.compareToIgnoreCase(b.phrase));
+            top = candidates.size() > MAX_SUGGESTIONS
+                ? new ArrayList<>(candidates.subList(0, MAX_SUGGESTIONS))
+                : candidates;
+        }
+    }
+}
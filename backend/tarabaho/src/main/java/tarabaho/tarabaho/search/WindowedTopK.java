@@ -0,0 +1,137 @@
+package tarabaho.tarabaho.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Approximate top-K counts over a sliding time window.
+ *
+ * The window is a ring of fixed-width buckets; each bucket keeps a bounded Space-Saving
+ * summary (at most {@code capacity} counters, the smallest counter is handed to a new id when
+ * full), so memory stays fixed regardless of how many ids are seen. Buckets that fall out of
+ * the window are reset and reused, and a ranking is the sum of the live buckets. Counts can
+ * be overestimated by at most the smallest counter of each bucket, and only for ids near the
+ * bottom of a full bucket.
+ */
+public class WindowedTopK {
+
+    private final long bucketMillis;
+    private final Bucket[] buckets;
+    private final int capacity;
+    private final long refreshMillis;
+
+    private List<Entry> ranking;
+    private long rankingEpoch = Long.MIN_VALUE;
+    private long rankingBuiltAt;
+    private boolean dirty = true;
+
+    /**
+     * @param refreshMillis how long a merged ranking may be served after new hits arrive
+     */
+    public WindowedTopK(long bucketMillis, int bucketCount, int capacity, long refreshMillis) {
+        if (bucketMillis <= 0 || bucketCount <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("Bucket width, bucket count and capacity must be positive");
+        }
+        this.bucketMillis = bucketMillis;
+        this.capacity = capacity;
+        this.refreshMillis = refreshMillis;
+        this.buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    /**
+     * Adds {@code count} hits for {@code id} at {@code timeMillis}. Hits older than the window
+     * (relative to the newest bucket already seen in that slot) are ignored.
+     */
+    public synchronized void add(long id, long timeMillis, long count) {
+        long epoch = Math.floorDiv(timeMillis, bucketMillis);
+        Bucket bucket = buckets[(int) Math.floorMod(epoch, (long) buckets.length)];
+        if (bucket.epoch > epoch) {
+            return;
+        }
+        if (bucket.epoch < epoch) {
+            bucket.reset(epoch);
+        }
+        bucket.offer(id, count, capacity);
+        dirty = true;
+    }
+
+    /**
+     * Ids in the window ending at {@code nowMillis}, highest count first (ties by id). The
+     * merged list is rebuilt when the window slides to a new bucket, or when hits arrived and
+     * it is older than {@code refreshMillis}.
+     */
+    public synchronized List<Entry> ranking(long nowMillis) {
+        long nowEpoch = Math.floorDiv(nowMillis, bucketMillis);
+        if (ranking != null && rankingEpoch == nowEpoch
+                && (!dirty || nowMillis - rankingBuiltAt < refreshMillis)) {
+            return ranking;
+        }
+        long oldest = nowEpoch - buckets.length + 1;
+        Map<Long, Long> totals = new HashMap<>();
+        for (Bucket bucket : buckets) {
+            if (bucket.epoch >= oldest && bucket.epoch <= nowEpoch) {
+                bucket.counts.forEach((id, count) -> totals.merge(id, count, Long::sum));
+            }
+        }
+        List<Entry> merged = new ArrayList<>(totals.size());
+        totals.forEach((id, count) -> merged.add(new Entry(id, count)));
+        merged.sort(Comparator.comparingLong(Entry::getCount).reversed().thenComparingLong(Entry::getId));
+        ranking = List.copyOf(merged);
+        rankingEpoch = nowEpoch;
+        rankingBuiltAt = nowMillis;
+        dirty = false;
+        return ranking;
+    }
+
+    private static class Bucket {
+        long epoch = Long.MIN_VALUE;
+        final Map<Long, Long> counts = new HashMap<>();
+
+        void reset(long epoch) {
+            this.epoch = epoch;
+            counts.clear();
+        }
+
+        void offer(long id, long count, int capacity) {
+            Long current = counts.get(id);
+            if (current != null) {
+                counts.put(id, current + count);
+                return;
+            }
+            if (counts.size() < capacity) {
+                counts.put(id, count);
+                return;
+            }
+            // Space-Saving: the newcomer takes over the smallest counter and inherits its count.
+            Long minId = null;
+            long min = Long.MAX_VALUE;
+            for (Map.Entry<Long, Long> e : counts.entrySet()) {
+                if (e.getValue() < min) {
+                    min = e.getValue();
+                    minId = e.getKey();
+                }
+            }
+            counts.remove(minId);
+            counts.put(id, min + count);
+        }
+    }
+
+    public static class Entry {
+        private final long id;
+        private final long count;
+
+        public Entry(long id, long count) {
+            this.id = id;
+            this.count = count;
+        }
+
+        public long getId() { return id; }
+        public long getCount() { return count; }
+    }
+}
@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import jakarta.transaction.Transactional;
@@ -17,6 +18,8 @@ import tarabaho.tarabaho.entity.CategoryRequest;
 import tarabaho.tarabaho.entity.Certificate;
 import tarabaho.tarabaho.entity.Graduate;
 import tarabaho.tarabaho.entity.User;
+import tarabaho.tarabaho.event.CategoryChangedEvent;
+import tarabaho.tarabaho.event.GraduateChangedEvent;
 import tarabaho.tarabaho.repository.AdminRepository;
 import tarabaho.tarabaho.repository.CategoryRepository;
 import tarabaho.tarabaho.repository.CategoryRequestRepository;
@@ -50,6 +53,9 @@ public class AdminService {
     @Autowired
     private PasswordEncoderService passwordEncoderService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<Admin> getAllAdmins() {
         return adminRepository.findAll();
     }
@@ -223,6 +229,7 @@ public class AdminService {
         }
 
         Graduate updatedGraduate = graduateRepository.save(existingGraduate);
+        eventPublisher.publishEvent(new GraduateChangedEvent(id));
         System.out.println("AdminService: Graduate ID: " + id + " saved successfully");
         return updatedGraduate;
     }
@@ -245,7 +252,9 @@ public class AdminService {
         }
         graduate.setCategories(currentCategories);
 
-        return graduateRepository.save(graduate);
+        Graduate savedGraduate = graduateRepository.save(graduate);
+        eventPublisher.publishEvent(new GraduateChangedEvent(graduateId));
+        return savedGraduate;
     }
 
     public List<Certificate> getCertificatesByGraduateId(Long graduateId) {
@@ -257,7 +266,46 @@ public class AdminService {
             throw new Exception("Graduate not found with id: " + id);
         }
         graduateRepository.deleteById(id);
+        eventPublisher.publishEvent(new GraduateChangedEvent(id));
+    }
+    @Transactional
+    public Category createCategory(Category category) {
+        String name = checkCategoryName(category.getName(), null);
+        Category created = new Category();
+        created.setName(name);
+        created.setIconUrl(category.getIconUrl());
+        created.setBannerUrl(category.getBannerUrl());
+        created.setTagline(category.getTagline());
+        Category saved = categoryRepository.save(created);
+        eventPublisher.publishEvent(new CategoryChangedEvent(saved.getId()));
+        return saved;
+    }
+
+    // Renames or edits a category; graduates and requests keep pointing at it by id.
+    @Transactional
+    public Category updateCategory(Long id, Category category) {
+        Category existing = categoryRepository.findById(id)
+            .orElseThrow(() -> new IllegalArgumentException("Category not found with ID: " + id));
+        existing.setName(checkCategoryName(category.getName(), id));
+        existing.setIconUrl(category.getIconUrl());
+        existing.setBannerUrl(category.getBannerUrl());
+        existing.setTagline(category.getTagline());
+        Category saved = categoryRepository.save(existing);
+        eventPublisher.publishEvent(new CategoryChangedEvent(id));
+        return saved;
+    }
+
+    private String checkCategoryName(String name, Long id) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Category name is required.");
+        }
+        Category sameName = categoryRepository.findByName(name.trim());
+        if (sameName != null && !sameName.getId().equals(id)) {
+            throw new IllegalArgumentException("A category named " + name.trim() + " already exists.");
+        }
+        return name.trim();
     }
+
     // NEW: Method to retrieve all pending category requests
     public List<CategoryRequest> getPendingCategoryRequests() {
         return categoryRequestRepository.findByStatus("PENDING");
@@ -278,6 +326,7 @@ public class AdminService {
         }
         graduate.getCategories().add(category);
         graduateRepository.save(graduate);
+        eventPublisher.publishEvent(new GraduateChangedEvent(graduate.getId()));
         request.setStatus("APPROVED");
         categoryRequestRepository.save(request);
     }
@@ -1,12 +1,14 @@
 package tarabaho.tarabaho.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import tarabaho.tarabaho.entity.AwardRecognition;
 import tarabaho.tarabaho.entity.Graduate;
 import tarabaho.tarabaho.entity.Portfolio;
 import tarabaho.tarabaho.entity.Visibility;
+import tarabaho.tarabaho.event.PortfolioChangedEvent;
 import tarabaho.tarabaho.repository.AwardRecognitionRepository;
 import tarabaho.tarabaho.repository.GraduateRepository;
 import tarabaho.tarabaho.repository.PortfolioRepository;
@@ -24,6 +26,9 @@ public class AwardRecognitionService {
     @Autowired
     private GraduateRepository graduateRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Transactional
     public AwardRecognition saveAwardRecognition(Long portfolioId, AwardRecognition award, String username) {
         Portfolio portfolio = portfolioRepository.findById(portfolioId)
@@ -33,7 +38,9 @@ public class AwardRecognitionService {
             throw new IllegalArgumentException("Access denied: User does not own this portfolio.");
         }
         award.setPortfolio(portfolio);
-        return awardRecognitionRepository.save(award);
+        AwardRecognition saved = awardRecognitionRepository.save(award);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
+        return saved;
     }
 
     public List<AwardRecognition> getAwardRecognitionsByPortfolioId(Long portfolioId, String username) {
@@ -58,7 +65,9 @@ public class AwardRecognitionService {
         existingAward.setTitle(updatedAward.getTitle());
         existingAward.setIssuer(updatedAward.getIssuer());
         existingAward.setDateReceived(updatedAward.getDateReceived());
-        return awardRecognitionRepository.save(existingAward);
+        AwardRecognition saved = awardRecognitionRepository.save(existingAward);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
+        return saved;
     }
 
     @Transactional
@@ -71,6 +80,7 @@ public class AwardRecognitionService {
             throw new IllegalArgumentException("Access denied: User does not own this portfolio.");
         }
         awardRecognitionRepository.delete(award);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
     }
     @Transactional
     public List<AwardRecognition> replaceAwardRecognitions(Long portfolioId, List<AwardRecognition> awards, String username) {
@@ -86,6 +96,8 @@ public class AwardRecognitionService {
         awardRecognitionRepository.deleteByPortfolioId(portfolioId);
         // Save new awards
         awards.forEach(award -> award.setPortfolio(portfolio));
-        return awardRecognitionRepository.saveAll(awards);
+        List<AwardRecognition> saved = awardRecognitionRepository.saveAll(awards);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
+        return saved;
     }
 }
\ No newline at end of file
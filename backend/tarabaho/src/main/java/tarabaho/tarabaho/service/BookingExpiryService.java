@@ -0,0 +1,143 @@
+package tarabaho.tarabaho.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import tarabaho.tarabaho.entity.Booking;
+import tarabaho.tarabaho.entity.BookingStatus;
+import tarabaho.tarabaho.entity.BookingType;
+import tarabaho.tarabaho.event.BookingStatusChangedEvent;
+import tarabaho.tarabaho.repository.BookingRepository;
+
+/**
+ * Moves bookings left PENDING past their deadline to EXPIRED.
+ *
+ * Deadlines live in a hashed timer wheel: a booking is scheduled when its creation event
+ * commits and unscheduled when it leaves PENDING, and each tick only visits the slot it
+ * reaches. Due bookings are expired with one conditional UPDATE per batch (still PENDING
+ * only, so a late accept wins) and a status event is published for each, so dispatch
+ * retractions, registries and streams react as for any other transition. The wheel is
+ * rebuilt from the PENDING bookings on startup; there is no periodic table sweep.
+ */
+@Service
+public class BookingExpiryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingExpiryService.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${booking.expiry.urgent-minutes:30}")
+    private long urgentMinutes;
+
+    @Value("${booking.expiry.category-minutes:1440}")
+    private long categoryMinutes;
+
+    @Value("${booking.expiry.tick-ms:5000}")
+    private long tickMillis;
+
+    @Value("${booking.expiry.wheel-slots:4096}")
+    private int wheelSlots;
+
+    private TimerWheel wheel;
+
+    @PostConstruct
+    void init() {
+        wheel = new TimerWheel(wheelSlots, tickMillis, System.currentTimeMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPendingBookings() {
+        int[] count = new int[1];
+        jdbcTemplate.query("SELECT id, type, created_at FROM bookings WHERE status = 'PENDING'", rs -> {
+            BookingType type = BookingType.valueOf(rs.getString(2));
+            schedule(rs.getLong(1), type, rs.getTimestamp(3).toLocalDateTime());
+            count[0]++;
+        });
+        logger.info("Booking expiry wheel loaded with {} pending bookings", count[0]);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        if (event.getNewStatus() == BookingStatus.PENDING) {
+            schedule(event.getBookingId(), event.getType(), event.getCreatedAt());
+        } else if (event.getPreviousStatus() == BookingStatus.PENDING) {
+            wheel.cancel(event.getBookingId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.expiry.tick-ms:5000}")
+    public void tick() {
+        List<Long> due = wheel.advance(System.currentTimeMillis());
+        for (int from = 0; from < due.size(); from += BATCH_SIZE) {
+            List<Long> batch = due.subList(from, Math.min(from + BATCH_SIZE, due.size()));
+            try {
+                expire(batch);
+            } catch (RuntimeException e) {
+                // Put them back so the next tick retries instead of losing the deadline.
+                long retryAt = System.currentTimeMillis();
+                batch.forEach(id -> wheel.schedule(id, retryAt));
+                logger.error("Expiring {} bookings failed: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+
+    private void schedule(Long bookingId, BookingType type, LocalDateTime createdAt) {
+        long minutes = type == BookingType.URGENT ? urgentMinutes : categoryMinutes;
+        long deadline = createdAt.plusMinutes(minutes).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        wheel.schedule(bookingId, deadline);
+    }
+
+    private void expire(List<Long> bookingIds) {
+        int expired = transactionTemplate.execute(status -> {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            String placeholders = String.join(",", Collections.nCopies(bookingIds.size(), "?"));
+            List<Object> args = new ArrayList<>();
+            args.add(now);
+            args.addAll(bookingIds);
+            List<Long> updated = jdbcTemplate.queryForList(
+                "UPDATE bookings SET status = 'EXPIRED', updated_at = ? " +
+                "WHERE status = 'PENDING' AND id IN (" + placeholders + ") RETURNING id",
+                Long.class, args.toArray());
+            if (!updated.isEmpty()) {
+                for (Booking booking : bookingRepository.findAllById(updated)) {
+                    eventPublisher.publishEvent(BookingStatusChangedEvent.of(booking, BookingStatus.PENDING));
+                }
+            }
+            return updated.size();
+        });
+        if (expired > 0) {
+            logger.info("Expired {} pending bookings", expired);
+        }
+    }
+}
@@ -5,8 +5,18 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import tarabaho.tarabaho.dto.BookingCursor;
+import tarabaho.tarabaho.dto.BookingSummary;
+import tarabaho.tarabaho.dto.BookingSummaryPage;
 import tarabaho.tarabaho.entity.Booking;
 import tarabaho.tarabaho.entity.BookingStatus;
 import tarabaho.tarabaho.entity.BookingType;
@@ -15,6 +25,7 @@ import tarabaho.tarabaho.entity.PaymentConfirmationStatus;
 import tarabaho.tarabaho.entity.PaymentMethod;
 import tarabaho.tarabaho.entity.User;
 import tarabaho.tarabaho.entity.Graduate;
+import tarabaho.tarabaho.event.BookingStatusChangedEvent;
 import tarabaho.tarabaho.repository.BookingRepository;
 import tarabaho.tarabaho.repository.CategoryRepository;
 import tarabaho.tarabaho.repository.UserRepository;
@@ -23,6 +34,12 @@ import tarabaho.tarabaho.repository.GraduateRepository;
 @Service
 public class BookingService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+
+    // Open bounds for the optional list filters, so the page queries need no null handling.
+    private static final LocalDateTime MIN_TIME = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_TIME = LocalDateTime.of(9999, 1, 1, 0, 0);
+
     @Autowired
     private BookingRepository bookingRepository;
 
@@ -35,6 +52,52 @@ public class BookingService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private BusyGraduateRegistry busyGraduateRegistry;
+
+    @Autowired
+    private UrgentCascadeService urgentCascadeService;
+
+    @Autowired
+    private GraduateResponseTimeService graduateResponseTimeService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Every status change publishes a BookingStatusChangedEvent so listeners (dispatch,
+    // registries) see it after commit. New bookings are inserted; the partial unique index
+    // ux_bookings_user_active rejects a second active booking for the same user even when two
+    // requests pass the existing-booking check at once.
+    private Booking saveNewBooking(Booking booking) throws Exception {
+        Booking savedBooking;
+        try {
+            savedBooking = bookingRepository.save(booking);
+        } catch (DataIntegrityViolationException e) {
+            throw new Exception("User already has an active or pending booking");
+        }
+        eventPublisher.publishEvent(BookingStatusChangedEvent.of(savedBooking, null));
+        return savedBooking;
+    }
+
+    // Status changes are single conditional UPDATEs (WHERE id = ? AND status = ?): of two
+    // concurrent requests exactly one matches, and no row lock is taken before the write.
+    private Booking transition(Booking booking, BookingStatus from, BookingStatus to) throws Exception {
+        int updated = bookingRepository.transition(booking.getId(), from, to, LocalDateTime.now());
+        return afterUpdate(booking, updated, from);
+    }
+
+    private Booking afterUpdate(Booking booking, int updated, BookingStatus previousStatus) throws Exception {
+        if (updated == 0) {
+            throw new Exception("Booking was changed by another request and is no longer " + previousStatus);
+        }
+        entityManager.refresh(booking);
+        eventPublisher.publishEvent(BookingStatusChangedEvent.of(booking, previousStatus));
+        return booking;
+    }
+
     public Booking createUrgentBooking(Long userId, String categoryName, Double latitude, Double longitude, Double radius, String paymentMethod, String jobDetails) throws Exception {
         User user = userRepository.findById(userId)
             .orElseThrow(() -> new Exception("User not found"));
@@ -65,7 +128,7 @@ public class BookingService {
         booking.setJobDetails(jobDetails);
         booking.setCreatedAt(LocalDateTime.now());
 
-        return bookingRepository.save(booking);
+        return saveNewBooking(booking);
     }
 
     public Booking createCategoryBooking(Long userId, Long graduateId, String categoryName, String paymentMethod, String jobDetails) throws Exception {
@@ -102,9 +165,10 @@ public class BookingService {
         booking.setJobDetails(jobDetails);
         booking.setCreatedAt(LocalDateTime.now());
 
-        return bookingRepository.save(booking);
+        return saveNewBooking(booking);
     }
 
+    @Transactional(rollbackFor = Exception.class)
     public Booking acceptBooking(Long bookingId, Long graduateId) throws Exception {
         Booking booking = bookingRepository.findById(bookingId)
             .orElseThrow(() -> new Exception("Booking not found"));
@@ -114,6 +178,8 @@ public class BookingService {
         if (booking.getType() == BookingType.URGENT && booking.getGraduate() != null) {
             throw new Exception("Urgent booking already assigned");
         }
+        LocalDateTime offeredAt = booking.getType() == BookingType.URGENT
+            ? urgentCascadeService.offerFor(bookingId, graduateId) : null;
         if (booking.getType() == BookingType.CATEGORY && !graduate.equals(booking.getGraduate())) {
             throw new Exception("Graduate not assigned to this booking");
         }
@@ -124,12 +190,14 @@ public class BookingService {
             throw new Exception("Graduate is not available");
         }
 
-        booking.setGraduate(graduate);
-        booking.setStatus(BookingStatus.ACCEPTED);
-        booking.setUpdatedAt(LocalDateTime.now());
-        return bookingRepository.save(booking);
+        LocalDateTime now = LocalDateTime.now();
+        int updated = bookingRepository.accept(bookingId, graduate, offeredAt, now);
+        afterUpdate(booking, updated, BookingStatus.PENDING);
+        graduateResponseTimeService.record(graduateId, offeredAt != null ? offeredAt : booking.getCreatedAt(), now);
+        return booking;
     }
 
+    @Transactional(rollbackFor = Exception.class)
     public Booking rejectBooking(Long bookingId, Long graduateId) throws Exception {
         Booking booking = bookingRepository.findById(bookingId)
             .orElseThrow(() -> new Exception("Booking not found"));
@@ -142,12 +210,22 @@ public class BookingService {
         if (booking.getStatus() != BookingStatus.PENDING) {
             throw new Exception("Booking is not pending");
         }
+        // An urgent offer being cascaded is declined for this graduate only and moves on.
+        if (booking.getType() == BookingType.URGENT && urgentCascadeService.decline(bookingId, graduateId)) {
+            return booking;
+        }
 
-        booking.setStatus(BookingStatus.REJECTED);
-        booking.setUpdatedAt(LocalDateTime.now());
-        return bookingRepository.save(booking);
+        LocalDateTime now = LocalDateTime.now();
+        int updated = bookingRepository.reject(bookingId, now);
+        afterUpdate(booking, updated, BookingStatus.PENDING);
+        // Only a graduate the booking was addressed to has a response on record.
+        if (graduate.equals(booking.getGraduate())) {
+            graduateResponseTimeService.record(graduateId, booking.getCreatedAt(), now);
+        }
+        return booking;
     }
 
+    @Transactional(rollbackFor = Exception.class)
     public Booking cancelBooking(Long bookingId, Long userId) throws Exception {
         Booking booking = bookingRepository.findById(bookingId)
             .orElseThrow(() -> new Exception("Booking not found"));
@@ -161,11 +239,10 @@ public class BookingService {
             throw new Exception("Only pending bookings can be cancelled");
         }
 
-        booking.setStatus(BookingStatus.CANCELLED);
-        booking.setUpdatedAt(LocalDateTime.now());
-        return bookingRepository.save(booking);
+        return transition(booking, BookingStatus.PENDING, BookingStatus.CANCELLED);
     }
 
+    @Transactional(rollbackFor = Exception.class)
     public Booking startBooking(Long bookingId, Long userId) throws Exception {
         Booking booking = bookingRepository.findById(bookingId)
             .orElseThrow(() -> new Exception("Booking not found"));
@@ -179,11 +256,10 @@ public class BookingService {
             throw new Exception("Booking must be accepted to start");
         }
 
-        booking.setStatus(BookingStatus.IN_PROGRESS);
-        booking.setUpdatedAt(LocalDateTime.now());
-        return bookingRepository.save(booking);
+        return transition(booking, BookingStatus.ACCEPTED, BookingStatus.IN_PROGRESS);
     }
 
+    @Transactional(rollbackFor = Exception.class)
     public Booking completeBooking(Long bookingId, Long graduateId, Double amount) throws Exception {
         Booking booking = bookingRepository.findById(bookingId)
             .orElseThrow(() -> new Exception("Booking not found"));
@@ -198,16 +274,13 @@ public class BookingService {
         }
 
         // Remove the amount validation; allow amount to be 0.0 or null
-        booking.setStatus(BookingStatus.WORKER_COMPLETED);
-        booking.setPaymentConfirmationStatus(PaymentConfirmationStatus.PENDING);
         // Optionally set the amount if provided (not required at this stage)
-        if (amount != null && amount > 0) {
-            booking.setAmount(amount);
-        }
-        booking.setUpdatedAt(LocalDateTime.now());
-        return bookingRepository.save(booking);
+        Double newAmount = amount != null && amount > 0 ? amount : null;
+        int updated = bookingRepository.markWorkerCompleted(bookingId, newAmount, LocalDateTime.now());
+        return afterUpdate(booking, updated, BookingStatus.IN_PROGRESS);
     }
 
+    @Transactional(rollbackFor = Exception.class)
     public Booking confirmPayment(Long bookingId, Long graduateId, Double amount) throws Exception {
         Booking booking = bookingRepository.findById(bookingId)
             .orElseThrow(() -> new Exception("Booking not found"));
@@ -227,12 +300,14 @@ public class BookingService {
             throw new Exception("Invalid amount provided");
         }
 
-        booking.setAmount(amount);
-        booking.setPaymentConfirmationStatus(PaymentConfirmationStatus.CONFIRMED);
-        booking.setUpdatedAt(LocalDateTime.now());
-        return bookingRepository.save(booking);
+        if (bookingRepository.confirmPayment(bookingId, amount, LocalDateTime.now()) == 0) {
+            throw new Exception("Payment was already confirmed by another request");
+        }
+        entityManager.refresh(booking);
+        return booking;
     }
 
+    @Transactional(rollbackFor = Exception.class)
     public Booking acceptCompletion(Long bookingId, Long userId) throws Exception {
         Booking booking = bookingRepository.findById(bookingId)
             .orElseThrow(() -> new Exception("Booking not found"));
@@ -250,9 +325,7 @@ public class BookingService {
         //     throw new Exception("Payment must be confirmed by graduate before accepting completion");
         // }
 
-        booking.setStatus(BookingStatus.COMPLETED);
-        booking.setUpdatedAt(LocalDateTime.now());
-        return bookingRepository.save(booking);
+        return transition(booking, BookingStatus.WORKER_COMPLETED, BookingStatus.COMPLETED);
     }
 
     public List<Booking> getUserBookings(Long userId) throws Exception {
@@ -267,13 +340,34 @@ public class BookingService {
         return bookingRepository.findByGraduate(graduate);
     }
 
+    /**
+     * One page of a user's bookings, newest first, as flat summaries. {@code statuses},
+     * {@code from} (inclusive), {@code to} (exclusive) and {@code after} (the previous page's
+     * nextCursor) are optional.
+     */
+    public BookingSummaryPage getUserBookingPage(Long userId, List<BookingStatus> statuses, LocalDateTime from,
+            LocalDateTime to, String after, int limit) {
+        PageQuery query = new PageQuery(statuses, from, to, after, limit);
+        return query.page(bookingRepository.findUserSummaries(userId, query.statuses, query.from, query.to,
+            query.afterCreatedAt, query.afterId, query.pageable));
+    }
+
+    /**
+     * One page of a graduate's bookings; see {@link #getUserBookingPage}.
+     */
+    public BookingSummaryPage getGraduateBookingPage(Long graduateId, List<BookingStatus> statuses, LocalDateTime from,
+            LocalDateTime to, String after, int limit) {
+        PageQuery query = new PageQuery(statuses, from, to, after, limit);
+        return query.page(bookingRepository.findGraduateSummaries(graduateId, query.statuses, query.from, query.to,
+            query.afterCreatedAt, query.afterId, query.pageable));
+    }
+
     public List<Booking> getPendingUrgentBookings() {
         return bookingRepository.findByStatuses(Arrays.asList(BookingStatus.PENDING));
     }
 
     private boolean isGraduateAvailable(Graduate graduate) {
-        List<Booking> activeBookings = bookingRepository.findActiveBookingsByGraduate(graduate);
-        return activeBookings.isEmpty();
+        return !busyGraduateRegistry.isBusy(graduate.getId());
     }
 
     public Booking getBookingById(Long bookingId) throws Exception {
@@ -281,6 +375,7 @@ public class BookingService {
             .orElseThrow(() -> new Exception("Booking not found"));
     }
 
+    @Transactional(rollbackFor = Exception.class)
     public Booking markBookingInProgress(Long bookingId, Long userId) throws Exception {
         Booking booking = bookingRepository.findById(bookingId)
             .orElseThrow(() -> new Exception("Booking not found"));
@@ -294,8 +389,41 @@ public class BookingService {
             throw new Exception("Only bookings marked as WORKER_COMPLETED can be reverted to IN_PROGRESS");
         }
 
-        booking.setStatus(BookingStatus.IN_PROGRESS);
-        booking.setUpdatedAt(LocalDateTime.now());
-        return bookingRepository.save(booking);
+        return transition(booking, BookingStatus.WORKER_COMPLETED, BookingStatus.IN_PROGRESS);
+    }
+
+    // Normalised filters for the keyset page queries. One extra row is fetched to tell
+    // whether a next page exists.
+    private static class PageQuery {
+        final List<BookingStatus> statuses;
+        final LocalDateTime from;
+        final LocalDateTime to;
+        final LocalDateTime afterCreatedAt;
+        final Long afterId;
+        final int limit;
+        final PageRequest pageable;
+
+        PageQuery(List<BookingStatus> statuses, LocalDateTime from, LocalDateTime to, String after, int limit) {
+            if (limit < 1 || limit > MAX_PAGE_SIZE) {
+                throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+            }
+            BookingCursor cursor = after == null || after.isBlank() ? null : BookingCursor.decode(after);
+            this.statuses = statuses == null || statuses.isEmpty() ? Arrays.asList(BookingStatus.values()) : statuses;
+            this.from = from != null ? from : MIN_TIME;
+            this.to = to != null ? to : MAX_TIME;
+            this.afterCreatedAt = cursor != null ? cursor.getCreatedAt() : MAX_TIME;
+            this.afterId = cursor != null ? cursor.getBookingId() : Long.MAX_VALUE;
+            this.limit = limit;
+            this.pageable = PageRequest.of(0, limit + 1);
+        }
+
+        BookingSummaryPage page(List<BookingSummary> rows) {
+            if (rows.size() <= limit) {
+                return new BookingSummaryPage(rows, null);
+            }
+            List<BookingSummary> results = rows.subList(0, limit);
+            BookingSummary last = results.get(limit - 1);
+            return new BookingSummaryPage(results, new BookingCursor(last.getCreatedAt(), last.getId()).encode());
+        }
     }
-}
\ No newline at end of file
+}
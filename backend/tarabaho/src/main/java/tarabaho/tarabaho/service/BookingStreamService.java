@@ -0,0 +1,290 @@
+package tarabaho.tarabaho.service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import tarabaho.tarabaho.dto.BookingStatusMessage;
+import tarabaho.tarabaho.event.BookingStatusChangedEvent;
+
+/**
+ * Server-Sent Events fan-out of booking status changes to the booking's user and graduate,
+ * replacing clients polling {@code /api/booking/{id}/status}.
+ *
+ * Every committed {@link BookingStatusChangedEvent} is appended to a fixed-size ring buffer
+ * and the open streams of both parties are told to catch up. Event ids are
+ * {@code <startedAt>-<seq>}; a client reconnecting with {@code Last-Event-ID} gets the events
+ * it missed from the ring, or a {@code resync} event when they are no longer there (or the
+ * server restarted) and it should reload its bookings. Parties are keyed by role and id
+ * because users and graduates live in separate tables.
+ *
+ * Only the ring append is done under the service lock. Sending happens on a small executor,
+ * so a slow client never holds up the committing request: each stream remembers the last
+ * sequence it was sent and replays the ring from there under its own lock, which keeps its
+ * events in order and without gaps whichever task gets there first.
+ */
+@Service
+public class BookingStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BookingStreamService.class);
+
+    public static final String STATUS_EVENT = "booking-status";
+    public static final String RESYNC_EVENT = "resync";
+
+    private final long startedAt = System.currentTimeMillis();
+    private final Map<String, Set<Client>> clients = new ConcurrentHashMap<>();
+
+    @Value("${booking.stream.buffer-size:1024}")
+    private int bufferSize;
+
+    @Value("${booking.stream.timeout-ms:1800000}")
+    private long timeoutMillis;
+
+    @Value("${booking.stream.send-threads:4}")
+    private int sendThreads;
+
+    private Entry[] ring;
+    private long nextSeq = 1;
+    private ExecutorService sender;
+
+    @PostConstruct
+    void init() {
+        ring = new Entry[bufferSize];
+        sender = Executors.newFixedThreadPool(Math.max(sendThreads, 1));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sender.shutdownNow();
+    }
+
+    public static String userKey(Long userId) {
+        return "USER:" + userId;
+    }
+
+    public static String graduateKey(Long graduateId) {
+        return "GRADUATE:" + graduateId;
+    }
+
+    /**
+     * Opens a stream for {@code party} and replays what it missed after {@code lastEventId}.
+     */
+    public SseEmitter subscribe(String party, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Client client;
+        boolean resync = false;
+        synchronized (this) {
+            long lastSeq = nextSeq - 1;
+            if (lastEventId != null && !lastEventId.isBlank()) {
+                long requested = parseSeq(lastEventId);
+                if (isReplayable(requested)) {
+                    lastSeq = requested;
+                } else {
+                    resync = true;
+                }
+            }
+            client = new Client(party, emitter, lastSeq);
+            clients.compute(party, (key, partyClients) -> {
+                Set<Client> streams = partyClients != null ? partyClients : new CopyOnWriteArraySet<>();
+                streams.add(client);
+                return streams;
+            });
+            emitter.onCompletion(() -> remove(client));
+            emitter.onTimeout(() -> remove(client));
+            emitter.onError(error -> remove(client));
+        }
+        if (resync) {
+            sendResync(client);
+        }
+        deliver(client);
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        List<Client> targets = new ArrayList<>();
+        synchronized (this) {
+            long seq = nextSeq++;
+            Entry entry = new Entry(seq, parties(event), BookingStatusMessage.from(event));
+            ring[(int) (seq % ring.length)] = entry;
+            for (String party : entry.parties) {
+                Set<Client> partyClients = clients.get(party);
+                if (partyClients != null) {
+                    targets.addAll(partyClients);
+                }
+            }
+        }
+        for (Client client : targets) {
+            sender.execute(() -> deliver(client));
+        }
+    }
+
+    /**
+     * Keeps idle streams open through proxies and drops the ones whose client went away.
+     */
+    @Scheduled(fixedDelayString = "${booking.stream.heartbeat-ms:20000}")
+    public void heartbeat() {
+        for (Set<Client> partyClients : clients.values()) {
+            for (Client client : partyClients) {
+                sender.execute(() -> ping(client));
+            }
+        }
+    }
+
+    // Sends the client every ring entry for its party after the last one it was sent.
+    private void deliver(Client client) {
+        synchronized (client) {
+            if (client.closed) {
+                return;
+            }
+            List<Entry> pending = new ArrayList<>();
+            boolean resync = false;
+            synchronized (this) {
+                if (!isReplayable(client.lastSeq)) {
+                    // Fell further behind than the ring holds.
+                    resync = true;
+                } else {
+                    for (long seq = client.lastSeq + 1; seq < nextSeq; seq++) {
+                        Entry entry = ring[(int) (seq % ring.length)];
+                        if (entry != null && entry.seq == seq && entry.parties.contains(client.party)) {
+                            pending.add(entry);
+                        }
+                    }
+                }
+                client.lastSeq = nextSeq - 1;
+            }
+            if (resync) {
+                sendResync(client);
+                return;
+            }
+            for (Entry entry : pending) {
+                try {
+                    client.emitter.send(SseEmitter.event()
+                        .id(startedAt + "-" + entry.seq)
+                        .name(STATUS_EVENT)
+                        .data(entry.message));
+                } catch (IOException | IllegalStateException e) {
+                    close(client, e);
+                    return;
+                }
+            }
+            if (pending.size() > 1) {
+                logger.debug("Sent {} booking events to {}", pending.size(), client.party);
+            }
+        }
+    }
+
+    private void sendResync(Client client) {
+        synchronized (client) {
+            try {
+                client.emitter.send(SseEmitter.event().name(RESYNC_EVENT).data("{}"));
+            } catch (IOException | IllegalStateException e) {
+                close(client, e);
+            }
+        }
+    }
+
+    private void ping(Client client) {
+        synchronized (client) {
+            if (client.closed) {
+                return;
+            }
+            try {
+                client.emitter.send(SseEmitter.event().comment("ping"));
+            } catch (IOException | IllegalStateException e) {
+                close(client, e);
+            }
+        }
+    }
+
+    private void close(Client client, Exception e) {
+        client.closed = true;
+        remove(client);
+        client.emitter.completeWithError(e);
+    }
+
+    // Unmaps the party with its last stream, atomically with the add in subscribe(),
+    // so a reconnecting client is never added to a set that is no longer in the map.
+    private void remove(Client client) {
+        clients.computeIfPresent(client.party, (party, partyClients) -> {
+            partyClients.remove(client);
+            return partyClients.isEmpty() ? null : partyClients;
+        });
+    }
+
+    // Whether every event after lastSeq is still in the ring. Caller holds the service lock.
+    private boolean isReplayable(long lastSeq) {
+        long oldestSeq = Math.max(1, nextSeq - ring.length);
+        return lastSeq >= oldestSeq - 1 && lastSeq < nextSeq;
+    }
+
+    // -1 when the id is malformed or was issued before the last restart.
+    private long parseSeq(String lastEventId) {
+        int separator = lastEventId.indexOf('-');
+        if (separator < 0) {
+            return -1;
+        }
+        try {
+            if (Long.parseLong(lastEventId.substring(0, separator)) != startedAt) {
+                return -1;
+            }
+            return Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static Set<String> parties(BookingStatusChangedEvent event) {
+        Set<String> parties = new HashSet<>();
+        if (event.getUserId() != null) {
+            parties.add(userKey(event.getUserId()));
+        }
+        if (event.getGraduateId() != null) {
+            parties.add(graduateKey(event.getGraduateId()));
+        }
+        return parties;
+    }
+
+    private static class Client {
+        final String party;
+        final SseEmitter emitter;
+        long lastSeq;
+        volatile boolean closed;
+
+        Client(String party, SseEmitter emitter, long lastSeq) {
+            this.party = party;
+            this.emitter = emitter;
+            this.lastSeq = lastSeq;
+        }
+    }
+
+    private static class Entry {
+        final long seq;
+        final Set<String> parties;
+        final BookingStatusMessage message;
+
+        Entry(long seq, Set<String> parties, BookingStatusMessage message) {
+            this.seq = seq;
+            this.parties = parties;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package tarabaho.tarabaho.service;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import tarabaho.tarabaho.entity.BookingStatus;
+import tarabaho.tarabaho.event.BookingStatusChangedEvent;
+import tarabaho.tarabaho.repository.BookingRepository;
+
+/**
+ * Which graduates currently hold an ACCEPTED or IN_PROGRESS booking.
+ *
+ * Loaded from the bookings table at startup and then maintained from
+ * {@link BookingStatusChangedEvent}s, so availability checks no longer query bookings.
+ * Booking ids are tracked per graduate, so a graduate only becomes free once every active
+ * booking has moved on.
+ */
+@Service
+public class BusyGraduateRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusyGraduateRegistry.class);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private final Map<Long, Set<Long>> activeBookingsByGraduate = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (Object[] row : bookingRepository.findActiveBookingAssignments()) {
+            markBusy((Long) row[1], (Long) row[0]);
+        }
+        logger.info("Busy graduate registry loaded with {} graduates", activeBookingsByGraduate.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        if (event.getGraduateId() == null) {
+            return;
+        }
+        if (isActive(event.getNewStatus())) {
+            markBusy(event.getGraduateId(), event.getBookingId());
+        } else {
+            markFree(event.getGraduateId(), event.getBookingId());
+        }
+    }
+
+    public boolean isBusy(Long graduateId) {
+        return activeBookingsByGraduate.containsKey(graduateId);
+    }
+
+    private void markBusy(Long graduateId, Long bookingId) {
+        activeBookingsByGraduate.compute(graduateId, (key, bookings) -> {
+            Set<Long> updated = bookings != null ? bookings : ConcurrentHashMap.newKeySet();
+            updated.add(bookingId);
+            return updated;
+        });
+    }
+
+    private void markFree(Long graduateId, Long bookingId) {
+        activeBookingsByGraduate.computeIfPresent(graduateId, (key, bookings) -> {
+            bookings.remove(bookingId);
+            return bookings.isEmpty() ? null : bookings;
+        });
+    }
+
+    private static boolean isActive(BookingStatus status) {
+        return status == BookingStatus.ACCEPTED || status == BookingStatus.IN_PROGRESS;
+    }
+}
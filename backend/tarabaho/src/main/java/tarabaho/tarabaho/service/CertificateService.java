@@ -4,6 +4,7 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.multipart.MultipartFile;
@@ -12,6 +13,7 @@ import jakarta.transaction.Transactional;
 import tarabaho.tarabaho.entity.Certificate;
 import tarabaho.tarabaho.entity.Graduate;
 import tarabaho.tarabaho.entity.Portfolio;
+import tarabaho.tarabaho.event.PortfolioChangedEvent;
 import tarabaho.tarabaho.repository.CertificateRepository;
 import tarabaho.tarabaho.repository.GraduateRepository;
 import tarabaho.tarabaho.repository.PortfolioRepository;
@@ -31,6 +33,9 @@ public class CertificateService {
     @Autowired
     private SupabaseRestStorageService storageService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public Certificate addCertificate(
             Long graduateId,
             String courseName,
@@ -65,6 +70,7 @@ public class CertificateService {
 
         Certificate savedCertificate = certificateRepository.save(certificate);
         System.out.println("CertificateService: Certificate saved, ID: " + savedCertificate.getId());
+        publishPortfolioChanged(graduateId);
         return savedCertificate;
     }
 
@@ -126,6 +132,7 @@ public class CertificateService {
 
         Certificate updatedCertificate = certificateRepository.save(certificate);
         System.out.println("CertificateService: Certificate updated, ID: " + updatedCertificate.getId());
+        publishPortfolioChanged(graduateId);
         return updatedCertificate;
     }
 
@@ -154,6 +161,13 @@ public class CertificateService {
 
         certificateRepository.deleteById(certificateId);
         System.out.println("CertificateService: Certificate deleted, ID: " + certificateId);
+        publishPortfolioChanged(certificate.getGraduate().getId());
+    }
+
+    // Public portfolios list every certificate of the graduate, linked to the portfolio or not.
+    private void publishPortfolioChanged(Long graduateId) {
+        portfolioRepository.findByGraduateId(graduateId)
+            .ifPresent(portfolio -> eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId())));
     }
 
     @Transactional
@@ -179,6 +193,7 @@ public class CertificateService {
                 System.out.println("CertificateService: Skipped certificate ID: " + certificate.getId() + " with null or non-matching portfolio ID");
             }
         }
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolioId));
     }
 
     public Optional<Certificate> getCertificateById(Long certificateId) {
@@ -1,12 +1,14 @@
 package tarabaho.tarabaho.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import tarabaho.tarabaho.entity.ContinuingEducation;
 import tarabaho.tarabaho.entity.Graduate;
 import tarabaho.tarabaho.entity.Portfolio;
 import tarabaho.tarabaho.entity.Visibility;
+import tarabaho.tarabaho.event.PortfolioChangedEvent;
 import tarabaho.tarabaho.repository.ContinuingEducationRepository;
 import tarabaho.tarabaho.repository.GraduateRepository;
 import tarabaho.tarabaho.repository.PortfolioRepository;
@@ -24,6 +26,9 @@ public class ContinuingEducationService {
     @Autowired
     private GraduateRepository graduateRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Transactional
     public ContinuingEducation saveContinuingEducation(Long portfolioId, ContinuingEducation education, String username) {
         Portfolio portfolio = portfolioRepository.findById(portfolioId)
@@ -33,7 +38,9 @@ public class ContinuingEducationService {
             throw new IllegalArgumentException("Access denied: User does not own this portfolio.");
         }
         education.setPortfolio(portfolio);
-        return continuingEducationRepository.save(education);
+        ContinuingEducation saved = continuingEducationRepository.save(education);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
+        return saved;
     }
 
     public List<ContinuingEducation> getContinuingEducationsByPortfolioId(Long portfolioId, String username) {
@@ -58,7 +65,9 @@ public class ContinuingEducationService {
         existingEducation.setCourseName(updatedEducation.getCourseName());
         existingEducation.setInstitution(updatedEducation.getInstitution());
         existingEducation.setCompletionDate(updatedEducation.getCompletionDate());
-        return continuingEducationRepository.save(existingEducation);
+        ContinuingEducation saved = continuingEducationRepository.save(existingEducation);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
+        return saved;
     }
 
     @Transactional
@@ -71,6 +80,7 @@ public class ContinuingEducationService {
             throw new IllegalArgumentException("Access denied: User does not own this portfolio.");
         }
         continuingEducationRepository.delete(education);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
     }
     @Transactional
     public List<ContinuingEducation> replaceContinuingEducations(Long portfolioId, List<ContinuingEducation> educations, String username) {
@@ -86,6 +96,8 @@ public class ContinuingEducationService {
         continuingEducationRepository.deleteByPortfolioId(portfolioId);
         // Save new continuing educations
         educations.forEach(education -> education.setPortfolio(portfolio));
-        return continuingEducationRepository.saveAll(educations);
+        List<ContinuingEducation> saved = continuingEducationRepository.saveAll(educations);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
+        return saved;
     }
 }
\ No newline at end of file
@@ -3,12 +3,14 @@ package tarabaho.tarabaho.service;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import tarabaho.tarabaho.entity.Experience;
 import tarabaho.tarabaho.entity.Graduate;
 import tarabaho.tarabaho.entity.Portfolio;
+import tarabaho.tarabaho.event.PortfolioChangedEvent;
 import tarabaho.tarabaho.repository.ExperienceRepository;
 import tarabaho.tarabaho.repository.GraduateRepository;
 import tarabaho.tarabaho.repository.PortfolioRepository;
@@ -25,6 +27,9 @@ public class ExperienceService {
     @Autowired
     private GraduateRepository graduateRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Retrieves all experiences for a portfolio.
      * @param portfolioId Portfolio ID
@@ -74,7 +79,9 @@ public class ExperienceService {
         if (experience.getDescription() != null && experience.getDescription().length() > 1000) {
             throw new IllegalArgumentException("Description must not exceed 1000 characters.");
         }
-        return experienceRepository.save(experience);
+        Experience saved = experienceRepository.save(experience);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(experience.getPortfolio().getId()));
+        return saved;
     }
 
     /**
@@ -95,10 +102,10 @@ public class ExperienceService {
      */
     @Transactional
     public void deleteExperience(Long id) {
-        if (!experienceRepository.existsById(id)) {
-            throw new IllegalArgumentException("Experience not found with id: " + id);
-        }
-        experienceRepository.deleteById(id);
+        Experience experience = experienceRepository.findById(id)
+            .orElseThrow(() -> new IllegalArgumentException("Experience not found with id: " + id));
+        experienceRepository.delete(experience);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(experience.getPortfolio().getId()));
     }
 
     @Transactional
@@ -133,6 +140,8 @@ public class ExperienceService {
         experienceRepository.deleteByPortfolioId(portfolioId);
         // Save new experiences
         experiences.forEach(experience -> experience.setPortfolio(portfolio));
-        return experienceRepository.saveAll(experiences);
+        List<Experience> saved = experienceRepository.saveAll(experiences);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolioId));
+        return saved;
     }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package tarabaho.tarabaho.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import tarabaho.tarabaho.entity.Category;
+import tarabaho.tarabaho.entity.Graduate;
+import tarabaho.tarabaho.event.GraduateChangedEvent;
+import tarabaho.tarabaho.repository.GraduateRepository;
+import tarabaho.tarabaho.search.GraduateLocationIndex;
+
+/**
+ * Keeps the in-memory {@link GraduateLocationIndex} in sync with graduate coordinates,
+ * availability and categories.
+ */
+@Service
+public class GraduateLocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraduateLocationService.class);
+
+    @Autowired
+    private GraduateRepository graduateRepository;
+
+    private volatile GraduateLocationIndex index = new GraduateLocationIndex();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        GraduateLocationIndex rebuilt = new GraduateLocationIndex();
+        for (Graduate graduate : graduateRepository.findAllWithLocation()) {
+            put(rebuilt, graduate);
+        }
+        index = rebuilt;
+        logger.info("Graduate location index built with {} graduates in {} ms",
+            rebuilt.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onGraduateChanged(GraduateChangedEvent event) {
+        Optional<Graduate> graduate = graduateRepository.findById(event.getGraduateId());
+        if (graduate.isPresent()) {
+            put(index, graduate.get());
+        } else {
+            index.remove(event.getGraduateId());
+        }
+    }
+
+    /**
+     * Available graduates of the category within the radius (km), nearest first.
+     */
+    public List<GraduateLocationIndex.Nearby> findNearby(String categoryName, double latitude, double longitude, double radius) {
+        return index.findNearby(categoryName, latitude, longitude, radius);
+    }
+
+    private static void put(GraduateLocationIndex target, Graduate graduate) {
+        List<String> categories = graduate.getCategories().stream()
+            .map(Category::getName)
+            .collect(Collectors.toList());
+        target.put(graduate.getId(), graduate.getLatitude(), graduate.getLongitude(),
+            Boolean.TRUE.equals(graduate.getIsAvailable()), categories);
+    }
+}
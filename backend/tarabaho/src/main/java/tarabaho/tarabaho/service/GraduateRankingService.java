@@ -0,0 +1,231 @@
+package tarabaho.tarabaho.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import tarabaho.tarabaho.entity.BookingStatus;
+import tarabaho.tarabaho.entity.Graduate;
+import tarabaho.tarabaho.event.BookingStatusChangedEvent;
+import tarabaho.tarabaho.event.GraduateChangedEvent;
+
+/**
+ * Scores graduates for urgent matching and browse lists.
+ *
+ * Each graduate has a precomputed feature vector, every component in [0, 1] with higher
+ * better: smoothed stars, rating confidence (from ratingCount), response speed (from
+ * averageResponseTime), price (from hourly) and recent completion rate (finished bookings of
+ * the last {@code ranking.completion-days}). Vectors are built at startup and refreshed for
+ * one graduate on {@link GraduateChangedEvent} and on booking events that finish a booking.
+ * A request adds distance when it has a location, takes the configured weighted sum and keeps
+ * the best {@code limit} with a bounded heap instead of sorting every candidate.
+ */
+@Service
+public class GraduateRankingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraduateRankingService.class);
+
+    private static final String FEATURES_SQL =
+        "SELECT id, stars, rating_count, average_response_time, hourly FROM graduates";
+
+    private static final String COMPLETION_SQL =
+        "SELECT graduate_id, COUNT(*) FILTER (WHERE status = 'COMPLETED'), COUNT(*) FROM bookings " +
+        "WHERE graduate_id IS NOT NULL AND created_at > ? " +
+        "AND status IN ('COMPLETED', 'CANCELLED', 'REJECTED', 'EXPIRED')";
+
+    // Bayesian prior for stars: a graduate with few ratings is pulled towards PRIOR_STARS.
+    private static final double PRIOR_STARS = 3.5;
+    private static final double PRIOR_WEIGHT = 5;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${ranking.weight.distance:0.35}")
+    private double distanceWeight;
+
+    @Value("${ranking.weight.stars:0.25}")
+    private double starsWeight;
+
+    @Value("${ranking.weight.rating-count:0.10}")
+    private double ratingCountWeight;
+
+    @Value("${ranking.weight.response-time:0.10}")
+    private double responseTimeWeight;
+
+    @Value("${ranking.weight.hourly:0.10}")
+    private double hourlyWeight;
+
+    @Value("${ranking.weight.completion:0.10}")
+    private double completionWeight;
+
+    // Scales: ratings for 50% confidence, response minutes and hourly rate scored 0.5.
+    @Value("${ranking.rating-count-half:10}")
+    private double ratingCountHalf;
+
+    @Value("${ranking.response-minutes-half:15}")
+    private double responseMinutesHalf;
+
+    @Value("${ranking.hourly-half:500}")
+    private double hourlyHalf;
+
+    @Value("${ranking.completion-days:90}")
+    private int completionDays;
+
+    private final Map<Long, Features> features = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadFeatures() {
+        long start = System.currentTimeMillis();
+        Map<Long, long[]> completions = new HashMap<>();
+        jdbcTemplate.query(COMPLETION_SQL + " GROUP BY graduate_id",
+            rs -> {
+                completions.put(rs.getLong(1), new long[] { rs.getLong(2), rs.getLong(3) });
+            },
+            completionCutoff());
+        jdbcTemplate.query(FEATURES_SQL, rs -> {
+            long id = rs.getLong(1);
+            long[] completion = completions.getOrDefault(id, new long[2]);
+            features.put(id, new Features(rs.getDouble(2), rs.getInt(3), (Double) rs.getObject(4),
+                rs.getDouble(5), completion[0], completion[1]));
+        });
+        logger.info("Graduate ranking features loaded for {} graduates in {} ms",
+            features.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onGraduateChanged(GraduateChangedEvent event) {
+        refresh(event.getGraduateId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        if (event.getGraduateId() != null && isFinished(event.getNewStatus())) {
+            refresh(event.getGraduateId());
+        }
+    }
+
+    /**
+     * The best {@code limit} candidates, best first. {@code distancesKm} (with
+     * {@code radiusKm}) adds the distance term; pass {@code null} for lists without a location.
+     */
+    public List<Graduate> rank(Collection<Graduate> candidates, Map<Long, Double> distancesKm, Double radiusKm, int limit) {
+        if (candidates.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        Comparator<Scored> worstFirst = Comparator.comparingDouble((Scored s) -> s.score)
+            .thenComparing(s -> s.graduate.getId(), Comparator.reverseOrder());
+        PriorityQueue<Scored> best = new PriorityQueue<>(Math.min(limit, candidates.size()) + 1, worstFirst);
+        for (Graduate graduate : candidates) {
+            Scored scored = new Scored(graduate, score(graduate, distancesKm, radiusKm));
+            if (best.size() < limit) {
+                best.add(scored);
+            } else if (worstFirst.compare(scored, best.peek()) > 0) {
+                best.poll();
+                best.add(scored);
+            }
+        }
+        List<Graduate> ranked = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            ranked.add(best.poll().graduate);
+        }
+        Collections.reverse(ranked);
+        return ranked;
+    }
+
+    double score(Graduate graduate, Map<Long, Double> distancesKm, Double radiusKm) {
+        Features f = features.get(graduate.getId());
+        if (f == null) {
+            // Not loaded yet (e.g. registered a moment ago): score from the entity.
+            f = new Features(value(graduate.getStars()), graduate.getRatingCount() != null ? graduate.getRatingCount() : 0,
+                graduate.getAverageResponseTime(), value(graduate.getHourly()), 0, 0);
+        }
+        double score = starsWeight * f.stars
+            + ratingCountWeight * f.ratingConfidence
+            + responseTimeWeight * f.responseSpeed
+            + hourlyWeight * f.price
+            + completionWeight * f.completion;
+        if (distancesKm != null && radiusKm != null && radiusKm > 0) {
+            Double distance = distancesKm.get(graduate.getId());
+            double closeness = distance == null ? 0 : 1 - Math.min(distance / radiusKm, 1);
+            score += distanceWeight * closeness;
+        }
+        return score;
+    }
+
+    private void refresh(Long graduateId) {
+        long[] completion = jdbcTemplate.query(COMPLETION_SQL + " AND graduate_id = ? GROUP BY graduate_id",
+            (rs, rowNum) -> new long[] { rs.getLong(2), rs.getLong(3) }, completionCutoff(), graduateId)
+            .stream().findFirst().orElse(new long[2]);
+        List<Features> loaded = jdbcTemplate.query(FEATURES_SQL + " WHERE id = ?",
+            (rs, rowNum) -> new Features(rs.getDouble(2), rs.getInt(3), (Double) rs.getObject(4), rs.getDouble(5),
+                completion[0], completion[1]),
+            graduateId);
+        if (loaded.isEmpty()) {
+            features.remove(graduateId);
+        } else {
+            features.put(graduateId, loaded.get(0));
+        }
+    }
+
+    private Timestamp completionCutoff() {
+        return Timestamp.valueOf(LocalDateTime.now().minusDays(completionDays));
+    }
+
+    private static boolean isFinished(BookingStatus status) {
+        return status == BookingStatus.COMPLETED || status == BookingStatus.CANCELLED
+            || status == BookingStatus.REJECTED || status == BookingStatus.EXPIRED;
+    }
+
+    private static double value(Double value) {
+        return value != null ? value : 0.0;
+    }
+
+    private class Features {
+        final double stars;
+        final double ratingConfidence;
+        final double responseSpeed;
+        final double price;
+        final double completion;
+
+        Features(double stars, int ratingCount, Double averageResponseMinutes, double hourly,
+                 long completed, long finished) {
+            this.stars = (stars * ratingCount + PRIOR_STARS * PRIOR_WEIGHT) / (ratingCount + PRIOR_WEIGHT) / 5.0;
+            this.ratingConfidence = ratingCount / (ratingCount + ratingCountHalf);
+            // Unknown response time or rate counts as average rather than best or worst.
+            this.responseSpeed = averageResponseMinutes == null ? 0.5
+                : responseMinutesHalf / (responseMinutesHalf + Math.max(averageResponseMinutes, 0));
+            this.price = hourly <= 0 ? 0.5 : hourlyHalf / (hourlyHalf + hourly);
+            // Laplace-smoothed so a graduate with no finished bookings scores 0.5.
+            this.completion = (completed + 1.0) / (finished + 2.0);
+        }
+    }
+
+    private static class Scored {
+        final Graduate graduate;
+        final double score;
+
+        Scored(Graduate graduate, double score) {
+            this.graduate = graduate;
+            this.score = score;
+        }
+    }
+}
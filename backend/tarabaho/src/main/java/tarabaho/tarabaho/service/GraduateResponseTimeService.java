@@ -0,0 +1,141 @@
+package tarabaho.tarabaho.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import tarabaho.tarabaho.event.GraduateChangedEvent;
+
+/**
+ * Maintains {@code graduates.average_response_time} (minutes) from booking responses.
+ *
+ * Each accept or reject folds its offer-to-response latency into an exponentially weighted
+ * moving average with a single UPDATE in the booking's transaction, so no history is read.
+ * The samples are the bookings' {@code responded_at - COALESCE(offered_at, created_at)}, and
+ * a nightly job recomputes the same average from them in chunks of graduates on a small
+ * thread pool, correcting any drift (lost updates, admin edits, changed alpha).
+ */
+@Service
+public class GraduateResponseTimeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraduateResponseTimeService.class);
+
+    // A null average takes the first sample as is.
+    private static final String EWMA_UPDATE =
+        "UPDATE graduates SET average_response_time = " +
+        "COALESCE(average_response_time + ? * (? - average_response_time), ?) WHERE id = ?";
+
+    private static final String SAMPLES_SQL =
+        "SELECT graduate_id, EXTRACT(EPOCH FROM (responded_at - COALESCE(offered_at, created_at))) / 60 " +
+        "FROM bookings WHERE responded_at IS NOT NULL AND graduate_id IN (%s) " +
+        "ORDER BY graduate_id, responded_at, id";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${graduate.response-time.alpha:0.2}")
+    private double alpha;
+
+    @Value("${graduate.response-time.reconcile-chunk-size:200}")
+    private int chunkSize;
+
+    @Value("${graduate.response-time.reconcile-threads:4}")
+    private int reconcileThreads;
+
+    /**
+     * Folds one response into the graduate's average. Joins the caller's transaction.
+     */
+    public void record(Long graduateId, LocalDateTime offeredAt, LocalDateTime respondedAt) {
+        double minutes = Math.max(Duration.between(offeredAt, respondedAt).toMillis(), 0) / 60000.0;
+        jdbcTemplate.update(EWMA_UPDATE, alpha, minutes, minutes, graduateId);
+        eventPublisher.publishEvent(new GraduateChangedEvent(graduateId));
+    }
+
+    @Scheduled(cron = "${graduate.response-time.reconcile-cron:0 15 3 * * *}")
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        List<Long> graduateIds = jdbcTemplate.queryForList(
+            "SELECT DISTINCT graduate_id FROM bookings WHERE responded_at IS NOT NULL AND graduate_id IS NOT NULL " +
+            "ORDER BY graduate_id", Long.class);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(reconcileThreads, 1));
+        try {
+            List<Future<Integer>> chunks = new ArrayList<>();
+            for (int from = 0; from < graduateIds.size(); from += chunkSize) {
+                List<Long> chunk = graduateIds.subList(from, Math.min(from + chunkSize, graduateIds.size()));
+                chunks.add(executor.submit(() -> reconcileChunk(chunk)));
+            }
+            int corrected = 0;
+            for (Future<Integer> chunk : chunks) {
+                try {
+                    corrected += chunk.get();
+                } catch (Exception e) {
+                    logger.error("Response time reconciliation chunk failed: {}", e.getMessage());
+                }
+            }
+            logger.info("Response times reconciled for {} graduates ({} corrected) in {} ms",
+                graduateIds.size(), corrected, System.currentTimeMillis() - start);
+        } catch (RuntimeException e) {
+            logger.error("Response time reconciliation failed: {}", e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // Locks the chunk's graduate rows first: a concurrent record() waits and then applies its
+    // sample on top of the recomputed value, or committed before and is part of the samples.
+    private int reconcileChunk(List<Long> graduateIds) {
+        String placeholders = String.join(",", Collections.nCopies(graduateIds.size(), "?"));
+        Object[] args = graduateIds.toArray();
+        List<Long> corrected = transactionTemplate.execute(status -> {
+            Map<Long, Double> stored = new HashMap<>();
+            jdbcTemplate.query(
+                "SELECT id, average_response_time FROM graduates WHERE id IN (" + placeholders + ") ORDER BY id FOR UPDATE",
+                rs -> {
+                    stored.put(rs.getLong(1), (Double) rs.getObject(2));
+                }, args);
+            Map<Long, Double> averages = new HashMap<>();
+            jdbcTemplate.query(String.format(SAMPLES_SQL, placeholders), rs -> {
+                double minutes = Math.max(rs.getDouble(2), 0);
+                averages.merge(rs.getLong(1), minutes, (average, sample) -> average + alpha * (sample - average));
+            }, args);
+            List<Object[]> updates = new ArrayList<>();
+            List<Long> changed = new ArrayList<>();
+            averages.forEach((graduateId, average) -> {
+                Double current = stored.get(graduateId);
+                if (stored.containsKey(graduateId) && (current == null || Math.abs(current - average) > 1e-6)) {
+                    updates.add(new Object[] { average, graduateId });
+                    changed.add(graduateId);
+                }
+            });
+            if (!updates.isEmpty()) {
+                jdbcTemplate.batchUpdate("UPDATE graduates SET average_response_time = ? WHERE id = ?", updates);
+            }
+            return changed;
+        });
+        corrected.forEach(graduateId -> eventPublisher.publishEvent(new GraduateChangedEvent(graduateId)));
+        return corrected.size();
+    }
+}
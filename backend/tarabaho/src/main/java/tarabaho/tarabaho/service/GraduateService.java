@@ -1,11 +1,18 @@
 package tarabaho.tarabaho.service;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import tarabaho.tarabaho.entity.Booking;
@@ -13,10 +20,12 @@ import tarabaho.tarabaho.entity.BookingStatus;
 import tarabaho.tarabaho.entity.Category;
 import tarabaho.tarabaho.entity.CategoryRequest;
 import tarabaho.tarabaho.entity.Graduate;
+import tarabaho.tarabaho.event.GraduateChangedEvent;
 import tarabaho.tarabaho.repository.BookingRepository;
 import tarabaho.tarabaho.repository.CategoryRepository;
 import tarabaho.tarabaho.repository.CategoryRequestRepository;
 import tarabaho.tarabaho.repository.GraduateRepository;
+import tarabaho.tarabaho.search.GraduateLocationIndex;
 
 @Service
 public class GraduateService {
@@ -36,8 +45,35 @@ public class GraduateService {
     @Autowired
     private CategoryRepository categoryRepository;
 
-    public List<Graduate> getGraduatesByCategory(String categoryName) {
-        return graduateRepository.findByCategoryName(categoryName);
+    @Autowired
+    private GraduateLocationService graduateLocationService;
+
+    @Autowired
+    private BusyGraduateRegistry busyGraduateRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private GraduateRankingService graduateRankingService;
+
+    @Autowired
+    private RatingService ratingService;
+
+    // Largest page the category and nearby lists return.
+    @Value("${ranking.list-limit:100}")
+    private int listLimit;
+
+    @Value("${ranking.urgent-limit:50}")
+    private int urgentLimit;
+
+    /**
+     * One page of the category's graduates, best ranked first. {@code limit} is at most
+     * {@code ranking.list-limit}; a short page means the list ended.
+     */
+    public List<Graduate> getGraduatesByCategory(String categoryName, int offset, int limit) {
+        checkPage(offset, limit);
+        return rankPage(graduateRepository.findByCategoryName(categoryName), null, null, offset, limit);
     }
 
     public Graduate registerGraduate(Graduate graduate) {
@@ -53,7 +89,9 @@ public class GraduateService {
         if (graduate.getCertificates() != null) {
             graduate.getCertificates().forEach(certificate -> certificate.setGraduate(graduate));
         }
-        return graduateRepository.save(graduate);
+        Graduate savedGraduate = graduateRepository.save(graduate);
+        eventPublisher.publishEvent(new GraduateChangedEvent(savedGraduate.getId()));
+        return savedGraduate;
     }
 
     public Graduate loginGraduate(String username, String password) throws Exception {
@@ -81,6 +119,7 @@ public class GraduateService {
             throw new IllegalArgumentException("Graduate not found");
         }
         graduateRepository.deleteById(id);
+        eventPublisher.publishEvent(new GraduateChangedEvent(id));
     }
 
     public Graduate editGraduate(Long id, Graduate updatedGraduate) throws Exception {
@@ -116,7 +155,9 @@ public class GraduateService {
         if (updatedGraduate.getAverageResponseTime() != null) {
             existingGraduate.setAverageResponseTime(updatedGraduate.getAverageResponseTime());
         }
-        return graduateRepository.save(existingGraduate);
+        Graduate savedGraduate = graduateRepository.save(existingGraduate);
+        eventPublisher.publishEvent(new GraduateChangedEvent(id));
+        return savedGraduate;
     }
 
     public Graduate updateRating(Long graduateId, Long bookingId, Double newRating, Long userId) throws Exception {
@@ -134,16 +175,10 @@ public class GraduateService {
         if (!booking.getGraduate().getId().equals(graduateId)) {
             throw new Exception("Graduate does not match the booking");
         }
-        Graduate graduate = graduateRepository.findById(graduateId)
+        // Stored as a rating row like any other, so the totals stay verifiable against ratings.
+        ratingService.submitRating(userId, bookingId, (int) Math.round(newRating), null);
+        return graduateRepository.findById(graduateId)
             .orElseThrow(() -> new Exception("Graduate not found"));
-        int currentCount = graduate.getRatingCount();
-        double currentStars = graduate.getStars();
-        double totalStars = currentStars * currentCount + newRating;
-        int newCount = currentCount + 1;
-        double newAverage = totalStars / newCount;
-        graduate.setStars(Math.round(newAverage * 10.0) / 10.0);
-        graduate.setRatingCount(newCount);
-        return graduateRepository.save(graduate);
     }
 
     public Optional<Graduate> findByUsername(String username) {
@@ -174,7 +209,9 @@ public class GraduateService {
 
     public Graduate updateGraduate(Graduate graduate) {
         // Avoid re-hashing password unless explicitly provided
-        return graduateRepository.save(graduate);
+        Graduate savedGraduate = graduateRepository.save(graduate);
+        eventPublisher.publishEvent(new GraduateChangedEvent(savedGraduate.getId()));
+        return savedGraduate;
     }
 
     public List<Graduate> getAvailableGraduates() {
@@ -189,12 +226,18 @@ public class GraduateService {
         return graduateRepository.findByMaxHourly(maxHourly);
     }
 
-    public List<Graduate> getAvailableGraduatesByCategory(String categoryName) {
-        return graduateRepository.findAvailableGraduatesByCategory(categoryName);
+    public List<Graduate> getAvailableGraduatesByCategory(String categoryName, int offset, int limit) {
+        checkPage(offset, limit);
+        List<Graduate> available = graduateRepository.findAvailableGraduatesByCategory(categoryName).stream()
+            .filter(graduate -> !busyGraduateRegistry.isBusy(graduate.getId()))
+            .collect(Collectors.toList());
+        return rankPage(available, null, null, offset, limit);
     }
 
-    public List<Graduate> getNearbyAvailableGraduatesByCategory(String categoryName, Double latitude, Double longitude, Double radius) {
-        return graduateRepository.findNearbyAvailableGraduatesByCategory(categoryName, latitude, longitude, radius);
+    public List<Graduate> getNearbyAvailableGraduatesByCategory(String categoryName, Double latitude, Double longitude, Double radius,
+                                                                int offset, int limit) {
+        checkPage(offset, limit);
+        return findNearbyAvailable(categoryName, latitude, longitude, radius, offset, limit);
     }
 
     public List<Graduate> findNearbyGraduatesForUrgentJob(String categoryName, Double latitude, Double longitude, Double radius) {
@@ -207,7 +250,50 @@ public class GraduateService {
         if (radius == null || radius <= 0) {
             throw new IllegalArgumentException("Radius must be greater than 0");
         }
-        return graduateRepository.findNearbyAvailableGraduatesByCategory(categoryName, latitude, longitude, radius);
+        return findNearbyAvailable(categoryName, latitude, longitude, radius, 0, urgentLimit);
+    }
+
+    // Spatial lookup and busy check in memory, then one load of the candidates; best ranked first.
+    private List<Graduate> findNearbyAvailable(String categoryName, Double latitude, Double longitude, Double radius,
+                                               int offset, int limit) {
+        Map<Long, Double> distances = new HashMap<>();
+        for (GraduateLocationIndex.Nearby nearby : graduateLocationService.findNearby(categoryName, latitude, longitude, radius)) {
+            distances.put(nearby.getGraduateId(), nearby.getDistanceKm());
+        }
+        if (distances.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> candidateIds = new ArrayList<>(distances.keySet());
+        Map<Long, Graduate> graduatesById = graduateRepository.findAllById(candidateIds).stream()
+            .collect(Collectors.toMap(Graduate::getId, Function.identity()));
+        List<Graduate> nearby = new ArrayList<>(candidateIds.size());
+        for (Long id : candidateIds) {
+            Graduate graduate = graduatesById.get(id);
+            if (graduate != null && !busyGraduateRegistry.isBusy(id) && Boolean.TRUE.equals(graduate.getIsAvailable())) {
+                nearby.add(graduate);
+            }
+        }
+        return rankPage(nearby, distances, radius, offset, limit);
+    }
+
+    private void checkPage(int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        if (limit < 1 || limit > listLimit) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + listLimit);
+        }
+    }
+
+    // Ranks the best offset + limit and drops the first offset; pages are cut from the ranking
+    // as it is at request time, so a graduate whose score moves in between may repeat or be skipped.
+    private List<Graduate> rankPage(Collection<Graduate> candidates, Map<Long, Double> distances, Double radius,
+                                    int offset, int limit) {
+        if (offset >= candidates.size()) {
+            return Collections.emptyList();
+        }
+        List<Graduate> ranked = graduateRankingService.rank(candidates, distances, radius, offset + limit);
+        return offset == 0 ? ranked : new ArrayList<>(ranked.subList(Math.min(offset, ranked.size()), ranked.size()));
     }
 
     public List<Graduate> getSimilarGraduates(Long graduateId) {
@@ -222,11 +308,7 @@ public class GraduateService {
             return Collections.emptyList();
         }
         List<Graduate> similarGraduates = graduateRepository.findByCategoryNames(categoryNames, graduateId);
-        similarGraduates.sort((w1, w2) -> Double.compare(w2.getStars(), w1.getStars()));
-        int maxResults = 5;
-        if (similarGraduates.size() > maxResults) {
-            similarGraduates = similarGraduates.subList(0, maxResults);
-        }
+        similarGraduates = graduateRankingService.rank(similarGraduates, null, null, 5);
         System.out.println("GraduateService: Found " + similarGraduates.size() + " similar graduates for graduate ID: " + graduateId);
         return similarGraduates;
     }
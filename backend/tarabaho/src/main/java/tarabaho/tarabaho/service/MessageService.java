@@ -1,10 +1,12 @@
 package tarabaho.tarabaho.service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import tarabaho.tarabaho.dto.MessageDTO;
@@ -21,6 +23,8 @@ import tarabaho.tarabaho.repository.GraduateRepository;
 @Service
 public class MessageService {
 
+    public static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private MessageRepository messageRepository;
 
@@ -88,8 +92,22 @@ public class MessageService {
         return savedMessage;
     }
 
-    public List<MessageDTO> getBookingMessages(Long bookingId, Long requesterId, boolean isUser) throws Exception {
-        System.out.println("MessageService.getBookingMessages: bookingId=" + bookingId + ", requesterId=" + requesterId + ", isUser=" + isUser);
+    /**
+     * A page of the conversation in ascending id order. With {@code after}, up to {@code limit}
+     * messages newer than that id (what a reconnecting client missed); otherwise the
+     * {@code limit} newest messages older than {@code before}, or the latest ones when neither
+     * is given. Fewer than {@code limit} messages means there are no more in that direction.
+     */
+    public List<MessageDTO> getBookingMessages(Long bookingId, Long requesterId, boolean isUser,
+                                               Long before, Long after, int limit) throws Exception {
+        System.out.println("MessageService.getBookingMessages: bookingId=" + bookingId + ", requesterId=" + requesterId + ", isUser=" + isUser
+            + ", before=" + before + ", after=" + after + ", limit=" + limit);
+        if (before != null && after != null) {
+            throw new IllegalArgumentException("Use either before or after, not both");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
         
         Booking booking = bookingRepository.findById(bookingId)
             .orElseThrow(() -> {
@@ -106,23 +124,14 @@ public class MessageService {
             throw new Exception("Graduate not authorized for this booking");
         }
 
-        List<Message> messages = messageRepository.findByBookingOrderBySentAtAsc(booking);
-        List<MessageDTO> messageDTOs = messages.stream()
-            .map(message -> {
-                String senderName = message.getSenderUser() != null ? 
-                    message.getSenderUser().getUsername() : 
-                    (message.getSenderGraduate() != null ? message.getSenderGraduate().getUsername() : "Unknown");
-                return new MessageDTO(
-                    message.getId(),
-                    message.getBooking().getId(),
-                    message.getSenderUser() != null ? message.getSenderUser().getId() : null,
-                    message.getSenderGraduate() != null ? message.getSenderGraduate().getId() : null,
-                    senderName,
-                    message.getContent(),
-                    message.getSentAt()
-                );
-            })
-            .collect(Collectors.toList());
+        List<MessageDTO> messageDTOs;
+        if (after != null) {
+            messageDTOs = messageRepository.findMessagesAfter(bookingId, after, PageRequest.of(0, limit));
+        } else {
+            messageDTOs = new ArrayList<>(messageRepository.findMessagesBefore(bookingId,
+                before != null ? before : Long.MAX_VALUE, PageRequest.of(0, limit)));
+            Collections.reverse(messageDTOs);
+        }
         System.out.println("MessageService.getBookingMessages: Retrieved " + messageDTOs.size() + " messages for booking " + bookingId);
         return messageDTOs;
     }
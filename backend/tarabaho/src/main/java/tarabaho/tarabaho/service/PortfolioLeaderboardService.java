@@ -0,0 +1,129 @@
+package tarabaho.tarabaho.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import tarabaho.tarabaho.dto.PublicPortfolioSearchResult;
+import tarabaho.tarabaho.dto.TrendingPortfolio;
+import tarabaho.tarabaho.dto.TrendingPortfolioPage;
+import tarabaho.tarabaho.event.PortfolioViewedEvent;
+import tarabaho.tarabaho.search.WindowedTopK;
+
+/**
+ * "Most viewed" leaderboards for the last 24 hours, 7 days and 30 days, kept in memory.
+ *
+ * Each window is a {@link WindowedTopK} fed by {@link PortfolioViewedEvent}s and seeded from
+ * {@code portfolio_views} at startup, so requests never aggregate the view table. Only
+ * portfolios currently in the public search index are listed; their cards come from it too.
+ */
+@Service
+public class PortfolioLeaderboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioLeaderboardService.class);
+
+    private static final long HOUR = 60L * 60 * 1000;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PortfolioSearchService portfolioSearchService;
+
+    @Value("${portfolio.trending.capacity:1024}")
+    private int capacity;
+
+    @Value("${portfolio.trending.refresh-ms:5000}")
+    private long refreshMillis;
+
+    private final Map<String, WindowedTopK> windows = new LinkedHashMap<>();
+
+    @PostConstruct
+    void init() {
+        // Bucket width trades how smoothly a window slides against how many buckets it merges.
+        windows.put("24h", new WindowedTopK(HOUR, 24, capacity, refreshMillis));
+        windows.put("7d", new WindowedTopK(6 * HOUR, 28, capacity, refreshMillis));
+        windows.put("30d", new WindowedTopK(24 * HOUR, 30, capacity, refreshMillis));
+    }
+
+    /**
+     * Replays the last 30 days of stored views, pre-aggregated per portfolio and hour.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        long start = System.currentTimeMillis();
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(30));
+        int[] rows = new int[1];
+        jdbcTemplate.query(
+            "SELECT portfolio_id, date_trunc('hour', view_date), COUNT(*) FROM portfolio_views " +
+            "WHERE view_date > ? GROUP BY portfolio_id, date_trunc('hour', view_date)",
+            rs -> {
+                long portfolioId = rs.getLong(1);
+                long hour = rs.getTimestamp(2).getTime();
+                long views = rs.getLong(3);
+                for (WindowedTopK window : windows.values()) {
+                    window.add(portfolioId, hour, views);
+                }
+                rows[0]++;
+            },
+            cutoff);
+        logger.info("Trending leaderboards seeded from {} hourly view groups in {} ms",
+            rows[0], System.currentTimeMillis() - start);
+    }
+
+    @EventListener
+    public void onPortfolioViewed(PortfolioViewedEvent event) {
+        for (WindowedTopK window : windows.values()) {
+            window.add(event.getPortfolioId(), event.getViewedAtMillis(), 1);
+        }
+    }
+
+    /**
+     * One page of the leaderboard for {@code window} ("24h", "7d" or "30d").
+     */
+    public TrendingPortfolioPage getTrending(String window, int page, int size) {
+        WindowedTopK topK = windows.get(window);
+        if (topK == null) {
+            throw new IllegalArgumentException("Window must be one of " + String.join(", ", windows.keySet()));
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        long skip = (long) page * size;
+        List<TrendingPortfolio> results = new ArrayList<>(size);
+        boolean hasMore = false;
+        for (WindowedTopK.Entry entry : topK.ranking(System.currentTimeMillis())) {
+            PublicPortfolioSearchResult card = portfolioSearchService.getCard(entry.getId());
+            if (card == null) {
+                continue;
+            }
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            if (results.size() == size) {
+                hasMore = true;
+                break;
+            }
+            results.add(new TrendingPortfolio(entry.getId(), entry.getCount(), card));
+        }
+        return new TrendingPortfolioPage(window, page, size, hasMore, results);
+    }
+}
@@ -0,0 +1,184 @@
+package tarabaho.tarabaho.service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import tarabaho.tarabaho.dto.PublicPortfolioSearchPage;
+import tarabaho.tarabaho.dto.PublicPortfolioSearchResult;
+import tarabaho.tarabaho.entity.Category;
+import tarabaho.tarabaho.entity.Portfolio;
+import tarabaho.tarabaho.entity.Visibility;
+import tarabaho.tarabaho.event.CategoryChangedEvent;
+import tarabaho.tarabaho.event.PortfolioChangedEvent;
+import tarabaho.tarabaho.repository.CategoryRepository;
+import tarabaho.tarabaho.repository.PortfolioRepository;
+import tarabaho.tarabaho.search.PortfolioDocument;
+import tarabaho.tarabaho.search.PortfolioSearchIndex;
+import tarabaho.tarabaho.search.SearchCursor;
+import tarabaho.tarabaho.search.SearchPage;
+import tarabaho.tarabaho.search.SuggestionIndex;
+
+/**
+ * Owns the in-memory portfolio search and suggestion indexes: builds them once the application is ready and
+ * keeps it current from {@link PortfolioChangedEvent}s after the writing transaction commits.
+ * Category names are suggested too and are reloaded on {@link CategoryChangedEvent}s.
+ * Portfolios and categories that change while a rebuild is reading are noted and re-read once
+ * the rebuilt indexes are swapped in, since the rebuild's snapshot may predate the change.
+ */
+@Service
+public class PortfolioSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioSearchService.class);
+
+    @Autowired
+    private PortfolioRepository portfolioRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private volatile PortfolioSearchIndex index = new PortfolioSearchIndex();
+    private volatile SuggestionIndex suggestions = new SuggestionIndex();
+
+    // Portfolios changed while a rebuild is running, null otherwise. Guarded by this.
+    private Set<Long> changedDuringRebuild;
+    private boolean categoriesChangedDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIndex() {
+        long start = System.currentTimeMillis();
+        synchronized (this) {
+            changedDuringRebuild = new HashSet<>();
+            categoriesChangedDuringRebuild = false;
+        }
+        PortfolioSearchIndex rebuilt = new PortfolioSearchIndex();
+        SuggestionIndex rebuiltSuggestions = new SuggestionIndex();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                rebuiltSuggestions.setFixed(categoryNames());
+                for (Portfolio portfolio : portfolioRepository.findByVisibility(Visibility.PUBLIC)) {
+                    PortfolioDocument document = PortfolioDocument.from(portfolio);
+                    rebuilt.put(document);
+                    rebuiltSuggestions.put(document.getPortfolioId(), document.getSuggestionPhrases());
+                }
+            });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changedDuringRebuild = null;
+            }
+            throw e;
+        }
+        Set<Long> changed;
+        boolean categoriesChanged;
+        synchronized (this) {
+            index = rebuilt;
+            suggestions = rebuiltSuggestions;
+            changed = changedDuringRebuild;
+            changedDuringRebuild = null;
+            categoriesChanged = categoriesChangedDuringRebuild;
+        }
+        for (Long portfolioId : changed) {
+            transactionTemplate.executeWithoutResult(status -> reindex(portfolioId));
+        }
+        if (categoriesChanged) {
+            transactionTemplate.executeWithoutResult(status -> suggestions.setFixed(categoryNames()));
+        }
+        logger.info("Portfolio search index built with {} public portfolios in {} ms ({} changed meanwhile)",
+            rebuilt.size(), System.currentTimeMillis() - start, changed.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        synchronized (this) {
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(event.getPortfolioId());
+            }
+        }
+        reindex(event.getPortfolioId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        synchronized (this) {
+            if (changedDuringRebuild != null) {
+                categoriesChangedDuringRebuild = true;
+            }
+        }
+        suggestions.setFixed(categoryNames());
+        logger.debug("Reloaded category suggestions after category {} changed", event.getCategoryId());
+    }
+
+    /**
+     * Re-reads a single portfolio and adds, replaces or drops it from the index depending on
+     * whether it still exists and is public.
+     */
+    public void reindex(Long portfolioId) {
+        Optional<Portfolio> portfolio = portfolioRepository.findById(portfolioId);
+        if (portfolio.isPresent() && portfolio.get().getVisibility() == Visibility.PUBLIC) {
+            PortfolioDocument document = PortfolioDocument.from(portfolio.get());
+            index.put(document);
+            suggestions.put(portfolioId, document.getSuggestionPhrases());
+            logger.debug("Indexed portfolio {}", portfolioId);
+        } else {
+            index.remove(portfolioId);
+            suggestions.remove(portfolioId);
+            logger.debug("Removed portfolio {} from search index", portfolioId);
+        }
+    }
+
+    /**
+     * Returns one ranked page of matches with facet counts. {@code after} is the opaque cursor
+     * from the previous page, or {@code null} for the first page; {@code filters} maps facet
+     * fields to the accepted values.
+     */
+    public PublicPortfolioSearchPage search(String query, int limit, String after, Map<String, Set<String>> filters) {
+        SearchCursor cursor = after == null || after.isBlank() ? null : SearchCursor.decode(after);
+        SearchPage page = index.search(query, limit, cursor, filters);
+        List<PublicPortfolioSearchResult> results = page.getHits().stream()
+            .map(PortfolioDocument::getCard)
+            .collect(Collectors.toList());
+        String nextCursor = page.getNext() != null ? page.getNext().encode() : null;
+        return new PublicPortfolioSearchPage(results, nextCursor, page.getTotalMatches(), page.getFacetCounts());
+    }
+
+    /**
+     * Card for a public portfolio, or {@code null} if the portfolio is not public.
+     */
+    public PublicPortfolioSearchResult getCard(Long portfolioId) {
+        return index.getCard(portfolioId);
+    }
+
+    private List<String> categoryNames() {
+        return categoryRepository.findAll().stream()
+            .map(Category::getName)
+            .filter(name -> name != null)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Typeahead completions for the prefix, answered from memory only.
+     */
+    public List<String> suggest(String prefix, int limit) {
+        return suggestions.suggest(prefix, Math.min(limit, SuggestionIndex.MAX_SUGGESTIONS));
+    }
+}
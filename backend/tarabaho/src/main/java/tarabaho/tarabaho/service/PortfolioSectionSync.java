@@ -0,0 +1,104 @@
+package tarabaho.tarabaho.service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import tarabaho.tarabaho.dto.PortfolioSectionsPatch;
+import tarabaho.tarabaho.entity.Portfolio;
+
+/**
+ * Applies incoming items to one managed portfolio section collection.
+ *
+ * Existing rows are matched by id through a hash map and only have their fields copied,
+ * so Hibernate's dirty checking issues UPDATEs for the rows whose values actually changed.
+ * New rows are persisted and removed rows deleted through the collection's cascade and
+ * orphan removal; nothing is saved explicitly.
+ */
+public class PortfolioSectionSync<T> {
+
+    private final String label;
+    private final Function<T, Long> idOf;
+    private final Supplier<T> factory;
+    private final BiConsumer<T, Portfolio> attach;
+    private final BiConsumer<T, T> copy;
+    private final Consumer<T> validate;
+
+    public PortfolioSectionSync(String label, Function<T, Long> idOf, Supplier<T> factory,
+            BiConsumer<T, Portfolio> attach, BiConsumer<T, T> copy, Consumer<T> validate) {
+        this.label = label;
+        this.idOf = idOf;
+        this.factory = factory;
+        this.attach = attach;
+        this.copy = copy;
+        this.validate = validate;
+    }
+
+    /**
+     * Makes the section match {@code incoming}: rows whose id is absent are removed, rows
+     * with a known id are updated and the rest are added.
+     */
+    public void replace(Portfolio portfolio, List<T> existing, List<T> incoming) {
+        incoming.forEach(validate);
+        Set<Long> keep = new HashSet<>();
+        for (T item : incoming) {
+            if (idOf.apply(item) != null) {
+                keep.add(idOf.apply(item));
+            }
+        }
+        existing.removeIf(row -> !keep.contains(idOf.apply(row)));
+        Map<Long, T> byId = index(existing);
+        for (T item : incoming) {
+            T row = idOf.apply(item) != null ? byId.get(idOf.apply(item)) : null;
+            copy.accept(row != null ? row : add(portfolio, existing), item);
+        }
+    }
+
+    /**
+     * Applies add / update-by-id / remove-by-id operations. Unknown ids are rejected.
+     */
+    public void apply(Portfolio portfolio, List<T> existing, PortfolioSectionsPatch.SectionPatch<T> patch) {
+        patch.getAdd().forEach(validate);
+        patch.getUpdate().forEach(validate);
+        Map<Long, T> byId = index(existing);
+
+        for (Long id : patch.getRemove()) {
+            T row = byId.remove(id);
+            if (row == null) {
+                throw new IllegalArgumentException(label + " not found with id: " + id);
+            }
+            existing.remove(row);
+        }
+        for (T item : patch.getUpdate()) {
+            T row = idOf.apply(item) != null ? byId.get(idOf.apply(item)) : null;
+            if (row == null) {
+                throw new IllegalArgumentException(label + " not found with id: " + idOf.apply(item));
+            }
+            copy.accept(row, item);
+        }
+        for (T item : patch.getAdd()) {
+            copy.accept(add(portfolio, existing), item);
+        }
+    }
+
+    private T add(Portfolio portfolio, List<T> existing) {
+        T row = factory.get();
+        attach.accept(row, portfolio);
+        existing.add(row);
+        return row;
+    }
+
+    private Map<Long, T> index(List<T> rows) {
+        Map<Long, T> byId = new HashMap<>(rows.size() * 2);
+        for (T row : rows) {
+            byId.put(idOf.apply(row), row);
+        }
+        return byId;
+    }
+}
@@ -3,12 +3,16 @@ package tarabaho.tarabaho.service;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
 
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import jakarta.persistence.EntityManager;
@@ -16,7 +20,8 @@ import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 import tarabaho.tarabaho.dto.CompletePublicPortfolioResponse;
 import tarabaho.tarabaho.dto.PortfolioRequest;
-import tarabaho.tarabaho.dto.PublicPortfolioSearchResult;
+import tarabaho.tarabaho.dto.PortfolioSectionsPatch;
+import tarabaho.tarabaho.dto.PublicPortfolioSearchPage;
 import tarabaho.tarabaho.dto.ShareInfo;
 import tarabaho.tarabaho.entity.AwardRecognition;
 import tarabaho.tarabaho.entity.Certificate;
@@ -29,59 +34,111 @@ import tarabaho.tarabaho.entity.Project;
 import tarabaho.tarabaho.entity.Reference;
 import tarabaho.tarabaho.entity.Skill;
 import tarabaho.tarabaho.entity.Visibility;
-import tarabaho.tarabaho.repository.AwardRecognitionRepository;
+import tarabaho.tarabaho.event.PortfolioChangedEvent;
 import tarabaho.tarabaho.repository.CertificateRepository;
-import tarabaho.tarabaho.repository.ContinuingEducationRepository;
-import tarabaho.tarabaho.repository.ExperienceRepository;
 import tarabaho.tarabaho.repository.GraduateRepository;
 import tarabaho.tarabaho.repository.PortfolioRepository;
-import tarabaho.tarabaho.repository.ProfessionalMembershipRepository;
+import tarabaho.tarabaho.repository.PortfolioViewDailyRepository;
 import tarabaho.tarabaho.repository.ProjectRepository;
-import tarabaho.tarabaho.repository.ReferenceRepository;
-import tarabaho.tarabaho.repository.SkillRepository;
 
 @Service
 public class PortfolioService {
 
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    private static final PortfolioSectionSync<Skill> SKILLS = new PortfolioSectionSync<>("Skill",
+        Skill::getId, Skill::new, Skill::setPortfolio,
+        (skill, incoming) -> {
+            skill.setName(incoming.getName());
+            skill.setType(incoming.getType());
+            skill.setProficiencyLevel(incoming.getProficiencyLevel());
+        },
+        incoming -> requireText(incoming.getName(), "Skill name is required"));
+
+    private static final PortfolioSectionSync<Experience> EXPERIENCES = new PortfolioSectionSync<>("Experience",
+        Experience::getId, Experience::new, Experience::setPortfolio,
+        (experience, incoming) -> {
+            experience.setJobTitle(incoming.getJobTitle());
+            experience.setEmployer(incoming.getEmployer());
+            experience.setDescription(incoming.getDescription() != null ? incoming.getDescription() : "");
+            experience.setStartDate(incoming.getStartDate());
+            experience.setEndDate(incoming.getEndDate());
+        },
+        incoming -> requireText(incoming.getJobTitle(), "Experience job title is required"));
+
+    private static final PortfolioSectionSync<AwardRecognition> AWARDS = new PortfolioSectionSync<>("Award",
+        AwardRecognition::getId, AwardRecognition::new, AwardRecognition::setPortfolio,
+        (award, incoming) -> {
+            award.setTitle(incoming.getTitle());
+            award.setIssuer(incoming.getIssuer());
+            award.setDateReceived(incoming.getDateReceived());
+        },
+        incoming -> requireText(incoming.getTitle(), "Award title is required"));
+
+    private static final PortfolioSectionSync<ContinuingEducation> CONTINUING_EDUCATIONS = new PortfolioSectionSync<>("Continuing education",
+        ContinuingEducation::getId, ContinuingEducation::new, ContinuingEducation::setPortfolio,
+        (education, incoming) -> {
+            education.setCourseName(incoming.getCourseName());
+            education.setInstitution(incoming.getInstitution());
+            education.setCompletionDate(incoming.getCompletionDate());
+        },
+        incoming -> requireText(incoming.getCourseName(), "Course name is required"));
+
+    private static final PortfolioSectionSync<ProfessionalMembership> MEMBERSHIPS = new PortfolioSectionSync<>("Professional membership",
+        ProfessionalMembership::getId, ProfessionalMembership::new, ProfessionalMembership::setPortfolio,
+        (membership, incoming) -> {
+            membership.setOrganization(incoming.getOrganization());
+            membership.setMembershipType(incoming.getMembershipType());
+            membership.setStartDate(incoming.getStartDate());
+        },
+        incoming -> requireText(incoming.getOrganization(), "Organization is required"));
+
+    private static final PortfolioSectionSync<Reference> REFERENCES = new PortfolioSectionSync<>("Reference",
+        Reference::getId, Reference::new, Reference::setPortfolio,
+        (reference, incoming) -> {
+            reference.setName(incoming.getName());
+            reference.setRelationship(incoming.getRelationship());
+            reference.setEmail(incoming.getEmail());
+            reference.setPhone(incoming.getPhone());
+        },
+        incoming -> requireText(incoming.getName(), "Reference name is required"));
+
+    private static void requireText(String value, String message) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
     @Autowired
     private PortfolioRepository portfolioRepository;
 
     @Autowired
     private GraduateRepository graduateRepository;
 
-    @Autowired
-    private SkillRepository skillRepository;
-
-    @Autowired
-    private ExperienceRepository experienceRepository;
-
     @Autowired
     private ProjectRepository projectRepository;
 
     @Autowired
-    private AwardRecognitionRepository awardRecognitionRepository;
-
-    @Autowired
-    private ContinuingEducationRepository continuingEducationRepository;
+    private CertificateRepository certificateRepository;
 
     @Autowired
-    private ProfessionalMembershipRepository professionalMembershipRepository;
+    private CertificateService certificateService;
 
     @Autowired
-    private ReferenceRepository referenceRepository;
+    private PortfolioViewService portfolioViewService;
 
     @Autowired
-    private CertificateRepository certificateRepository;
+    private PortfolioViewDailyRepository portfolioViewDailyRepository;
 
+    // Added for project cleanup
     @Autowired
-    private CertificateService certificateService;
+    private ProjectService projectService;
 
     @Autowired
-    private PortfolioViewService portfolioViewService;
+    private PortfolioSearchService portfolioSearchService;
 
-    // Added for project cleanup
     @Autowired
-    private ProjectService projectService;
+    private ApplicationEventPublisher eventPublisher;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -90,6 +147,7 @@ public class PortfolioService {
         return java.util.UUID.randomUUID().toString().replace("-", "");
     }
 
+    @Transactional
     public PortfolioRequest getPortfolioByGraduateId(Long graduateId, String username) {
         System.out.println("PortfolioService: Fetching portfolio for graduate ID: " + graduateId);
         Optional<Portfolio> portfolioOpt = portfolioRepository.findByGraduateId(graduateId);
@@ -224,6 +282,8 @@ public class PortfolioService {
             }
         }
 
+        eventPublisher.publishEvent(new PortfolioChangedEvent(savedPortfolio.getId()));
+
         PortfolioRequest response = new PortfolioRequest(savedPortfolio);
         response.setCertificates(certificateRepository.findByGraduateId(graduateId));
         return response;
@@ -265,8 +325,11 @@ public class PortfolioService {
         portfolioRepository.save(portfolio);
         entityManager.flush();
 
+        portfolioViewDailyRepository.deleteByPortfolioId(portfolioId);
+
         // Delete portfolio
         portfolioRepository.deleteById(portfolioId);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolioId));
         System.out.println("PortfolioService: Portfolio deleted, ID: " + portfolioId);
     }
 
@@ -303,13 +366,28 @@ public class PortfolioService {
 
         portfolio.setVisibility(visibility);
         portfolioRepository.save(portfolio);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolioId));
         System.out.println("PortfolioService: Visibility set to " + visibility + " for portfolio ID: " + portfolioId);
     }
 
+    /**
+     * Same access rule as {@link #getPortfolio}, checked from a projection so callers that
+     * only need the check do not load the portfolio.
+     */
+    public void checkPortfolioAccess(Long portfolioId, String username) throws Exception {
+        PortfolioRepository.PortfolioAccess access = portfolioRepository.findAccessById(portfolioId)
+            .orElseThrow(() -> new Exception("Portfolio not found with id: " + portfolioId));
+        if (access.getVisibility() == Visibility.PRIVATE
+                && (username == null || !username.equals(access.getGraduateUsername()))) {
+            throw new Exception("Unauthorized: Cannot access private portfolio of another graduate.");
+        }
+    }
+
     // Added: Method for ProjectController to validate portfolio access
+    @Transactional
     public PortfolioRequest getPortfolio(Long portfolioId, String username) throws Exception {
         System.out.println("PortfolioService: Fetching portfolio ID: " + portfolioId);
-        Portfolio portfolio = portfolioRepository.findById(portfolioId)
+        Portfolio portfolio = portfolioRepository.findWithGraduateById(portfolioId)
             .orElseThrow(() -> {
                 System.out.println("PortfolioService: Portfolio not found with ID: " + portfolioId);
                 return new Exception("Portfolio not found with id: " + portfolioId);
@@ -374,188 +452,17 @@ public class PortfolioService {
 
         
 
-        // Update skills
-        List<Skill> incomingSkills = portfolioRequest.getSkills() != null ? portfolioRequest.getSkills() : new ArrayList<>();
-        System.out.println("PortfolioService: Updating skills for portfolio ID: " + portfolioId + ", incoming skills: " + incomingSkills.size());
-        List<Skill> existingSkills = portfolio.getSkills();
-        existingSkills.removeIf(skill -> incomingSkills.stream()
-                .noneMatch(incomingSkill -> skill.getId() != null && incomingSkill.getId() != null && skill.getId().equals(incomingSkill.getId())));
-        for (Skill incomingSkill : incomingSkills) {
-            if (incomingSkill.getName() == null || incomingSkill.getName().trim().isEmpty()) {
-                throw new IllegalArgumentException("Skill name is required");
-            }
-            Skill skill = existingSkills.stream()
-                    .filter(s -> incomingSkill.getId() != null && s.getId() != null && s.getId().equals(incomingSkill.getId()))
-                    .findFirst()
-                    .orElseGet(() -> {
-                        Skill newSkill = new Skill();
-                        newSkill.setPortfolio(portfolio);
-                        existingSkills.add(newSkill);
-                        return newSkill;
-                    });
-            skill.setName(incomingSkill.getName());
-            skill.setType(incomingSkill.getType());
-            skill.setProficiencyLevel(incomingSkill.getProficiencyLevel());
-        }
-        skillRepository.saveAll(existingSkills);
-        entityManager.flush();
-
-        // Update experiences
-        List<Experience> incomingExperiences = portfolioRequest.getExperiences() != null ? portfolioRequest.getExperiences() : new ArrayList<>();
-        System.out.println("PortfolioService: Updating experiences for portfolio ID: " + portfolioId + ", incoming experiences: " + incomingExperiences.size());
-        List<Experience> existingExperiences = portfolio.getExperiences();
-        existingExperiences.removeIf(exp -> incomingExperiences.stream()
-                .noneMatch(incomingExp -> exp.getId() != null && incomingExp.getId() != null && exp.getId().equals(incomingExp.getId())));
-        for (Experience incomingExp : incomingExperiences) {
-            if (incomingExp.getJobTitle() == null || incomingExp.getJobTitle().trim().isEmpty()) {
-                throw new IllegalArgumentException("Experience job title is required");
-            }
-            Experience experience = existingExperiences.stream()
-                    .filter(e -> incomingExp.getId() != null && e.getId() != null && e.getId().equals(incomingExp.getId()))
-                    .findFirst()
-                    .orElseGet(() -> {
-                        Experience newExp = new Experience();
-                        newExp.setPortfolio(portfolio);
-                        existingExperiences.add(newExp);
-                        return newExp;
-                    });
-            experience.setJobTitle(incomingExp.getJobTitle());
-            experience.setEmployer(incomingExp.getEmployer());
-            experience.setDescription(incomingExp.getDescription() != null ? incomingExp.getDescription() : "");
-            experience.setStartDate(incomingExp.getStartDate());
-            experience.setEndDate(incomingExp.getEndDate());
-        }
-        experienceRepository.saveAll(existingExperiences);
-        entityManager.flush();
-
-        // Update awards
-        List<AwardRecognition> incomingAwards = portfolioRequest.getAwardsRecognitions() != null ? portfolioRequest.getAwardsRecognitions() : new ArrayList<>();
-        System.out.println("PortfolioService: Updating awards for portfolio ID: " + portfolioId + ", incoming awards: " + incomingAwards.size());
-        List<AwardRecognition> existingAwards = portfolio.getAwardsRecognitions();
-        existingAwards.removeIf(award -> incomingAwards.stream()
-                .noneMatch(incomingAward -> award.getId() != null && incomingAward.getId() != null && award.getId().equals(incomingAward.getId())));
-        for (AwardRecognition incomingAward : incomingAwards) {
-            if (incomingAward.getTitle() == null || incomingAward.getTitle().trim().isEmpty()) {
-                throw new IllegalArgumentException("Award title is required");
-            }
-            AwardRecognition award = existingAwards.stream()
-                    .filter(a -> incomingAward.getId() != null && a.getId() != null && a.getId().equals(incomingAward.getId()))
-                    .findFirst()
-                    .orElseGet(() -> {
-                        AwardRecognition newAward = new AwardRecognition();
-                        newAward.setPortfolio(portfolio);
-                        existingAwards.add(newAward);
-                        return newAward;
-                    });
-            award.setTitle(incomingAward.getTitle());
-            award.setIssuer(incomingAward.getIssuer());
-            award.setDateReceived(incomingAward.getDateReceived());
-        }
-        awardRecognitionRepository.saveAll(existingAwards);
-        entityManager.flush();
-
-        // Update continuing education
-        List<ContinuingEducation> incomingEducations = portfolioRequest.getContinuingEducations() != null ? portfolioRequest.getContinuingEducations() : new ArrayList<>();
-        System.out.println("PortfolioService: Updating continuing educations for portfolio ID: " + portfolioId + ", incoming educations: " + incomingEducations.size());
-        List<ContinuingEducation> existingEducations = portfolio.getContinuingEducations();
-        existingEducations.removeIf(edu -> incomingEducations.stream()
-                .noneMatch(incomingEdu -> edu.getId() != null && incomingEdu.getId() != null && edu.getId().equals(incomingEdu.getId())));
-        for (ContinuingEducation incomingEdu : incomingEducations) {
-            if (incomingEdu.getCourseName() == null || incomingEdu.getCourseName().trim().isEmpty()) {
-                throw new IllegalArgumentException("Course name is required");
-            }
-            ContinuingEducation education = existingEducations.stream()
-                    .filter(e -> incomingEdu.getId() != null && e.getId() != null && e.getId().equals(incomingEdu.getId()))
-                    .findFirst()
-                    .orElseGet(() -> {
-                        ContinuingEducation newEdu = new ContinuingEducation();
-                        newEdu.setPortfolio(portfolio);
-                        existingEducations.add(newEdu);
-                        return newEdu;
-                    });
-            education.setCourseName(incomingEdu.getCourseName());
-            education.setInstitution(incomingEdu.getInstitution());
-            education.setCompletionDate(incomingEdu.getCompletionDate());
-        }
-        continuingEducationRepository.saveAll(existingEducations);
-        entityManager.flush();
-
-        // Update professional memberships
-        List<ProfessionalMembership> incomingMemberships = portfolioRequest.getProfessionalMemberships() != null ? portfolioRequest.getProfessionalMemberships() : new ArrayList<>();
-        System.out.println("PortfolioService: Updating professional memberships for portfolio ID: " + portfolioId + ", incoming memberships: " + incomingMemberships.size());
-        List<ProfessionalMembership> existingMemberships = portfolio.getProfessionalMemberships();
-        existingMemberships.removeIf(mem -> incomingMemberships.stream()
-                .noneMatch(incomingMem -> mem.getId() != null && incomingMem.getId() != null && mem.getId().equals(incomingMem.getId())));
-        for (ProfessionalMembership incomingMem : incomingMemberships) {
-            if (incomingMem.getOrganization() == null || incomingMem.getOrganization().trim().isEmpty()) {
-                throw new IllegalArgumentException("Organization is required");
-            }
-            ProfessionalMembership membership = existingMemberships.stream()
-                    .filter(m -> incomingMem.getId() != null && m.getId() != null && m.getId().equals(incomingMem.getId()))
-                    .findFirst()
-                    .orElseGet(() -> {
-                        ProfessionalMembership newMem = new ProfessionalMembership();
-                        newMem.setPortfolio(portfolio);
-                        existingMemberships.add(newMem);
-                        return newMem;
-                    });
-            membership.setOrganization(incomingMem.getOrganization());
-            membership.setMembershipType(incomingMem.getMembershipType());
-            membership.setStartDate(incomingMem.getStartDate());
-        }
-        professionalMembershipRepository.saveAll(existingMemberships);
-        entityManager.flush();
+        // Update sections: ids are matched through hash maps and only changed rows are written
+        System.out.println("PortfolioService: Updating sections for portfolio ID: " + portfolioId);
+        SKILLS.replace(portfolio, portfolio.getSkills(), orEmpty(portfolioRequest.getSkills()));
+        EXPERIENCES.replace(portfolio, portfolio.getExperiences(), orEmpty(portfolioRequest.getExperiences()));
+        AWARDS.replace(portfolio, portfolio.getAwardsRecognitions(), orEmpty(portfolioRequest.getAwardsRecognitions()));
+        CONTINUING_EDUCATIONS.replace(portfolio, portfolio.getContinuingEducations(), orEmpty(portfolioRequest.getContinuingEducations()));
+        MEMBERSHIPS.replace(portfolio, portfolio.getProfessionalMemberships(), orEmpty(portfolioRequest.getProfessionalMemberships()));
+        REFERENCES.replace(portfolio, portfolio.getReferences(), orEmpty(portfolioRequest.getReferences()));
 
-        // Update references
-        List<Reference> incomingReferences = portfolioRequest.getReferences() != null ? portfolioRequest.getReferences() : new ArrayList<>();
-        System.out.println("PortfolioService: Updating references for portfolio ID: " + portfolioId + ", incoming references: " + incomingReferences.size());
-        List<Reference> existingReferences = portfolio.getReferences();
-        existingReferences.removeIf(ref -> incomingReferences.stream()
-                .noneMatch(incomingRef -> ref.getId() != null && incomingRef.getId() != null && ref.getId().equals(incomingRef.getId())));
-        for (Reference incomingRef : incomingReferences) {
-            if (incomingRef.getName() == null || incomingRef.getName().trim().isEmpty()) {
-                throw new IllegalArgumentException("Reference name is required");
-            }
-            Reference reference = existingReferences.stream()
-                    .filter(r -> incomingRef.getId() != null && r.getId() != null && r.getId().equals(incomingRef.getId()))
-                    .findFirst()
-                    .orElseGet(() -> {
-                        Reference newRef = new Reference();
-                        newRef.setPortfolio(portfolio);
-                        existingReferences.add(newRef);
-                        return newRef;
-                    });
-            reference.setName(incomingRef.getName());
-            reference.setRelationship(incomingRef.getRelationship());
-            reference.setEmail(incomingRef.getEmail());
-            reference.setPhone(incomingRef.getPhone());
-        }
-        referenceRepository.saveAll(existingReferences);
-        entityManager.flush();
-        /* 
-        // Update portfolio views
-        List<PortfolioView> incomingPortfolioViews = portfolioRequest.getPortfolioViews() != null ? portfolioRequest.getPortfolioViews() : new ArrayList<>();
-        System.out.println("PortfolioService: Updating portfolio views for portfolio ID: " + portfolioId + ", incoming views: " + incomingPortfolioViews.size());
-        List<PortfolioView> existingPortfolioViews = portfolio.getPortfolioViews();
-        existingPortfolioViews.removeIf(view -> incomingPortfolioViews.stream()
-                .noneMatch(incomingView -> view.getId() != null && incomingView.getId() != null && view.getId().equals(incomingView.getId())));
-        for (PortfolioView incomingView : incomingPortfolioViews) {
-            PortfolioView view = existingPortfolioViews.stream()
-                    .filter(v -> incomingView.getId() != null && v.getId() != null && v.getId().equals(incomingView.getId()))
-                    .findFirst()
-                    .orElseGet(() -> {
-                        PortfolioView newView = new PortfolioView();
-                        newView.setPortfolio(portfolio);
-                        existingPortfolioViews.add(newView);
-                        return newView;
-                    });
-            view.setViewTimestamp(incomingView.getViewTimestamp());
-        }
-        portfolioRepository.save(portfolio); // Save portfolio to persist portfolioViews
-        entityManager.flush();
-        */
         // Update certificate associations
-        List<Long> incomingCertificateIds = portfolioRequest.getCertificateIds() != null ? portfolioRequest.getCertificateIds() : new ArrayList<>();
+        Set<Long> incomingCertificateIds = new HashSet<>(orEmpty(portfolioRequest.getCertificateIds()));
         System.out.println("PortfolioService: Updating certificates for portfolio ID: " + portfolioId + ", incoming certificate IDs: " + incomingCertificateIds.size());
         
         // Fetch all certificates for the graduate to preserve their portfolio_id if not in incomingCertificateIds
@@ -576,15 +483,69 @@ public class PortfolioService {
             }
             // Certificates not in incomingCertificateIds and not linked to this portfolio retain their portfolio_id (null or other)
         }
-        entityManager.flush();
 
         Portfolio savedPortfolio = portfolioRepository.save(portfolio);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(savedPortfolio.getId()));
         System.out.println("PortfolioService: Portfolio updated, ID: " + savedPortfolio.getId());
 
         PortfolioRequest response = new PortfolioRequest(savedPortfolio);
-        response.setCertificates(certificateRepository.findByGraduateId(graduate.getId()));
+        response.setCertificates(graduateCertificates);
         return response;
     }
+
+    /**
+     * Applies per-section add / update / remove operations. Only the sections present in the
+     * patch are loaded, and only rows whose values change are written.
+     * @return the patched sections, keyed like the {@link PortfolioRequest} properties
+     */
+    @Transactional
+    public Map<String, List<?>> patchSections(Long portfolioId, PortfolioSectionsPatch patch, String username) throws Exception {
+        System.out.println("PortfolioService: Patching sections for portfolio ID: " + portfolioId);
+        Portfolio portfolio = portfolioRepository.findWithGraduateById(portfolioId)
+            .orElseThrow(() -> new Exception("Portfolio not found with id: " + portfolioId));
+        if (!portfolio.getGraduate().getUsername().equals(username)) {
+            System.out.println("PortfolioService: Unauthorized attempt to patch portfolio");
+            throw new Exception("Unauthorized: Cannot update portfolio for another graduate.");
+        }
+
+        Map<String, List<?>> patched = new LinkedHashMap<>();
+        if (patch.getSkills() != null) {
+            SKILLS.apply(portfolio, portfolio.getSkills(), patch.getSkills());
+            patched.put("skills", portfolio.getSkills());
+        }
+        if (patch.getExperiences() != null) {
+            EXPERIENCES.apply(portfolio, portfolio.getExperiences(), patch.getExperiences());
+            patched.put("experiences", portfolio.getExperiences());
+        }
+        if (patch.getAwardsRecognitions() != null) {
+            AWARDS.apply(portfolio, portfolio.getAwardsRecognitions(), patch.getAwardsRecognitions());
+            patched.put("awardsRecognitions", portfolio.getAwardsRecognitions());
+        }
+        if (patch.getContinuingEducations() != null) {
+            CONTINUING_EDUCATIONS.apply(portfolio, portfolio.getContinuingEducations(), patch.getContinuingEducations());
+            patched.put("continuingEducations", portfolio.getContinuingEducations());
+        }
+        if (patch.getProfessionalMemberships() != null) {
+            MEMBERSHIPS.apply(portfolio, portfolio.getProfessionalMemberships(), patch.getProfessionalMemberships());
+            patched.put("professionalMemberships", portfolio.getProfessionalMemberships());
+        }
+        if (patch.getReferences() != null) {
+            REFERENCES.apply(portfolio, portfolio.getReferences(), patch.getReferences());
+            patched.put("references", portfolio.getReferences());
+        }
+
+        // Flush now so added rows carry their generated ids in the response
+        entityManager.flush();
+        if (!patched.isEmpty()) {
+            eventPublisher.publishEvent(new PortfolioChangedEvent(portfolioId));
+        }
+        System.out.println("PortfolioService: Patched sections " + patched.keySet() + " for portfolio ID: " + portfolioId);
+        return patched;
+    }
+
+    private static <T> List<T> orEmpty(List<T> items) {
+        return items != null ? items : Collections.emptyList();
+    }
     // ← NEW: Get share info for authenticated user
     public ShareInfo getShareInfo(Long graduateId, String username) {
         System.out.println("PortfolioService: Getting share info for graduate ID: " + graduateId);
@@ -606,6 +567,7 @@ public class PortfolioService {
             String newToken = generateShareToken();
             portfolio.setShareToken(newToken);
             portfolioRepository.save(portfolio);
+            eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
             System.out.println("PortfolioService: Generated new share token: " + newToken);
         }
         
@@ -616,13 +578,14 @@ public class PortfolioService {
         return new ShareInfo(shareToken, shareUrl);
     }
 
-    public CompletePublicPortfolioResponse getPublicPortfolioByShareToken(Long graduateId, String shareToken,String viewId) {
+    /**
+     * Builds the public view of a portfolio for a valid share token, or returns null when the
+     * token does not match or the portfolio is not public. Views are recorded separately via
+     * {@link #recordPublicView} so the result can be cached.
+     */
+    @Transactional
+    public CompletePublicPortfolioResponse loadPublicPortfolio(Long graduateId, String shareToken) {
         System.out.println("PortfolioService: Validating public access for graduate ID: " + graduateId);
-        System.out.println("=== PORTFOLIO SERVICE DEBUG ===");
-        System.out.println("Graduate ID: " + graduateId);
-        System.out.println("Share Token: " + (shareToken != null ? shareToken.substring(0, Math.min(8, shareToken.length())) + "..." : "NULL"));
-        System.out.println("View ID received: " + (viewId != null ? viewId : "NULL"));
-        System.out.println("=== END DEBUG ===");
         
         Optional<Portfolio> portfolioOpt = portfolioRepository.findByGraduateIdAndShareToken(graduateId, shareToken);
         if (!portfolioOpt.isPresent()) {
@@ -635,11 +598,6 @@ public class PortfolioService {
             System.out.println("PortfolioService: Portfolio is not public: " + graduateId);
             return null;
         }
-        // ← NEW: Record the view!
-        boolean viewRecorded = portfolioViewService.recordView(portfolio, viewId);
-        String viewPreview = viewId != null ? viewId.substring(0, 8) + "..." : "no-view";
-        System.out.println("PortfolioService: View recorded: " + (viewRecorded ? "NEW" : "DUPLICATE") + 
-                        " (view: " + viewPreview + ")");
         // Create base portfolio request
         PortfolioRequest portfolioRequest = new PortfolioRequest(portfolio);
         
@@ -651,23 +609,33 @@ public class PortfolioService {
                                 (originalGraduate.getLastName() != null ? " " + originalGraduate.getLastName() : ""));
         publicGraduate.put("profilePicture", originalGraduate.getProfilePicture());
         
+        // Load every section now (one subselect each) so the response can be serialized
+        // after the transaction; portfolioViews is never needed here.
+        Hibernate.initialize(portfolio.getSkills());
+        Hibernate.initialize(portfolio.getExperiences());
+        Hibernate.initialize(portfolio.getProjects());
+        Hibernate.initialize(portfolio.getAwardsRecognitions());
+        Hibernate.initialize(portfolio.getContinuingEducations());
+        Hibernate.initialize(portfolio.getProfessionalMemberships());
+        Hibernate.initialize(portfolio.getReferences());
+
         // Get related data
         List<Certificate> publicCertificates = certificateRepository.findByGraduateId(graduateId);
-        List<Project> publicProjects = projectRepository.findByPortfolioId(portfolio.getId());
-        
-        // Log access
-        logPortfolioView(portfolio.getId(), "share-token:" + shareToken.substring(0, 8));
+        List<Project> publicProjects = new ArrayList<>(portfolio.getProjects());
         
         return new CompletePublicPortfolioResponse(portfolioRequest, publicGraduate, publicCertificates, publicProjects);
     }
 
-    
-
-    // ← NEW: Log portfolio views (simple version)
-    private void logPortfolioView(Long portfolioId, String accessMethod) {
-        System.out.println("Portfolio view - ID: " + portfolioId + ", Method: " + accessMethod + 
-                          ", Time: " + java.time.LocalDateTime.now());
-        // TODO: Save to PortfolioView entity if you want analytics
+    /**
+     * Records a view of a public portfolio without loading it.
+     * @return true if a new view was recorded, false if duplicate
+     */
+    public boolean recordPublicView(Long portfolioId, String viewId) {
+        boolean viewRecorded = portfolioViewService.recordView(portfolioId, viewId);
+        String viewPreview = viewId != null ? viewId.substring(0, 8) + "..." : "no-view";
+        System.out.println("PortfolioService: View recorded: " + (viewRecorded ? "NEW" : "DUPLICATE") + 
+                        " (portfolio: " + portfolioId + ", view: " + viewPreview + ")");
+        return viewRecorded;
     }
 
     public ShareInfo regenerateShareToken(Long graduateId, String username) {
@@ -688,20 +656,22 @@ public class PortfolioService {
         String newToken = generateShareToken();
         portfolio.setShareToken(newToken);
         portfolioRepository.save(portfolio);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
         
         String shareUrl = String.format("https://tarabaho.vercel.app/portfolio/%d?share=%s", graduateId, newToken);
         
         return new ShareInfo(newToken, shareUrl);
     }
     
-    @Transactional
-    public List<PublicPortfolioSearchResult> searchPublicPortfolios(String query) {
+    public PublicPortfolioSearchPage searchPublicPortfolios(String query, int limit, String after,
+            Map<String, Set<String>> filters) {
         if (query == null || query.trim().isEmpty()) {
-            return Collections.emptyList();
+            return new PublicPortfolioSearchPage(Collections.emptyList(), null, 0, Collections.emptyMap());
+        }
+        if (limit < 1 || limit > MAX_SEARCH_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
         }
-        List<Portfolio> portfolios = portfolioRepository.searchPublicPortfolios(query);
-        return portfolios.stream()
-                .map(PublicPortfolioSearchResult::new)
-                .collect(Collectors.toList());
+        // Served from the in-memory index, kept in sync through PortfolioChangedEvent
+        return portfolioSearchService.search(query, limit, after, filters);
     }
 }
\ No newline at end of file
@@ -0,0 +1,235 @@
+package tarabaho.tarabaho.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import tarabaho.tarabaho.event.PortfolioViewedEvent;
+import tarabaho.tarabaho.search.HyperLogLog;
+
+/**
+ * Write-behind buffer for portfolio views.
+ *
+ * The request thread only checks an in-memory dedup map keyed by (portfolioId, viewId) and
+ * offers the view to a bounded queue; a scheduled flusher writes queued views to
+ * {@code portfolio_views} with JDBC batch inserts, together with the matching
+ * {@code portfolio_view_daily} increments. When the queue is full the view is dropped and
+ * counted rather than blocking the request. Accepted views are also published as
+ * {@link PortfolioViewedEvent}s for in-memory consumers.
+ */
+@Service
+public class PortfolioViewBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioViewBuffer.class);
+
+    static final long DEDUP_WINDOW_MILLIS = 24L * 60 * 60 * 1000;
+    private static final String ANONYMOUS = "anonymous";
+    private static final String INSERT_SQL =
+        "INSERT INTO portfolio_views (portfolio_id, view_date, session_id) VALUES (?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PortfolioViewRollupService portfolioViewRollupService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${portfolio.views.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${portfolio.views.batch-size:500}")
+    private int batchSize;
+
+    @Value("${portfolio.views.dedup-max-entries:500000}")
+    private int dedupMaxEntries;
+
+    // "portfolioId:viewId" -> epoch millis after which the same viewer counts again
+    private final Map<String, Long> recentViewers = new ConcurrentHashMap<>();
+
+    private BlockingQueue<PendingView> queue;
+    private Counter droppedViews;
+    private Counter acceptedViews;
+    private Counter failedViews;
+
+    @PostConstruct
+    void init() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        droppedViews = Counter.builder("portfolio.views.dropped")
+            .description("Views dropped because the write-behind queue was full")
+            .register(meterRegistry);
+        acceptedViews = Counter.builder("portfolio.views.accepted")
+            .description("Views accepted after deduplication")
+            .register(meterRegistry);
+        failedViews = Counter.builder("portfolio.views.failed")
+            .description("Queued views that could not be inserted")
+            .register(meterRegistry);
+        Gauge.builder("portfolio.views.queue.depth", queue, BlockingQueue::size)
+            .description("Views waiting to be flushed to portfolio_views")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Seeds the dedup map with the last 24 hours of views so a restart does not double count.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRecentViewers() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(24);
+        jdbcTemplate.query(
+            "SELECT portfolio_id, session_id, MAX(view_date) FROM portfolio_views WHERE view_date > ? " +
+            "GROUP BY portfolio_id, session_id",
+            rs -> {
+                String viewer = rs.getString(2) != null ? rs.getString(2) : ANONYMOUS;
+                long seenAt = rs.getTimestamp(3).getTime();
+                recentViewers.merge(key(rs.getLong(1), viewer), seenAt + DEDUP_WINDOW_MILLIS, Math::max);
+            },
+            Timestamp.valueOf(cutoff));
+        logger.info("Portfolio view dedup seeded with {} recent viewers", recentViewers.size());
+    }
+
+    /**
+     * Accepts a view unless the same viewer was counted for this portfolio in the last 24
+     * hours. Never touches the database.
+     * @return true if the view was queued, false if it was a duplicate or dropped
+     */
+    public boolean record(Long portfolioId, String viewId) {
+        String viewer = viewId == null || viewId.isEmpty() ? ANONYMOUS : viewId;
+        String key = key(portfolioId, viewer);
+        long now = System.currentTimeMillis();
+        boolean[] fresh = new boolean[1];
+        Long expiry = recentViewers.compute(key, (k, expiresAt) -> {
+            if (expiresAt != null && expiresAt > now) {
+                return expiresAt;
+            }
+            fresh[0] = true;
+            return now + DEDUP_WINDOW_MILLIS;
+        });
+        if (!fresh[0]) {
+            return false;
+        }
+
+        PendingView view = new PendingView(portfolioId, viewer, LocalDateTime.now());
+        if (!queue.offer(view)) {
+            // Let the next hit from this viewer try again instead of losing it for a day.
+            recentViewers.remove(key, expiry);
+            droppedViews.increment();
+            return false;
+        }
+        acceptedViews.increment();
+        eventPublisher.publishEvent(new PortfolioViewedEvent(portfolioId, now));
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${portfolio.views.flush-interval-ms:2000}")
+    public void flush() {
+        List<PendingView> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${portfolio.views.dedup-purge-interval-ms:600000}")
+    public void purgeExpiredViewers() {
+        long now = System.currentTimeMillis();
+        recentViewers.values().removeIf(expiresAt -> expiresAt <= now);
+        if (recentViewers.size() > dedupMaxEntries) {
+            // Over budget even after expiry: forget the oldest half rather than grow without bound.
+            long median = recentViewers.values().stream().sorted().skip(recentViewers.size() / 2).findFirst().orElse(now);
+            recentViewers.values().removeIf(expiresAt -> expiresAt < median);
+            logger.warn("Portfolio view dedup exceeded {} entries; trimmed to {}", dedupMaxEntries, recentViewers.size());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private void write(List<PendingView> batch) {
+        try {
+            insert(batch);
+        } catch (DataAccessException e) {
+            // Typically a portfolio deleted while its views were queued; keep the rest.
+            logger.warn("Batch insert of {} portfolio views failed, retrying one by one: {}", batch.size(), e.getMessage());
+            for (PendingView view : batch) {
+                try {
+                    insert(List.of(view));
+                } catch (DataAccessException rowFailure) {
+                    failedViews.increment();
+                }
+            }
+        }
+    }
+
+    // Raw rows and their daily rollup increments commit together.
+    private void insert(List<PendingView> views) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, views, views.size(), (ps, view) -> {
+                ps.setLong(1, view.portfolioId);
+                ps.setTimestamp(2, Timestamp.valueOf(view.viewedAt));
+                ps.setString(3, view.viewId);
+            });
+            Map<Long, Map<LocalDate, Integer>> counts = new HashMap<>();
+            Map<Long, Map<LocalDate, HyperLogLog>> visitors = new HashMap<>();
+            for (PendingView view : views) {
+                LocalDate day = view.viewedAt.toLocalDate();
+                counts.computeIfAbsent(view.portfolioId, id -> new HashMap<>())
+                    .merge(day, 1, Integer::sum);
+                visitors.computeIfAbsent(view.portfolioId, id -> new HashMap<>())
+                    .computeIfAbsent(day, d -> new HyperLogLog())
+                    .add(view.viewId);
+            }
+            portfolioViewRollupService.increment(counts);
+            portfolioViewRollupService.mergeVisitors(visitors);
+        });
+    }
+
+    private static String key(long portfolioId, String viewer) {
+        return portfolioId + ":" + viewer;
+    }
+
+    static class PendingView {
+        final Long portfolioId;
+        final String viewId;
+        final LocalDateTime viewedAt;
+
+        PendingView(Long portfolioId, String viewId, LocalDateTime viewedAt) {
+            this.portfolioId = portfolioId;
+            this.viewId = viewId;
+            this.viewedAt = viewedAt;
+        }
+    }
+}
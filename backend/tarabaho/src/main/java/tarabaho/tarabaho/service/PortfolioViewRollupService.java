@@ -0,0 +1,182 @@
+package tarabaho.tarabaho.service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import tarabaho.tarabaho.search.HyperLogLog;
+
+/**
+ * Maintains {@code portfolio_view_daily} and the retention of raw {@code portfolio_views}.
+ *
+ * The view flusher calls {@link #increment} in the same transaction as its raw inserts, so
+ * the rollup always matches what was written. {@link #backfill} rebuilds the rollup from raw
+ * rows, and {@link #purgeRawViews} deletes raw rows past the retention; whole days are
+ * purged, so a day's rollup row never loses its source half way.
+ *
+ * Each row also carries a {@link HyperLogLog} sketch of that day's viewers; unique visitors
+ * for a window are estimated by merging the window's sketches, one row per day.
+ */
+@Service
+public class PortfolioViewRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioViewRollupService.class);
+
+    // The buffer accepts one view per viewer per 24 hours, so every view flushed for a day
+    // comes from a viewer not yet counted that day: views and uniques grow together.
+    private static final String UPSERT_SQL =
+        "INSERT INTO portfolio_view_daily (portfolio_id, day, views, uniques) VALUES (?, ?, ?, ?) " +
+        "ON CONFLICT (portfolio_id, day) DO UPDATE SET " +
+        "views = portfolio_view_daily.views + EXCLUDED.views, " +
+        "uniques = portfolio_view_daily.uniques + EXCLUDED.uniques";
+
+    private static final String BACKFILL_SQL =
+        "INSERT INTO portfolio_view_daily (portfolio_id, day, views, uniques) " +
+        "SELECT portfolio_id, CAST(view_date AS date), COUNT(*), COUNT(DISTINCT session_id) " +
+        "FROM portfolio_views GROUP BY portfolio_id, CAST(view_date AS date) " +
+        "ON CONFLICT (portfolio_id, day) DO UPDATE SET views = EXCLUDED.views, uniques = EXCLUDED.uniques";
+
+    private static final String VISITORS_BACKFILL_SQL =
+        "SELECT DISTINCT d.portfolio_id, d.day, COALESCE(v.session_id, 'anonymous') " +
+        "FROM portfolio_view_daily d JOIN portfolio_views v " +
+        "ON v.portfolio_id = d.portfolio_id AND CAST(v.view_date AS date) = d.day " +
+        "WHERE d.visitors_hll IS NULL ORDER BY d.portfolio_id, d.day";
+
+    private static final String UPDATE_VISITORS_SQL =
+        "UPDATE portfolio_view_daily SET visitors_hll = ? WHERE portfolio_id = ? AND day = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${portfolio.views.raw-retention-days:400}")
+    private int rawRetentionDays;
+
+    @Value("${portfolio.views.purge-batch-size:10000}")
+    private int purgeBatchSize;
+
+    /**
+     * Adds flushed view counts, keyed by portfolio id then day.
+     */
+    public void increment(Map<Long, Map<LocalDate, Integer>> counts) {
+        List<Object[]> rows = new ArrayList<>();
+        counts.forEach((portfolioId, days) -> days.forEach((day, views) ->
+            rows.add(new Object[] { portfolioId, Date.valueOf(day), views, views })));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        }
+    }
+
+    /**
+     * Merges flushed visitor sketches into the stored ones. Must run in the same transaction
+     * as {@link #increment}, whose upsert creates and locks the rows being merged into.
+     */
+    public void mergeVisitors(Map<Long, Map<LocalDate, HyperLogLog>> visitors) {
+        visitors.forEach((portfolioId, days) -> days.forEach((day, sketch) -> {
+            List<byte[]> stored = jdbcTemplate.query(
+                "SELECT visitors_hll FROM portfolio_view_daily WHERE portfolio_id = ? AND day = ? FOR UPDATE",
+                (rs, rowNum) -> rs.getBytes(1), portfolioId, Date.valueOf(day));
+            if (!stored.isEmpty() && stored.get(0) != null) {
+                sketch.merge(HyperLogLog.fromBytes(stored.get(0)));
+            }
+            jdbcTemplate.update(UPDATE_VISITORS_SQL, sketch.toBytes(), portfolioId, Date.valueOf(day));
+        }));
+    }
+
+    /**
+     * Approximate distinct viewers of a portfolio from {@code fromDay} through today.
+     */
+    public long uniqueVisitors(Long portfolioId, LocalDate fromDay) {
+        HyperLogLog merged = new HyperLogLog();
+        jdbcTemplate.query(
+            "SELECT visitors_hll FROM portfolio_view_daily " +
+            "WHERE portfolio_id = ? AND day >= ? AND visitors_hll IS NOT NULL",
+            rs -> {
+                merged.merge(HyperLogLog.fromBytes(rs.getBytes(1)));
+            },
+            portfolioId, Date.valueOf(fromDay));
+        return merged.estimate();
+    }
+
+    /**
+     * Fills the rollup on first start after the table is introduced, then builds visitor
+     * sketches for rows that predate them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        Boolean hasRows = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM portfolio_view_daily)", Boolean.class);
+        if (!Boolean.TRUE.equals(hasRows)) {
+            backfill();
+        }
+        backfillVisitors();
+    }
+
+    /**
+     * Builds sketches for rollup rows without one from their raw views. Rows whose raw views
+     * were already purged stay without a sketch and do not contribute unique visitors.
+     */
+    public void backfillVisitors() {
+        long start = System.currentTimeMillis();
+        List<Object[]> updates = new ArrayList<>();
+        Object[] current = new Object[2];
+        HyperLogLog[] sketch = new HyperLogLog[1];
+        jdbcTemplate.query(VISITORS_BACKFILL_SQL, rs -> {
+            long portfolioId = rs.getLong(1);
+            Date day = rs.getDate(2);
+            if (sketch[0] == null || !Objects.equals(current[0], portfolioId) || !Objects.equals(current[1], day)) {
+                if (sketch[0] != null) {
+                    updates.add(new Object[] { sketch[0].toBytes(), current[0], current[1] });
+                }
+                current[0] = portfolioId;
+                current[1] = day;
+                sketch[0] = new HyperLogLog();
+            }
+            sketch[0].add(rs.getString(3));
+        });
+        if (sketch[0] != null) {
+            updates.add(new Object[] { sketch[0].toBytes(), current[0], current[1] });
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_VISITORS_SQL, updates);
+            logger.info("Backfilled {} visitor sketches in {} ms", updates.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Recomputes every day that still has raw rows. Days already purged keep their totals.
+     */
+    public void backfill() {
+        long start = System.currentTimeMillis();
+        int rows = jdbcTemplate.update(BACKFILL_SQL);
+        logger.info("Backfilled {} portfolio_view_daily rows in {} ms", rows, System.currentTimeMillis() - start);
+    }
+
+    @Scheduled(cron = "${portfolio.views.purge-cron:0 30 3 * * *}")
+    public void purgeRawViews() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDate.now().minusDays(rawRetentionDays).atStartOfDay());
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(
+                "DELETE FROM portfolio_views WHERE id IN " +
+                "(SELECT id FROM portfolio_views WHERE view_date < ? LIMIT ?)", cutoff, purgeBatchSize);
+            purged += deleted;
+        } while (deleted == purgeBatchSize);
+        if (purged > 0) {
+            logger.info("Purged {} raw portfolio views older than {} days", purged, rawRetentionDays);
+        }
+    }
+}
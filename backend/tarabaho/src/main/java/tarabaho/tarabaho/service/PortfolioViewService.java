@@ -1,5 +1,6 @@
 package tarabaho.tarabaho.service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -11,9 +12,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import tarabaho.tarabaho.dto.ViewTrendResponse;
-import tarabaho.tarabaho.entity.Portfolio;
-import tarabaho.tarabaho.entity.PortfolioView;
-import tarabaho.tarabaho.repository.PortfolioViewRepository;
+import tarabaho.tarabaho.repository.PortfolioViewDailyRepository;
 
 @Service
 public class PortfolioViewService {
@@ -21,43 +20,27 @@ public class PortfolioViewService {
     private static final Logger logger = LoggerFactory.getLogger(PortfolioViewService.class);
     
     @Autowired
-    private PortfolioViewRepository portfolioViewRepository;
+    private PortfolioViewDailyRepository portfolioViewDailyRepository;
+
+    @Autowired
+    private PortfolioViewBuffer portfolioViewBuffer;
+
+    @Autowired
+    private PortfolioViewRollupService portfolioViewRollupService;
 
     /**
      * Records a new portfolio view if not already viewed recently (last 24 hours).
-     * @param portfolio The portfolio being viewed
-     * @return true if a new view was recorded, false if duplicate
+     * Deduplication happens in memory and the insert is written behind by
+     * {@link PortfolioViewBuffer}, so this never waits on the database.
+     * @param portfolioId The portfolio being viewed
+     * @return true if a new view was accepted, false if duplicate
      */
-    public boolean recordView(Portfolio portfolio, String viewId) {
-        if (viewId == null || viewId.isEmpty()) {
-            logger.debug("PortfolioViewService: No session ID provided; falling back to portfolio-level check.");
-            return recordViewFallback(portfolio);
-        }
-
-        LocalDateTime cutoffTime = LocalDateTime.now().minusHours(24);
-        boolean hasRecent = portfolioViewRepository.hasRecentViewByViewId(portfolio.getId(), viewId, cutoffTime);
-        if (hasRecent) {
+    public boolean recordView(Long portfolioId, String viewId) {
+        boolean accepted = portfolioViewBuffer.record(portfolioId, viewId);
+        if (!accepted) {
             logger.debug("Duplicate view detected for session: {}", viewId);
-            return false; // Duplicate for this session.
-        }
-
-        // Record the new view.
-        PortfolioView view = new PortfolioView(portfolio, viewId);
-        portfolioViewRepository.save(view);
-        logger.debug("New view recorded for portfolio: {}", portfolio.getId());
-        return true;
-    }
-    
-    private boolean recordViewFallback(Portfolio portfolio) {
-        LocalDateTime cutoffTime = LocalDateTime.now().minusHours(24);
-        boolean hasRecent = portfolioViewRepository.hasRecentView(portfolio.getId(), cutoffTime);
-        if (hasRecent) {
-            return false;
         }
-        PortfolioView view = new PortfolioView(portfolio, "anonymous");
-        portfolioViewRepository.save(view);
-        logger.debug("Anonymous view recorded for portfolio: {}", portfolio.getId());
-        return true;
+        return accepted;
     }
 
     /**
@@ -68,7 +51,7 @@ public class PortfolioViewService {
     @Transactional(readOnly = true)
     public long getWeeklyViews(Long portfolioId) {
         try {
-            long views = portfolioViewRepository.getWeeklyViews(portfolioId);
+            long views = portfolioViewDailyRepository.getWeeklyViews(portfolioId);
             logger.debug("Weekly views for portfolio {}: {}", portfolioId, views);
             return views; // Return 0 instead of throwing exception
         } catch (Exception e) {
@@ -85,7 +68,7 @@ public class PortfolioViewService {
     @Transactional(readOnly = true)
     public long getMonthlyViews(Long portfolioId) {
         try {
-            long views = portfolioViewRepository.getMonthlyViews(portfolioId);
+            long views = portfolioViewDailyRepository.getMonthlyViews(portfolioId);
             logger.debug("Monthly views for portfolio {}: {}", portfolioId, views);
             return views; // Return 0 instead of throwing exception
         } catch (Exception e) {
@@ -102,7 +85,7 @@ public class PortfolioViewService {
     @Transactional(readOnly = true)
     public long getYearlyViews(Long portfolioId) {
         try {
-            long views = portfolioViewRepository.getYearlyViews(portfolioId);
+            long views = portfolioViewDailyRepository.getYearlyViews(portfolioId);
             logger.debug("Yearly views for portfolio {}: {}", portfolioId, views);
             return views; // Return 0 instead of throwing exception
         } catch (Exception e) {
@@ -111,6 +94,20 @@ public class PortfolioViewService {
         }
     }
 
+    /**
+     * Approximate unique visitors over the last {@code days} days including today, merged
+     * from the daily HyperLogLog sketches.
+     * @return Estimated distinct viewers (returns 0 on error)
+     */
+    public long getUniqueVisitors(Long portfolioId, int days) {
+        try {
+            return portfolioViewRollupService.uniqueVisitors(portfolioId, LocalDate.now().minusDays(days - 1));
+        } catch (Exception e) {
+            logger.error("Error estimating unique visitors for portfolio {}: {}", portfolioId, e.getMessage());
+            return 0;
+        }
+    }
+
     /**
      * Get view trends for charts - daily/weekly/monthly breakdown
      * @param portfolioId Portfolio ID
@@ -173,7 +170,7 @@ public class PortfolioViewService {
         
         try {
             logger.debug("🔍 Executing getDailyViewTrends query...");
-            List<Object[]> rawData = portfolioViewRepository.getDailyViewTrends(portfolioId, startDate);
+            List<Object[]> rawData = portfolioViewDailyRepository.getDailyViewTrends(portfolioId, startDate.toLocalDate());
             logger.info("✅ getDailyViewTrends returned {} rows", rawData.size());
             
             List<ViewTrendResponse> trends = new ArrayList<>();
@@ -208,7 +205,7 @@ public class PortfolioViewService {
         
         try {
             logger.debug("🔍 Executing getMonthlyViewTrends query...");
-            List<Object[]> rawData = portfolioViewRepository.getMonthlyViewTrends(portfolioId, startDate);
+            List<Object[]> rawData = portfolioViewDailyRepository.getMonthlyViewTrends(portfolioId, startDate.toLocalDate());
             logger.info("✅ getMonthlyViewTrends returned {} rows", rawData.size());
             
             List<ViewTrendResponse> trends = new ArrayList<>();
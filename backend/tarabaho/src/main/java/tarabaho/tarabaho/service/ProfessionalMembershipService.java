@@ -1,12 +1,14 @@
 package tarabaho.tarabaho.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import tarabaho.tarabaho.entity.Graduate;
 import tarabaho.tarabaho.entity.Portfolio;
 import tarabaho.tarabaho.entity.ProfessionalMembership;
 import tarabaho.tarabaho.entity.Visibility;
+import tarabaho.tarabaho.event.PortfolioChangedEvent;
 import tarabaho.tarabaho.repository.GraduateRepository;
 import tarabaho.tarabaho.repository.PortfolioRepository;
 import tarabaho.tarabaho.repository.ProfessionalMembershipRepository;
@@ -24,6 +26,9 @@ public class ProfessionalMembershipService {
     @Autowired
     private GraduateRepository graduateRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Transactional
     public ProfessionalMembership saveProfessionalMembership(Long portfolioId, ProfessionalMembership membership, String username) {
         Portfolio portfolio = portfolioRepository.findById(portfolioId)
@@ -33,7 +38,9 @@ public class ProfessionalMembershipService {
             throw new IllegalArgumentException("Access denied: User does not own this portfolio.");
         }
         membership.setPortfolio(portfolio);
-        return professionalMembershipRepository.save(membership);
+        ProfessionalMembership saved = professionalMembershipRepository.save(membership);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
+        return saved;
     }
 
     public List<ProfessionalMembership> getProfessionalMembershipsByPortfolioId(Long portfolioId, String username) {
@@ -57,7 +64,9 @@ public class ProfessionalMembershipService {
         }
         existingMembership.setOrganization(updatedMembership.getOrganization());
         existingMembership.setMembershipType(updatedMembership.getMembershipType());
-        return professionalMembershipRepository.save(existingMembership);
+        ProfessionalMembership saved = professionalMembershipRepository.save(existingMembership);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
+        return saved;
     }
 
     @Transactional
@@ -70,6 +79,7 @@ public class ProfessionalMembershipService {
             throw new IllegalArgumentException("Access denied: User does not own this portfolio.");
         }
         professionalMembershipRepository.delete(membership);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
     }
     @Transactional
     public List<ProfessionalMembership> replaceProfessionalMemberships(Long portfolioId, List<ProfessionalMembership> memberships, String username) {
@@ -85,6 +95,8 @@ public class ProfessionalMembershipService {
         professionalMembershipRepository.deleteByPortfolioId(portfolioId);
         // Save new professional memberships
         memberships.forEach(membership -> membership.setPortfolio(portfolio));
-        return professionalMembershipRepository.saveAll(memberships);
+        List<ProfessionalMembership> saved = professionalMembershipRepository.saveAll(memberships);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
+        return saved;
     }
 }
\ No newline at end of file
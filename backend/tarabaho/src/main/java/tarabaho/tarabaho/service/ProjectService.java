@@ -8,6 +8,7 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.HttpClientErrorException;
@@ -15,6 +16,7 @@ import org.springframework.web.multipart.MultipartFile;
 
 import tarabaho.tarabaho.entity.Portfolio;
 import tarabaho.tarabaho.entity.Project;
+import tarabaho.tarabaho.event.PortfolioChangedEvent;
 import tarabaho.tarabaho.repository.GraduateRepository;
 import tarabaho.tarabaho.repository.PortfolioRepository;
 import tarabaho.tarabaho.repository.ProjectRepository;
@@ -36,6 +38,9 @@ public class ProjectService {
     @Autowired
     private SupabaseRestStorageService storageService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Retrieves all projects for a portfolio.
      * @param portfolioId Portfolio ID
@@ -114,6 +119,7 @@ public class ProjectService {
         // Save the project - JPA will automatically add it to portfolio's collection due to bidirectional relationship
         Project savedProject = projectRepository.save(project);
         logger.info("Project added successfully, ID: {}", savedProject.getId());
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
         return savedProject;
     }
 
@@ -213,6 +219,7 @@ public class ProjectService {
 
         Project updatedProject = projectRepository.save(project);
         logger.info("Project updated successfully, ID: {}", updatedProject.getId());
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
         return updatedProject;
     }
 
@@ -293,6 +300,7 @@ public class ProjectService {
         } else {
             logger.debug("Confirmed: Project ID {} successfully deleted via orphan removal", id);
         }
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
 
         // Now delete the image file if it exists (non-transactional)
         if (imagePath != null && !imagePath.trim().isEmpty()) {
@@ -354,6 +362,7 @@ public class ProjectService {
         }
 
         logger.info("Deleted {} projects for portfolio ID: {}", imagePaths.size(), portfolioId);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolioId));
 
         // Delete image files
         for (String imagePath : imagePaths) {
@@ -0,0 +1,178 @@
+package tarabaho.tarabaho.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import tarabaho.tarabaho.dto.CompletePublicPortfolioResponse;
+import tarabaho.tarabaho.event.GraduateChangedEvent;
+import tarabaho.tarabaho.event.PortfolioChangedEvent;
+
+/**
+ * Serialized public portfolio responses keyed by (graduateId, shareToken).
+ *
+ * Each snapshot keeps the JSON bytes, a gzipped copy and a strong ETag, so a repeat request
+ * is answered without loading or serializing the portfolio. Snapshots are dropped when a
+ * {@link PortfolioChangedEvent} or {@link GraduateChangedEvent} for their portfolio commits.
+ */
+@Service
+public class PublicPortfolioSnapshotCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PublicPortfolioSnapshotCache.class);
+
+    @Autowired
+    private PortfolioService portfolioService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${portfolio.snapshot.max-entries:2000}")
+    private int maxEntries;
+
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation; a snapshot built across one is not stored.
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Returns the snapshot for a share link, building it on a miss, or null when the token is
+     * invalid or the portfolio is not public.
+     */
+    public Snapshot get(Long graduateId, String shareToken) {
+        String key = graduateId + ":" + shareToken;
+        Snapshot snapshot = snapshots.get(key);
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        long startedAt = generation.get();
+        CompletePublicPortfolioResponse response = portfolioService.loadPublicPortfolio(graduateId, shareToken);
+        if (response == null) {
+            return null;
+        }
+        snapshot = Snapshot.of(graduateId, response.getPortfolio().getId(), serialize(response));
+        if (generation.get() == startedAt) {
+            evictIfFull();
+            snapshots.put(key, snapshot);
+            logger.debug("Cached public portfolio snapshot for graduate {} ({} bytes)", graduateId, snapshot.json.length);
+        }
+        return snapshot;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPortfolioChanged(PortfolioChangedEvent event) {
+        generation.incrementAndGet();
+        snapshots.values().removeIf(snapshot -> snapshot.portfolioId.equals(event.getPortfolioId()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onGraduateChanged(GraduateChangedEvent event) {
+        generation.incrementAndGet();
+        snapshots.values().removeIf(snapshot -> snapshot.graduateId.equals(event.getGraduateId()));
+    }
+
+    private void evictIfFull() {
+        Iterator<String> keys = snapshots.keySet().iterator();
+        while (snapshots.size() >= maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private byte[] serialize(CompletePublicPortfolioResponse response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize public portfolio: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * One serialized public portfolio.
+     */
+    public static class Snapshot {
+        private final Long graduateId;
+        private final Long portfolioId;
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String etag;
+
+        private Snapshot(Long graduateId, Long portfolioId, byte[] json, byte[] gzip, String etag) {
+            this.graduateId = graduateId;
+            this.portfolioId = portfolioId;
+            this.json = json;
+            this.gzip = gzip;
+            this.etag = etag;
+        }
+
+        static Snapshot of(Long graduateId, Long portfolioId, byte[] json) {
+            return new Snapshot(graduateId, portfolioId, json, gzip(json), etagOf(json));
+        }
+
+        public Long getGraduateId() { return graduateId; }
+        public Long getPortfolioId() { return portfolioId; }
+        public byte[] getJson() { return json; }
+        public byte[] getGzip() { return gzip; }
+
+        /**
+         * Strong ETag of the identity encoding; the gzipped bytes are a different
+         * representation and carry their own tag.
+         */
+        public String getEtag() { return "\"" + etag + "\""; }
+        public String getGzipEtag() { return "\"" + etag + "-gzip\""; }
+
+        /**
+         * True if an If-None-Match header names either representation of this snapshot.
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                String candidate = tag.trim();
+                if (candidate.equals("*") || candidate.equals(getEtag()) || candidate.equals(getGzipEtag())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static byte[] gzip(byte[] json) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+
+        private static String etagOf(byte[] json) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+                return HexFormat.of().formatHex(digest, 0, 16);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
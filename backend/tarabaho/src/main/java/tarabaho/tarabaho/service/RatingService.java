@@ -1,23 +1,64 @@
 package tarabaho.tarabaho.service;
 
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import tarabaho.tarabaho.dto.ReviewPage;
+import tarabaho.tarabaho.dto.ReviewSummary;
 import tarabaho.tarabaho.entity.Booking;
 import tarabaho.tarabaho.entity.BookingStatus;
 import tarabaho.tarabaho.entity.Graduate;
 import tarabaho.tarabaho.entity.Rating;
 import tarabaho.tarabaho.entity.User;
+import tarabaho.tarabaho.event.GraduateChangedEvent;
 import tarabaho.tarabaho.repository.BookingRepository;
 import tarabaho.tarabaho.repository.GraduateRepository;
 import tarabaho.tarabaho.repository.RatingRepository;
 import tarabaho.tarabaho.repository.UserRepository;
 
+/**
+ * Stores ratings and keeps each graduate's rating_sum, rating_count and stars in step with one
+ * atomic UPDATE per rating, so submitting costs the same however many ratings a graduate has.
+ * The same UPDATE maintains the graduate's star histogram (rating1Count..rating5Count).
+ * A background check corrects totals that drifted from the ratings table.
+ */
 @Service
 public class RatingService {
 
+    private static final Logger logger = LoggerFactory.getLogger(RatingService.class);
+
+    private static final int VERIFY_BATCH_SIZE = 500;
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String RATING_TOTALS =
+        "SELECT graduate_id, SUM(rating)::double precision AS total, COUNT(*) AS n, " +
+        "COUNT(*) FILTER (WHERE rating = 1) AS n1, COUNT(*) FILTER (WHERE rating = 2) AS n2, " +
+        "COUNT(*) FILTER (WHERE rating = 3) AS n3, COUNT(*) FILTER (WHERE rating = 4) AS n4, " +
+        "COUNT(*) FILTER (WHERE rating = 5) AS n5 FROM ratings";
+
+    private static final String DRIFTED_SQL =
+        "SELECT g.id FROM graduates g JOIN (" + RATING_TOTALS + " GROUP BY graduate_id) r ON r.graduate_id = g.id " +
+        "WHERE g.rating_sum <> r.total OR g.rating_count <> r.n OR g.rating_1_count <> r.n1 " +
+        "OR g.rating_2_count <> r.n2 OR g.rating_3_count <> r.n3 OR g.rating_4_count <> r.n4 OR g.rating_5_count <> r.n5";
+
+    private static final String RECOMPUTE_SQL =
+        "UPDATE graduates g SET rating_sum = r.total, rating_count = r.n, stars = r.total / r.n, " +
+        "rating_1_count = r.n1, rating_2_count = r.n2, rating_3_count = r.n3, rating_4_count = r.n4, rating_5_count = r.n5 " +
+        "FROM (" + RATING_TOTALS + " WHERE graduate_id IN (%s) GROUP BY graduate_id) r WHERE g.id = r.graduate_id";
+
     @Autowired
     private RatingRepository ratingRepository;
 
@@ -30,10 +71,37 @@ public class RatingService {
     @Autowired
     private GraduateRepository graduateRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     public List<Rating> getRatingsByGraduateId(Long graduateId) {
         return ratingRepository.findByGraduateId(graduateId);
     }
 
+    /**
+     * Reviews newest first, {@code limit} at a time. Pass the returned nextCursor as
+     * {@code after} for the next page; it is {@code null} on the last page.
+     */
+    public ReviewPage getReviewPage(Long graduateId, Long after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        List<ReviewSummary> rows = ratingRepository.findReviewPage(graduateId,
+            after != null ? after : Long.MAX_VALUE, PageRequest.of(0, limit + 1));
+        if (rows.size() <= limit) {
+            return new ReviewPage(rows, null);
+        }
+        List<ReviewSummary> results = rows.subList(0, limit);
+        return new ReviewPage(results, results.get(limit - 1).getId());
+    }
+
+    @Transactional(rollbackFor = Exception.class)
     public Rating submitRating(Long userId, Long bookingId, Integer rating, String comment) throws Exception {
         if (rating == null || rating < 1 || rating > 5) {
             throw new Exception("Rating must be between 1 and 5");
@@ -60,34 +128,41 @@ public class RatingService {
         ratingEntity.setBooking(booking);
         ratingEntity.setRating(rating);
         ratingEntity.setComment(comment);
+        ratingEntity.setCreatedAt(LocalDateTime.now());
 
         Rating savedRating = ratingRepository.save(ratingEntity);
-
-        // Update graduate's average rating
-        updateGraduateRating(graduate);
+        graduateRepository.addRating(graduate.getId(), rating);
+        eventPublisher.publishEvent(new GraduateChangedEvent(graduate.getId()));
 
         return savedRating;
     }
 
-    @SuppressWarnings("unchecked")
-    private void updateGraduateRating(Graduate graduate) {
-        // Temporarily cast to List<Rating> to suppress the IDE warning
-        List<?> rawRatings = ratingRepository.findByGraduate(graduate);
-        List<Rating> ratings = (List<Rating>) rawRatings;
-
-        if (ratings != null && !ratings.isEmpty()) {
-            double average = ratings.stream()
-                .mapToInt(Rating::getRating)
-                .average()
-                .orElse(0.0);
-            graduate.setStars(average);
-            graduate.setRatingCount(ratings.size());
-            graduateRepository.save(graduate);
-        } else {
-            // If no ratings exist, reset graduate's stars and rating count
-            graduate.setStars(0.0);
-            graduate.setRatingCount(0);
-            graduateRepository.save(graduate);
+    /**
+     * Recomputes the totals of graduates whose rating_sum, rating_count or histogram no longer
+     * match the ratings table. Graduates without rating rows are left alone (stars set at registration).
+     */
+    @Scheduled(fixedDelayString = "${rating.verify-interval-ms:3600000}", initialDelayString = "${rating.verify-initial-delay-ms:60000}")
+    public void verifyRatingTotals() {
+        try {
+            List<Long> drifted = jdbcTemplate.queryForList(DRIFTED_SQL, Long.class);
+            for (int from = 0; from < drifted.size(); from += VERIFY_BATCH_SIZE) {
+                List<Long> batch = drifted.subList(from, Math.min(from + VERIFY_BATCH_SIZE, drifted.size()));
+                String placeholders = String.join(",", Collections.nCopies(batch.size(), "?"));
+                Object[] args = batch.toArray();
+                // Lock first so the aggregate sees every rating committed before a concurrent
+                // addRating, which then applies on top of the corrected totals.
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.query("SELECT id FROM graduates WHERE id IN (" + placeholders + ") FOR UPDATE",
+                        rs -> { }, args);
+                    jdbcTemplate.update(String.format(RECOMPUTE_SQL, placeholders), args);
+                });
+                batch.forEach(graduateId -> eventPublisher.publishEvent(new GraduateChangedEvent(graduateId)));
+            }
+            if (!drifted.isEmpty()) {
+                logger.warn("Corrected rating totals of {} graduates", drifted.size());
+            }
+        } catch (RuntimeException e) {
+            logger.error("Rating totals verification failed: {}", e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
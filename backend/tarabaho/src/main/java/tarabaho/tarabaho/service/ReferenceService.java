@@ -1,12 +1,14 @@
 package tarabaho.tarabaho.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import tarabaho.tarabaho.entity.Graduate;
 import tarabaho.tarabaho.entity.Portfolio;
 import tarabaho.tarabaho.entity.Reference;
 import tarabaho.tarabaho.entity.Visibility;
+import tarabaho.tarabaho.event.PortfolioChangedEvent;
 import tarabaho.tarabaho.repository.GraduateRepository;
 import tarabaho.tarabaho.repository.PortfolioRepository;
 import tarabaho.tarabaho.repository.ReferenceRepository;
@@ -25,6 +27,9 @@ public class ReferenceService {
     @Autowired
     private GraduateRepository graduateRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Transactional
     public Reference saveReference(Long portfolioId, Reference reference, String username) {
         Portfolio portfolio = portfolioRepository.findById(portfolioId)
@@ -34,7 +39,9 @@ public class ReferenceService {
             throw new IllegalArgumentException("Access denied: User does not own this portfolio.");
         }
         reference.setPortfolio(portfolio);
-        return referenceRepository.save(reference);
+        Reference saved = referenceRepository.save(reference);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
+        return saved;
     }
 
     public List<Reference> getReferencesByPortfolioId(Long portfolioId, String username) {
@@ -63,7 +70,9 @@ public class ReferenceService {
         existingReference.setRelationship(updatedReference.getRelationship());
         existingReference.setEmail(updatedReference.getEmail());
         existingReference.setPhone(updatedReference.getPhone());
-        return referenceRepository.save(existingReference);
+        Reference saved = referenceRepository.save(existingReference);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
+        return saved;
     }
 
     @Transactional
@@ -79,6 +88,7 @@ public class ReferenceService {
             throw new IllegalArgumentException("Access denied: User does not own this portfolio.");
         }
         referenceRepository.delete(reference);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
     }
     @Transactional
     public List<Reference> replaceReferences(Long portfolioId, List<Reference> references, String username) {
@@ -94,6 +104,8 @@ public class ReferenceService {
         referenceRepository.deleteByPortfolioId(portfolioId);
         // Save new references
         references.forEach(reference -> reference.setPortfolio(portfolio));
-        return referenceRepository.saveAll(references);
+        List<Reference> saved = referenceRepository.saveAll(references);
+        eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
+        return saved;
     }
 }
\ No newline at end of file
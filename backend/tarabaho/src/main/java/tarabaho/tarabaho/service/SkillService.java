@@ -3,6 +3,7 @@
     import java.util.List;
 
     import org.springframework.beans.factory.annotation.Autowired;
+    import org.springframework.context.ApplicationEventPublisher;
     import org.springframework.stereotype.Service;
     import org.springframework.transaction.annotation.Transactional;
 
@@ -10,6 +11,7 @@
     import tarabaho.tarabaho.entity.Portfolio;
     import tarabaho.tarabaho.entity.Skill;
     import tarabaho.tarabaho.entity.Visibility;
+    import tarabaho.tarabaho.event.PortfolioChangedEvent;
     import tarabaho.tarabaho.repository.GraduateRepository;
     import tarabaho.tarabaho.repository.PortfolioRepository;
     import tarabaho.tarabaho.repository.SkillRepository;
@@ -26,6 +28,9 @@
         @Autowired
         private GraduateRepository graduateRepository;
 
+        @Autowired
+        private ApplicationEventPublisher eventPublisher;
+
         @Transactional
         public Skill saveSkill(Long portfolioId, Skill skill, String username) {
             Portfolio portfolio = portfolioRepository.findById(portfolioId)
@@ -35,7 +40,9 @@
                 throw new IllegalArgumentException("Access denied: User does not own this portfolio.");
             }
             skill.setPortfolio(portfolio);
-            return skillRepository.save(skill);
+            Skill saved = skillRepository.save(skill);
+            eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
+            return saved;
         }
 
         public List<Skill> getSkillsByPortfolioId(Long portfolioId, String username) {
@@ -60,7 +67,9 @@
             existingSkill.setName(updatedSkill.getName());
             existingSkill.setType(updatedSkill.getType());
             existingSkill.setProficiencyLevel(updatedSkill.getProficiencyLevel());
-            return skillRepository.save(existingSkill);
+            Skill saved = skillRepository.save(existingSkill);
+            eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
+            return saved;
         }
 
         @Transactional
@@ -73,6 +82,7 @@
                 throw new IllegalArgumentException("Access denied: User does not own this portfolio.");
             }
             skillRepository.delete(skill);
+            eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
         }
         @Transactional
         public List<Skill> replaceSkills(Long portfolioId, List<Skill> skills, String username) {
@@ -88,6 +98,8 @@
             skillRepository.deleteByPortfolioId(portfolioId);
             // Save new skills
             skills.forEach(skill -> skill.setPortfolio(portfolio));
-            return skillRepository.saveAll(skills);
+            List<Skill> saved = skillRepository.saveAll(skills);
+            eventPublisher.publishEvent(new PortfolioChangedEvent(portfolio.getId()));
+            return saved;
         }
     }
\ No newline at end of file
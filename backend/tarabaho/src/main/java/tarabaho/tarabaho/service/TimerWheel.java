@@ -0,0 +1,71 @@
+package tarabaho.tarabaho.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timer wheel: deadlines hash to slot {@code tick % slots}. Advancing visits only the
+ * slots of the elapsed ticks; an entry whose deadline is more than one revolution away
+ * stays in its slot until its own revolution comes round. Shared by booking expiry and the
+ * urgent offer cascade; callers advance it from a scheduled tick.
+ */
+class TimerWheel {
+    private final List<Map<Long, Long>> slots;
+    private final Map<Long, Long> deadlineTicks = new HashMap<>();
+    private final long tickMillis;
+    private long currentTick;
+
+    TimerWheel(int slotCount, long tickMillis, long nowMillis) {
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new HashMap<>());
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    synchronized void schedule(Long id, long deadlineMillis) {
+        cancel(id);
+        // Past deadlines go into the next slot visited.
+        long tick = Math.max(deadlineMillis / tickMillis, currentTick + 1);
+        slots.get(slot(tick)).put(id, tick);
+        deadlineTicks.put(id, tick);
+    }
+
+    synchronized void cancel(Long id) {
+        Long tick = deadlineTicks.remove(id);
+        if (tick != null) {
+            slots.get(slot(tick)).remove(id);
+        }
+    }
+
+    /**
+     * Moves to {@code nowMillis} and returns the ids whose deadline has passed.
+     */
+    synchronized List<Long> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis;
+        List<Long> due = new ArrayList<>();
+        // After a long pause one revolution covers every slot.
+        long firstTick = Math.max(currentTick + 1, targetTick - slots.size() + 1);
+        for (long tick = firstTick; tick <= targetTick; tick++) {
+            Iterator<Map.Entry<Long, Long>> entries = slots.get(slot(tick)).entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<Long, Long> entry = entries.next();
+                if (entry.getValue() <= targetTick) {
+                    due.add(entry.getKey());
+                    deadlineTicks.remove(entry.getKey());
+                    entries.remove();
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick);
+        return due;
+    }
+
+    private int slot(long tick) {
+        return (int) Math.floorMod(tick, (long) slots.size());
+    }
+}
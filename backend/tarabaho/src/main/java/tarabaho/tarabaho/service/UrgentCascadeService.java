@@ -0,0 +1,357 @@
+package tarabaho.tarabaho.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import tarabaho.tarabaho.dto.UrgentOfferMessage;
+import tarabaho.tarabaho.entity.Booking;
+import tarabaho.tarabaho.entity.BookingStatus;
+import tarabaho.tarabaho.entity.BookingType;
+import tarabaho.tarabaho.entity.Graduate;
+import tarabaho.tarabaho.entity.UrgentDispatchCascade;
+import tarabaho.tarabaho.event.BookingStatusChangedEvent;
+import tarabaho.tarabaho.repository.BookingRepository;
+import tarabaho.tarabaho.repository.GraduateRepository;
+import tarabaho.tarabaho.repository.UrgentDispatchCascadeRepository;
+import tarabaho.tarabaho.search.GraduateLocationIndex;
+
+/**
+ * Offers urgent bookings to one graduate at a time instead of broadcasting them to every
+ * nearby graduate ({@code booking.urgent.dispatch-mode=cascade}, the default).
+ *
+ * A new URGENT booking is offered to the best ranked eligible graduate. When that graduate
+ * declines (rejects the booking) or does not answer within
+ * {@code booking.urgent.cascade.offer-timeout-ms}, the offer moves to the next one, and while
+ * a cascade runs only the graduate holding the offer may accept. An exhausted list is topped
+ * up with graduates who became eligible since; when there are none the cascade ends and the
+ * booking stays open until it expires. Offer deadlines live in a {@link TimerWheel}, and the
+ * position is written to {@code urgent_dispatch_cascades} on every step so cascades resume
+ * after a restart.
+ */
+@Service
+public class UrgentCascadeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UrgentCascadeService.class);
+
+    private static final int WHEEL_SLOTS = 512;
+
+    @Autowired
+    private UrgentDispatchCascadeRepository cascadeRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private GraduateRepository graduateRepository;
+
+    @Autowired
+    private GraduateService graduateService;
+
+    @Autowired
+    private BusyGraduateRegistry busyGraduateRegistry;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${booking.urgent.dispatch-mode:cascade}")
+    private String dispatchMode;
+
+    @Value("${booking.urgent.cascade.offer-timeout-ms:45000}")
+    private long offerTimeoutMillis;
+
+    // Graduates taken from each (re)fill of the ranked list.
+    @Value("${booking.urgent.cascade.max-offers:10}")
+    private int maxOffers;
+
+    @Value("${booking.urgent.cascade.tick-ms:1000}")
+    private long tickMillis;
+
+    private final Map<Long, Cascade> cascades = new ConcurrentHashMap<>();
+
+    private TimerWheel wheel;
+    private Counter offersSent;
+    private Counter cascadesExhausted;
+    private Timer timeToAccept;
+
+    @PostConstruct
+    void init() {
+        wheel = new TimerWheel(WHEEL_SLOTS, tickMillis, System.currentTimeMillis());
+        offersSent = Counter.builder("urgent.cascade.offers")
+            .description("Urgent offers sent to a graduate")
+            .register(meterRegistry);
+        cascadesExhausted = Counter.builder("urgent.cascade.exhausted")
+            .description("Urgent cascades that ran out of graduates")
+            .register(meterRegistry);
+        timeToAccept = Timer.builder("urgent.cascade.time.to.accept")
+            .description("Time from urgent booking creation to acceptance")
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return "cascade".equalsIgnoreCase(dispatchMode);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void loadCascades() {
+        if (!isEnabled()) {
+            return;
+        }
+        List<UrgentDispatchCascade> rows = cascadeRepository.findAll();
+        Map<Long, Booking> bookings = bookingRepository.findAllById(
+                rows.stream().map(UrgentDispatchCascade::getBookingId).collect(Collectors.toList()))
+            .stream().collect(Collectors.toMap(Booking::getId, Function.identity()));
+        for (UrgentDispatchCascade row : rows) {
+            Booking booking = bookings.get(row.getBookingId());
+            if (booking == null || booking.getStatus() != BookingStatus.PENDING) {
+                cascadeRepository.delete(row);
+                continue;
+            }
+            // A snapshot of the booking for building offers, as when it was created.
+            Cascade cascade = new Cascade(BookingStatusChangedEvent.of(booking, null), row);
+            cascades.put(row.getBookingId(), cascade);
+            wheel.schedule(row.getBookingId(), deadline(row.getOfferedAt()));
+        }
+        logger.info("Urgent cascades resumed for {} pending bookings", cascades.size());
+    }
+
+    // REQUIRES_NEW: after commit the original transaction can no longer write.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public synchronized void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        if (!isEnabled() || event.getType() != BookingType.URGENT) {
+            return;
+        }
+        if (event.isCreation() && event.getNewStatus() == BookingStatus.PENDING) {
+            UrgentDispatchCascade row = new UrgentDispatchCascade();
+            row.setBookingId(event.getBookingId());
+            Cascade cascade = new Cascade(event, row);
+            cascades.put(event.getBookingId(), cascade);
+            offerFrom(cascade, 0);
+        } else if (event.getPreviousStatus() == BookingStatus.PENDING && event.getNewStatus() != BookingStatus.PENDING) {
+            finish(event);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.urgent.cascade.tick-ms:1000}")
+    public void tick() {
+        for (Long bookingId : wheel.advance(System.currentTimeMillis())) {
+            try {
+                timeout(bookingId);
+            } catch (RuntimeException e) {
+                logger.error("Moving urgent booking {} to the next graduate failed: {}", bookingId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * When {@code graduateId} received the offer of the urgent booking, read under the same
+     * lock that moves the offer on, so the acceptance check and the response-time sample see
+     * one position. {@code null} when no cascade runs for the booking (anyone may accept);
+     * throws when another graduate holds the offer or it has moved past this one.
+     */
+    public synchronized LocalDateTime offerFor(Long bookingId, Long graduateId) throws Exception {
+        Cascade cascade = cascades.get(bookingId);
+        if (cascade == null) {
+            return null;
+        }
+        if (!graduateId.equals(cascade.current())) {
+            throw new Exception("Urgent booking is currently offered to another graduate");
+        }
+        return cascade.row.getOfferedAt();
+    }
+
+    /**
+     * Passes the offer on to the next graduate. Returns {@code false} when no cascade runs for
+     * the booking, so the caller falls back to rejecting it.
+     */
+    public synchronized boolean decline(Long bookingId, Long graduateId) throws Exception {
+        Cascade cascade = cascades.get(bookingId);
+        if (cascade == null) {
+            return false;
+        }
+        if (!graduateId.equals(cascade.current())) {
+            throw new Exception("Urgent booking is not offered to this graduate");
+        }
+        recordStep(cascade, "declined");
+        offerFrom(cascade, cascade.row.getPosition() + 1);
+        return true;
+    }
+
+    private synchronized void timeout(Long bookingId) {
+        Cascade cascade = cascades.get(bookingId);
+        if (cascade == null) {
+            return;
+        }
+        Long graduateId = cascade.current();
+        recordStep(cascade, "timeout");
+        if (graduateId != null) {
+            retract(bookingId, graduateId, "TIMEOUT");
+        }
+        offerFrom(cascade, cascade.row.getPosition() + 1);
+    }
+
+    // Offers to the first graduate from position on who is still available, refilling the
+    // list when it runs out, and ends the cascade when nobody is left.
+    private void offerFrom(Cascade cascade, int position) {
+        Long bookingId = cascade.booking.getBookingId();
+        while (true) {
+            if (position >= cascade.graduateIds.size() && fill(cascade) == 0) {
+                end(cascade);
+                return;
+            }
+            Long graduateId = cascade.graduateIds.get(position);
+            Graduate graduate = graduateRepository.findById(graduateId).orElse(null);
+            if (graduate != null && Boolean.TRUE.equals(graduate.getIsAvailable()) && !busyGraduateRegistry.isBusy(graduateId)) {
+                LocalDateTime now = LocalDateTime.now();
+                cascade.row.setPosition(position);
+                cascade.row.setOfferedAt(now);
+                cascade.row.setGraduateIds(cascade.graduateIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+                cascadeRepository.save(cascade.row);
+                wheel.schedule(bookingId, deadline(now));
+                send(cascade, graduate, now);
+                logger.info("Urgent booking {} offered to graduate {} ({} of {})",
+                    bookingId, graduateId, position + 1, cascade.graduateIds.size());
+                return;
+            }
+            position++;
+        }
+    }
+
+    private int fill(Cascade cascade) {
+        Set<Long> seen = new HashSet<>(cascade.graduateIds);
+        int added = 0;
+        for (Graduate graduate : findEligible(cascade.booking)) {
+            if (added >= maxOffers) {
+                break;
+            }
+            if (seen.add(graduate.getId())) {
+                cascade.graduateIds.add(graduate.getId());
+                added++;
+            }
+        }
+        return added;
+    }
+
+    private void end(Cascade cascade) {
+        Long bookingId = cascade.booking.getBookingId();
+        cascades.remove(bookingId);
+        wheel.cancel(bookingId);
+        cascadeRepository.deleteById(bookingId);
+        cascadesExhausted.increment();
+        logger.info("Urgent booking {} was not taken by any of the {} graduates offered; left open until it expires",
+            bookingId, cascade.graduateIds.size());
+    }
+
+    private void finish(BookingStatusChangedEvent event) {
+        Cascade cascade = cascades.remove(event.getBookingId());
+        if (cascade == null) {
+            return;
+        }
+        wheel.cancel(event.getBookingId());
+        cascadeRepository.deleteById(event.getBookingId());
+        Long graduateId = cascade.current();
+        if (event.getNewStatus() == BookingStatus.ACCEPTED) {
+            if (graduateId != null && graduateId.equals(event.getGraduateId())) {
+                recordStep(cascade, "accepted");
+            }
+            timeToAccept.record(Duration.between(event.getCreatedAt(), event.getOccurredAt()));
+        }
+        if (graduateId != null && !graduateId.equals(event.getGraduateId())) {
+            retract(event.getBookingId(), graduateId, event.getNewStatus().name());
+        }
+    }
+
+    private void send(Cascade cascade, Graduate graduate, LocalDateTime offeredAt) {
+        BookingStatusChangedEvent booking = cascade.booking;
+        double distance = GraduateLocationIndex.distanceKm(booking.getLatitude(), booking.getLongitude(),
+            graduate.getLatitude(), graduate.getLongitude());
+        UrgentOfferMessage offer = UrgentOfferMessage.offer(booking.getBookingId(), booking.getCategoryName(),
+            booking.getLatitude(), booking.getLongitude(), Math.round(distance * 100) / 100.0,
+            booking.getJobDetails(), booking.getPaymentMethod(), booking.getCreatedAt());
+        offer.setOfferExpiresAt(offeredAt.plus(Duration.ofMillis(offerTimeoutMillis)));
+        messagingTemplate.convertAndSendToUser(graduate.getUsername(), UrgentDispatchService.OFFER_DESTINATION, offer);
+        offersSent.increment();
+    }
+
+    private void retract(Long bookingId, Long graduateId, String reason) {
+        graduateRepository.findById(graduateId).ifPresent(graduate -> messagingTemplate.convertAndSendToUser(
+            graduate.getUsername(), UrgentDispatchService.OFFER_DESTINATION, UrgentOfferMessage.retract(bookingId, reason)));
+    }
+
+    // How long the graduate holding the offer took to answer, by outcome.
+    private void recordStep(Cascade cascade, String outcome) {
+        if (cascade.row.getOfferedAt() == null) {
+            return;
+        }
+        Timer.builder("urgent.cascade.step")
+            .description("Time an urgent offer was held by one graduate")
+            .tag("outcome", outcome)
+            .register(meterRegistry)
+            .record(Duration.between(cascade.row.getOfferedAt(), LocalDateTime.now()));
+    }
+
+    private List<Graduate> findEligible(BookingStatusChangedEvent booking) {
+        try {
+            return graduateService.findNearbyGraduatesForUrgentJob(booking.getCategoryName(),
+                booking.getLatitude(), booking.getLongitude(), booking.getRadius());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Urgent booking {} cannot be dispatched: {}", booking.getBookingId(), e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    private long deadline(LocalDateTime offeredAt) {
+        return offeredAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() + offerTimeoutMillis;
+    }
+
+    private static class Cascade {
+        final BookingStatusChangedEvent booking;
+        final UrgentDispatchCascade row;
+        final List<Long> graduateIds = new ArrayList<>();
+
+        Cascade(BookingStatusChangedEvent booking, UrgentDispatchCascade row) {
+            this.booking = booking;
+            this.row = row;
+            if (row.getGraduateIds() != null && !row.getGraduateIds().isEmpty()) {
+                Arrays.stream(row.getGraduateIds().split(",")).map(Long::valueOf).forEach(graduateIds::add);
+            }
+        }
+
+        Long current() {
+            return row.getOfferedAt() != null && row.getPosition() < graduateIds.size()
+                ? graduateIds.get(row.getPosition()) : null;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package tarabaho.tarabaho.service;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import tarabaho.tarabaho.dto.UrgentOfferMessage;
+import tarabaho.tarabaho.entity.BookingStatus;
+import tarabaho.tarabaho.entity.BookingType;
+import tarabaho.tarabaho.entity.Graduate;
+import tarabaho.tarabaho.event.BookingStatusChangedEvent;
+import tarabaho.tarabaho.search.GraduateLocationIndex;
+
+/**
+ * Pushes urgent booking offers to nearby graduates over STOMP instead of having their apps
+ * poll {@code /api/booking/urgent/pending}.
+ *
+ * When an urgent booking is created, every available graduate of its category within its
+ * radius gets an {@code OFFER} on {@code /user/queue/urgent-offers}. Once the booking leaves
+ * PENDING (accepted, cancelled, rejected) the same graduates get a {@code RETRACT}. This is
+ * the {@code booking.urgent.dispatch-mode=broadcast} behaviour; in the default cascade mode
+ * {@link UrgentCascadeService} offers the booking to one graduate at a time instead.
+ */
+@Service
+public class UrgentDispatchService {
+
+    public static final String OFFER_DESTINATION = "/queue/urgent-offers";
+
+    private static final Logger logger = LoggerFactory.getLogger(UrgentDispatchService.class);
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private GraduateService graduateService;
+
+    @Autowired
+    private UrgentCascadeService urgentCascadeService;
+
+    // Usernames each pending urgent booking was offered to, for the retraction.
+    private final Map<Long, Set<String>> offeredTo = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        if (event.getType() != BookingType.URGENT || urgentCascadeService.isEnabled()) {
+            return;
+        }
+        if (event.isCreation() && event.getNewStatus() == BookingStatus.PENDING) {
+            dispatch(event);
+        } else if (event.getPreviousStatus() == BookingStatus.PENDING && event.getNewStatus() != BookingStatus.PENDING) {
+            retract(event);
+        }
+    }
+
+    private void dispatch(BookingStatusChangedEvent event) {
+        List<Graduate> eligible = findEligible(event);
+        Set<String> usernames = ConcurrentHashMap.newKeySet();
+        for (Graduate graduate : eligible) {
+            double distance = GraduateLocationIndex.distanceKm(event.getLatitude(), event.getLongitude(),
+                graduate.getLatitude(), graduate.getLongitude());
+            UrgentOfferMessage offer = UrgentOfferMessage.offer(event.getBookingId(), event.getCategoryName(),
+                event.getLatitude(), event.getLongitude(), Math.round(distance * 100) / 100.0,
+                event.getJobDetails(), event.getPaymentMethod(), event.getCreatedAt());
+            messagingTemplate.convertAndSendToUser(graduate.getUsername(), OFFER_DESTINATION, offer);
+            usernames.add(graduate.getUsername());
+        }
+        offeredTo.put(event.getBookingId(), usernames);
+        logger.info("Urgent booking {} offered to {} graduates", event.getBookingId(), usernames.size());
+    }
+
+    private void retract(BookingStatusChangedEvent event) {
+        Set<String> usernames = offeredTo.remove(event.getBookingId());
+        if (usernames == null) {
+            // Offered before a restart: recompute who could have seen it.
+            usernames = findEligible(event).stream().map(Graduate::getUsername).collect(Collectors.toSet());
+        }
+        UrgentOfferMessage retraction = UrgentOfferMessage.retract(event.getBookingId(), event.getNewStatus().name());
+        for (String username : usernames) {
+            if (!username.equals(event.getGraduateUsername())) {
+                messagingTemplate.convertAndSendToUser(username, OFFER_DESTINATION, retraction);
+            }
+        }
+        logger.info("Urgent booking {} retracted from {} graduates ({})",
+            event.getBookingId(), usernames.size(), event.getNewStatus());
+    }
+
+    private List<Graduate> findEligible(BookingStatusChangedEvent event) {
+        try {
+            return graduateService.findNearbyGraduatesForUrgentJob(event.getCategoryName(),
+                event.getLatitude(), event.getLongitude(), event.getRadius());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Urgent booking {} cannot be dispatched: {}", event.getBookingId(), e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+}
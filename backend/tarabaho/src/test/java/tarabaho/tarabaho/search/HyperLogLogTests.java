@@ -0,0 +1,107 @@
+package tarabaho.tarabaho.search;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class HyperLogLogTests {
+
+	@Test
+	void sparseSketchRoundTrips() {
+		HyperLogLog sketch = sketchOf(0, 100);
+
+		byte[] bytes = sketch.toBytes();
+
+		assertEquals(1, bytes[0], "few registers set should be written sparse");
+		assertTrue(bytes.length < 1 + 2048, "sparse form should be smaller than the register array");
+		HyperLogLog copy = HyperLogLog.fromBytes(bytes);
+		assertEquals(sketch.estimate(), copy.estimate());
+		assertArrayEquals(bytes, copy.toBytes());
+	}
+
+	@Test
+	void denseSketchRoundTrips() {
+		HyperLogLog sketch = sketchOf(0, 10_000);
+
+		byte[] bytes = sketch.toBytes();
+
+		assertEquals(0, bytes[0], "most registers set should be written dense");
+		assertEquals(1 + 2048, bytes.length);
+		HyperLogLog copy = HyperLogLog.fromBytes(bytes);
+		assertEquals(sketch.estimate(), copy.estimate());
+		assertArrayEquals(bytes, copy.toBytes());
+	}
+
+	@Test
+	void emptyBytesGiveEmptySketch() {
+		assertEquals(0, HyperLogLog.fromBytes(null).estimate());
+		assertEquals(0, HyperLogLog.fromBytes(new byte[0]).estimate());
+	}
+
+	@Test
+	void unknownFormatIsRejected() {
+		assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[] { 7, 0, 0 }));
+		assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[] { 0, 1, 2 }));
+	}
+
+	@Test
+	void mergeEqualsSketchOfTheUnion() {
+		HyperLogLog first = sketchOf(0, 6_000);
+		HyperLogLog second = sketchOf(4_000, 10_000);
+
+		first.merge(second);
+
+		assertArrayEquals(sketchOf(0, 10_000).toBytes(), first.toBytes());
+		assertWithin(10_000, first.estimate(), 0.05);
+	}
+
+	@Test
+	void mergingIntoEmptySketchCopiesIt() {
+		HyperLogLog sketch = sketchOf(0, 500);
+		HyperLogLog empty = new HyperLogLog();
+
+		empty.merge(sketch);
+
+		assertArrayEquals(sketch.toBytes(), empty.toBytes());
+	}
+
+	@Test
+	void addingTheSameValueAgainDoesNotCount() {
+		HyperLogLog sketch = sketchOf(0, 1_000);
+		long estimate = sketch.estimate();
+
+		for (int i = 0; i < 1_000; i++) {
+			sketch.add("visitor-" + i);
+		}
+
+		assertEquals(estimate, sketch.estimate());
+	}
+
+	@Test
+	void estimatesThousandDistinctValues() {
+		assertWithin(1_000, sketchOf(0, 1_000).estimate(), 0.05);
+	}
+
+	@Test
+	void estimatesHundredThousandDistinctValues() {
+		assertWithin(100_000, sketchOf(0, 100_000).estimate(), 0.05);
+	}
+
+	private static HyperLogLog sketchOf(int from, int to) {
+		HyperLogLog sketch = new HyperLogLog();
+		for (int i = from; i < to; i++) {
+			sketch.add("visitor-" + i);
+		}
+		return sketch;
+	}
+
+	private static void assertWithin(long expected, long actual, double relativeError) {
+		double error = Math.abs(actual - expected) / (double) expected;
+		assertTrue(error <= relativeError,
+			"estimate " + actual + " is " + String.format("%.1f", error * 100) + "% off " + expected);
+	}
+
+}
@@ -0,0 +1,117 @@
+package tarabaho.tarabaho.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+class WindowedTopKTests {
+
+	@Test
+	void ranksByCountThenId() {
+		WindowedTopK topK = new WindowedTopK(1_000, 3, 10, 0);
+		topK.add(1, 0, 5);
+		topK.add(2, 100, 7);
+		topK.add(3, 200, 5);
+		topK.add(4, 1_500, 1);
+
+		List<WindowedTopK.Entry> ranking = topK.ranking(2_000);
+
+		assertEquals(List.of(2L, 1L, 3L, 4L), ids(ranking));
+		assertEquals(List.of(7L, 5L, 5L, 1L), counts(ranking));
+	}
+
+	@Test
+	void sumsCountsAcrossBuckets() {
+		WindowedTopK topK = new WindowedTopK(1_000, 3, 10, 0);
+		topK.add(1, 0, 2);
+		topK.add(2, 500, 3);
+		topK.add(1, 1_000, 2);
+		topK.add(1, 2_999, 1);
+
+		assertEquals(List.of(1L, 2L), ids(topK.ranking(2_999)));
+		assertEquals(List.of(5L, 3L), counts(topK.ranking(2_999)));
+	}
+
+	@Test
+	void bucketsOutsideWindowExpire() {
+		WindowedTopK topK = new WindowedTopK(1_000, 3, 10, 0);
+		topK.add(1, 0, 10);
+		topK.add(2, 2_500, 1);
+
+		assertEquals(List.of(1L, 2L), ids(topK.ranking(2_500)));
+		// At 3s the window is [1s, 4s): the first bucket has dropped out.
+		assertEquals(List.of(2L), ids(topK.ranking(3_000)));
+		assertEquals(List.of(), ids(topK.ranking(6_000)));
+	}
+
+	@Test
+	void reusedBucketStartsEmptyAndIgnoresLateHits() {
+		WindowedTopK topK = new WindowedTopK(1_000, 3, 10, 0);
+		topK.add(1, 0, 10);
+
+		// 3s maps to the same slot as 0s.
+		topK.add(2, 3_000, 1);
+		topK.add(1, 500, 4);
+
+		assertEquals(List.of(2L), ids(topK.ranking(3_000)));
+	}
+
+	@Test
+	void fullBucketEvictsSmallestCounter() {
+		WindowedTopK topK = new WindowedTopK(1_000, 3, 3, 0);
+		topK.add(1, 0, 5);
+		topK.add(2, 0, 3);
+		topK.add(3, 0, 4);
+
+		topK.add(4, 0, 1);
+
+		List<WindowedTopK.Entry> ranking = topK.ranking(0);
+		assertEquals(List.of(1L, 3L, 4L), ids(ranking));
+		// The newcomer inherits the evicted count: an overestimate of at most that count.
+		assertEquals(List.of(5L, 4L, 4L), counts(ranking));
+	}
+
+	@Test
+	void existingCounterGrowsWhenBucketIsFull() {
+		WindowedTopK topK = new WindowedTopK(1_000, 3, 2, 0);
+		topK.add(1, 0, 1);
+		topK.add(2, 0, 2);
+
+		topK.add(1, 0, 5);
+
+		assertEquals(List.of(1L, 2L), ids(topK.ranking(0)));
+		assertEquals(List.of(6L, 2L), counts(topK.ranking(0)));
+	}
+
+	@Test
+	void rankingIsCachedUntilRefreshInterval() {
+		WindowedTopK topK = new WindowedTopK(10_000, 3, 10, 1_000);
+		topK.add(1, 0, 1);
+		assertEquals(List.of(1L), ids(topK.ranking(0)));
+
+		topK.add(2, 100, 5);
+
+		assertEquals(List.of(1L), ids(topK.ranking(500)));
+		assertEquals(List.of(2L, 1L), ids(topK.ranking(1_000)));
+	}
+
+	@Test
+	void rejectsNonPositiveSizes() {
+		assertThrows(IllegalArgumentException.class, () -> new WindowedTopK(0, 3, 10, 0));
+		assertThrows(IllegalArgumentException.class, () -> new WindowedTopK(1_000, 0, 10, 0));
+		assertThrows(IllegalArgumentException.class, () -> new WindowedTopK(1_000, 3, 0, 0));
+	}
+
+	private static List<Long> ids(List<WindowedTopK.Entry> ranking) {
+		return ranking.stream().map(WindowedTopK.Entry::getId).collect(Collectors.toList());
+	}
+
+	private static List<Long> counts(List<WindowedTopK.Entry> ranking) {
+		return ranking.stream().map(WindowedTopK.Entry::getCount).collect(Collectors.toList());
+	}
+
+}
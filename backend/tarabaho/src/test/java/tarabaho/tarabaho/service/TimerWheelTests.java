@@ -0,0 +1,102 @@
+package tarabaho.tarabaho.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class TimerWheelTests {
+
+	// 8 slots of one second: one revolution is 8 seconds.
+	private final TimerWheel wheel = new TimerWheel(8, 1_000, 0);
+
+	@Test
+	void firesWhenDeadlineTickIsReached() {
+		wheel.schedule(1L, 3_500);
+
+		assertTrue(wheel.advance(2_999).isEmpty());
+		assertEquals(List.of(1L), wheel.advance(3_000));
+		assertTrue(wheel.advance(4_000).isEmpty(), "an entry fires only once");
+	}
+
+	@Test
+	void deadlineMoreThanOneRevolutionAheadWaitsForItsRevolution() {
+		// Tick 20 shares slot 4 with ticks 4 and 12.
+		wheel.schedule(1L, 20_500);
+
+		assertTrue(wheel.advance(4_000).isEmpty());
+		assertTrue(wheel.advance(12_000).isEmpty());
+		assertTrue(wheel.advance(19_999).isEmpty());
+		assertEquals(List.of(1L), wheel.advance(20_000));
+	}
+
+	@Test
+	void pastDeadlineFiresOnNextTick() {
+		wheel.advance(10_000);
+
+		wheel.schedule(1L, 5_000);
+
+		assertTrue(wheel.advance(10_999).isEmpty());
+		assertEquals(List.of(1L), wheel.advance(11_000));
+	}
+
+	@Test
+	void cancelledEntryDoesNotFire() {
+		wheel.schedule(1L, 2_000);
+		wheel.schedule(2L, 2_000);
+
+		wheel.cancel(1L);
+		wheel.cancel(3L);
+
+		assertEquals(List.of(2L), wheel.advance(5_000));
+	}
+
+	@Test
+	void reschedulingReplacesEarlierDeadline() {
+		wheel.schedule(1L, 2_000);
+		wheel.schedule(1L, 6_000);
+
+		assertTrue(wheel.advance(3_000).isEmpty());
+		assertEquals(List.of(1L), wheel.advance(6_000));
+	}
+
+	@Test
+	void advanceAfterLongPauseReturnsEverythingDue() {
+		wheel.schedule(1L, 3_000);
+		wheel.schedule(2L, 5_000);
+		wheel.schedule(3L, 30_000);
+		wheel.schedule(4L, 500_000);
+
+		Set<Long> due = new HashSet<>(wheel.advance(100_000));
+
+		assertEquals(Set.of(1L, 2L, 3L), due);
+		assertTrue(wheel.advance(499_999).isEmpty());
+		assertEquals(List.of(4L), wheel.advance(500_000));
+	}
+
+	@Test
+	void schedulingAfterLongPauseUsesCurrentTick() {
+		wheel.advance(100_000);
+
+		wheel.schedule(1L, 100_500);
+		wheel.schedule(2L, 103_000);
+
+		assertEquals(List.of(1L), wheel.advance(101_000));
+		assertTrue(wheel.advance(102_999).isEmpty());
+		assertEquals(List.of(2L), wheel.advance(103_000));
+	}
+
+	@Test
+	void advancingBackwardsDoesNothing() {
+		wheel.advance(10_000);
+		wheel.schedule(1L, 12_000);
+
+		assertTrue(wheel.advance(5_000).isEmpty());
+		assertEquals(List.of(1L), wheel.advance(12_000));
+	}
+
+}
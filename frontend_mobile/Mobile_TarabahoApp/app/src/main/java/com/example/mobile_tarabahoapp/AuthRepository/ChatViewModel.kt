@@ -25,6 +25,10 @@ class ChatViewModel(
     private val _messages = MutableStateFlow<List<MessageDTO>>(emptyList())
     val messages: StateFlow<List<MessageDTO>> = _messages.asStateFlow()
 
+    // Whether the server may hold messages older than the oldest one loaded
+    private val _hasOlder = MutableStateFlow(false)
+    val hasOlder: StateFlow<Boolean> = _hasOlder.asStateFlow()
+
     private val _connectionState = MutableStateFlow(ConnectionState.DISCONNECTED)
     val connectionState: StateFlow<ConnectionState> = _connectionState.asStateFlow()
 
@@ -53,17 +57,11 @@ class ChatViewModel(
         _connectionState.value = ConnectionState.CONNECTING
         viewModelScope.launch(Dispatchers.IO) {
             try {
-                // Fetch historical messages
-                val response = apiService.getMessages(bookingId)
-                if (response.isSuccessful) {
-                    val historicalMessages = response.body() ?: emptyList()
-                    _messages.value = historicalMessages
-                        .distinctBy { it.id }
-                        .sortedByDescending { it.sentAt }
-                    Log.d(TAG, "Fetched ${historicalMessages.size} messages for bookingId: $bookingId")
+                if (_messages.value.isEmpty()) {
+                    fetchLatestMessages()
                 } else {
-                    Log.e(TAG, "Failed to fetch messages: ${response.errorBody()?.string()}")
-                    _connectionState.value = ConnectionState.ERROR
+                    // Reconnecting: only fetch what was sent while we were away
+                    fetchMissedMessages()
                 }
 
                 // Connect to WebSocket
@@ -77,6 +75,60 @@ class ChatViewModel(
         }
     }
 
+    fun loadOlderMessages() {
+        val oldest = _messages.value.minOfOrNull { it.id } ?: return
+        viewModelScope.launch(Dispatchers.IO) {
+            try {
+                val response = apiService.getMessages(bookingId, before = oldest, limit = PAGE_SIZE)
+                if (response.isSuccessful) {
+                    val olderMessages = response.body() ?: emptyList()
+                    addMessages(olderMessages)
+                    _hasOlder.value = olderMessages.size == PAGE_SIZE
+                    Log.d(TAG, "Fetched ${olderMessages.size} older messages for bookingId: $bookingId")
+                } else {
+                    Log.e(TAG, "Failed to fetch older messages: ${response.errorBody()?.string()}")
+                }
+            } catch (e: Exception) {
+                Log.e(TAG, "Failed to fetch older messages: ${e.message}")
+            }
+        }
+    }
+
+    private suspend fun fetchLatestMessages() {
+        val response = apiService.getMessages(bookingId, limit = PAGE_SIZE)
+        if (response.isSuccessful) {
+            val historicalMessages = response.body() ?: emptyList()
+            addMessages(historicalMessages)
+            _hasOlder.value = historicalMessages.size == PAGE_SIZE
+            Log.d(TAG, "Fetched ${historicalMessages.size} messages for bookingId: $bookingId")
+        } else {
+            Log.e(TAG, "Failed to fetch messages: ${response.errorBody()?.string()}")
+            _connectionState.value = ConnectionState.ERROR
+        }
+    }
+
+    private suspend fun fetchMissedMessages() {
+        var after = _messages.value.maxOf { it.id }
+        do {
+            val response = apiService.getMessages(bookingId, after = after, limit = PAGE_SIZE)
+            if (!response.isSuccessful) {
+                Log.e(TAG, "Failed to fetch missed messages: ${response.errorBody()?.string()}")
+                _connectionState.value = ConnectionState.ERROR
+                return
+            }
+            val missedMessages = response.body() ?: emptyList()
+            addMessages(missedMessages)
+            missedMessages.lastOrNull()?.let { after = it.id }
+            Log.d(TAG, "Fetched ${missedMessages.size} missed messages for bookingId: $bookingId")
+        } while (missedMessages.size == PAGE_SIZE)
+    }
+
+    private fun addMessages(newMessages: List<MessageDTO>) {
+        _messages.value = (_messages.value + newMessages)
+            .distinctBy { it.id }
+            .sortedByDescending { it.sentAt }
+    }
+
     fun disconnect() {
         viewModelScope.launch(Dispatchers.IO) {
             websocketManager.disconnect()
@@ -129,6 +181,10 @@ class ChatViewModel(
         Log.d(TAG, "ChatViewModel cleared for bookingId: $bookingId")
     }
 
+    companion object {
+        private const val PAGE_SIZE = 50
+    }
+
     enum class ConnectionState {
         DISCONNECTED,
         CONNECTING,
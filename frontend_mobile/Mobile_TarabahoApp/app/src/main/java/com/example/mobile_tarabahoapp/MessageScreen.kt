@@ -44,12 +44,13 @@ fun MessagesScreen(
 
     val messages by chatViewModel.messages.collectAsState()
     val connectionState by chatViewModel.connectionState.collectAsState()
+    val hasOlder by chatViewModel.hasOlder.collectAsState()
     var inputText by remember { mutableStateOf("") }
     val keyboardController = LocalSoftwareKeyboardController.current
     val listState = rememberLazyListState()
 
-    // Scroll to bottom when new messages arrive
-    LaunchedEffect(messages.size) {
+    // Scroll to bottom when new messages arrive (not when older ones are loaded)
+    LaunchedEffect(messages.firstOrNull()?.id) {
         if (messages.isNotEmpty()) {
             listState.animateScrollToItem(0)
         }
@@ -159,6 +160,20 @@ fun MessagesScreen(
                             isCurrentUser = isCurrentUser
                         )
                     }
+
+                    // Shown above the oldest message because the layout is reversed
+                    if (hasOlder) {
+                        item {
+                            Box(
+                                modifier = Modifier.fillMaxWidth(),
+                                contentAlignment = Alignment.Center
+                            ) {
+                                TextButton(onClick = { chatViewModel.loadOlderMessages() }) {
+                                    Text("Load earlier messages", fontSize = 14.sp)
+                                }
+                            }
+                        }
+                    }
                 }
             }
 
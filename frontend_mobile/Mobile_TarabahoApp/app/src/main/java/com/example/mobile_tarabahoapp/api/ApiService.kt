@@ -106,8 +106,14 @@ interface ApiService {
     @POST("/api/booking/rating")
     suspend fun submitRating(@Body request: RatingRequest): Response<String>
 
+    // Oldest first; without before/after this is the latest page
     @GET("/api/message/booking/{bookingId}")
-    suspend fun getMessages(@Path("bookingId") bookingId: Long): Response<List<MessageDTO>>
+    suspend fun getMessages(
+        @Path("bookingId") bookingId: Long,
+        @Query("before") before: Long? = null,
+        @Query("after") after: Long? = null,
+        @Query("limit") limit: Int = 50
+    ): Response<List<MessageDTO>>
 
     @POST("/api/message/send")
     suspend fun sendMessage(@Body request: SendMessageRequest): Response<MessageDTO>
@@ -7,9 +7,9 @@ import retrofit2.Response
 
 class ChatRepository(private val api: ApiService) {
 
-    suspend fun getMessages(bookingId: Long): List<MessageDTO> {
+    suspend fun getMessages(bookingId: Long, before: Long? = null, after: Long? = null): List<MessageDTO> {
         return try {
-            val response = api.getMessages(bookingId)
+            val response = api.getMessages(bookingId, before, after)
             if (response.isSuccessful) {
                 response.body() ?: emptyList()
             } else {
@@ -8,6 +8,26 @@ import TrabahadorNavbar from "../components/TrabahadorNavbar";
 import Footer from "../components/Footer";
 import "../styles/BookingSystem.css";
 
+// Messages per history request; the backend caps it at 100.
+const PAGE_SIZE = 50;
+
+// Adapt DTO to frontend message format
+const toChatMessage = (dto) => ({
+  id: dto.id,
+  bookingId: dto.bookingId,
+  content: dto.content,
+  sentAt: dto.sentAt,
+  senderUser: dto.senderUserId != null
+});
+
+// Adds messages not already shown, keeping the conversation in id order
+const mergeMessages = (prev, incoming) => {
+  const known = new Set(prev.map((msg) => msg.id));
+  const added = incoming.filter((msg) => !known.has(msg.id));
+  if (!added.length) return prev;
+  return [...prev, ...added].sort((a, b) => a.id - b.id);
+};
+
 const ChatPage = () => {
   const { bookingId } = useParams();
   const [messages, setMessages] = useState([]);
@@ -17,7 +37,11 @@ const ChatPage = () => {
   const [loading, setLoading] = useState(true);
   const [connected, setConnected] = useState(false);
   const [token, setToken] = useState(null);
+  const [hasOlder, setHasOlder] = useState(false);
+  const [loadingOlder, setLoadingOlder] = useState(false);
   const chatBoxRef = useRef(null);
+  const messagesRef = useRef([]);
+  const keepScrollFromRef = useRef(null);
   const stompClientRef = useRef(null);
   const navigate = useNavigate();
   const BACKEND_URL = import.meta.env.VITE_BACKEND_URL || "http://localhost:8080";
@@ -90,7 +114,7 @@ const ChatPage = () => {
     fetchToken();
   }, [navigate]);
 
-  // useEffect 2: Fetch initial messages
+  // useEffect 2: Fetch the latest page of messages
   useEffect(() => {
     if (!token || isUser === null) return;
 
@@ -99,17 +123,12 @@ const ChatPage = () => {
         console.log(`ChatPage: Fetching messages for booking ${bookingId}, isUser: ${isUser}`);
         const response = await axios.get(`${BACKEND_URL}/api/message/booking/${bookingId}`, {
           headers: { Authorization: `Bearer ${token}` },
+          params: { limit: PAGE_SIZE },
           withCredentials: true,
         });
         console.log("ChatPage: Fetched messages:", response.data);
-        // Map DTOs to frontend message format
-        setMessages(response.data.map(dto => ({
-          id: dto.id,
-          bookingId: dto.bookingId,
-          content: dto.content,
-          sentAt: dto.sentAt,
-          senderUser: dto.senderUserId != null
-        })));
+        setMessages((prev) => mergeMessages(prev, response.data.map(toChatMessage)));
+        setHasOlder(response.data.length === PAGE_SIZE);
       } catch (err) {
         const errorMessage =
           err.response?.data.replace("⚠️ ", "") ||
@@ -126,6 +145,30 @@ const ChatPage = () => {
   useEffect(() => {
     if (isUser === null || !token) return;
 
+    // Fetches what was sent while the socket was down, after the newest message shown
+    const catchUpMessages = async () => {
+      const current = messagesRef.current;
+      if (!current.length) return;
+      try {
+        let after = current[current.length - 1].id;
+        let page;
+        do {
+          const response = await axios.get(`${BACKEND_URL}/api/message/booking/${bookingId}`, {
+            headers: { Authorization: `Bearer ${token}` },
+            params: { after, limit: PAGE_SIZE },
+            withCredentials: true,
+          });
+          page = response.data;
+          if (page.length) {
+            after = page[page.length - 1].id;
+            setMessages((prev) => mergeMessages(prev, page.map(toChatMessage)));
+          }
+        } while (page.length === PAGE_SIZE);
+      } catch (err) {
+        console.error("ChatPage: Failed to catch up on messages:", err.response?.data, err.message);
+      }
+    };
+
     const connectWebSocket = () => {
       try {
         console.log("ChatPage: Initializing WebSocket...");
@@ -146,23 +189,12 @@ const ChatPage = () => {
         stompClientRef.current.onConnect = (frame) => {
           console.log("ChatPage: Connected to WebSocket:", frame);
           setConnected(true);
+          catchUpMessages();
           stompClientRef.current.subscribe(`/topic/booking/${bookingId}`, (message) => {
             try {
               const newMessage = JSON.parse(message.body);
               console.log("ChatPage: Received message:", newMessage);
-              setMessages((prev) => {
-                if (prev.some((msg) => msg.id === newMessage.id)) {
-                  return prev;
-                }
-                // Adapt DTO to frontend message format
-                return [...prev, {
-                  id: newMessage.id,
-                  bookingId: newMessage.bookingId,
-                  content: newMessage.content,
-                  sentAt: newMessage.sentAt,
-                  senderUser: newMessage.senderUserId != null
-                }];
-              });
+              setMessages((prev) => mergeMessages(prev, [toChatMessage(newMessage)]));
             } catch (err) {
               console.error("ChatPage: Failed to parse message:", err, message.body);
               setError("Received invalid message from server.");
@@ -204,10 +236,16 @@ const ChatPage = () => {
     };
   }, [bookingId, isUser, token]);
 
-  // useEffect 4: Auto-scroll to latest message
+  // useEffect 4: Auto-scroll to latest message, or keep the view in place after loading older ones
   useEffect(() => {
+    messagesRef.current = messages;
     if (chatBoxRef.current) {
-      chatBoxRef.current.scrollTop = chatBoxRef.current.scrollHeight;
+      if (keepScrollFromRef.current != null) {
+        chatBoxRef.current.scrollTop = chatBoxRef.current.scrollHeight - keepScrollFromRef.current;
+        keepScrollFromRef.current = null;
+      } else {
+        chatBoxRef.current.scrollTop = chatBoxRef.current.scrollHeight;
+      }
     }
   }, [messages]);
 
@@ -216,6 +254,31 @@ const ChatPage = () => {
     console.log("ChatPage: isUser state changed:", isUser);
   }, [isUser]);
 
+  const handleLoadOlder = async () => {
+    if (!messages.length || loadingOlder) return;
+    setLoadingOlder(true);
+    try {
+      const response = await axios.get(`${BACKEND_URL}/api/message/booking/${bookingId}`, {
+        headers: { Authorization: `Bearer ${token}` },
+        params: { before: messages[0].id, limit: PAGE_SIZE },
+        withCredentials: true,
+      });
+      if (chatBoxRef.current) {
+        keepScrollFromRef.current = chatBoxRef.current.scrollHeight - chatBoxRef.current.scrollTop;
+      }
+      setMessages((prev) => mergeMessages(prev, response.data.map(toChatMessage)));
+      setHasOlder(response.data.length === PAGE_SIZE);
+    } catch (err) {
+      const errorMessage =
+        err.response?.data.replace("⚠️ ", "") ||
+        "Failed to load earlier messages. Please try again.";
+      console.error("ChatPage: Failed to load earlier messages:", err.response?.data, err.message);
+      setError(errorMessage);
+    } finally {
+      setLoadingOlder(false);
+    }
+  };
+
   const handleSendMessage = async (e) => {
     e.preventDefault();
     if (!newMessage.trim()) {
@@ -237,14 +300,7 @@ const ChatPage = () => {
             withCredentials: true,
           }
         );
-        // Adapt DTO to frontend message format
-        setMessages((prev) => [...prev, {
-          id: response.data.id,
-          bookingId: response.data.bookingId,
-          content: response.data.content,
-          sentAt: response.data.sentAt,
-          senderUser: response.data.senderUserId != null
-        }]);
+        setMessages((prev) => mergeMessages(prev, [toChatMessage(response.data)]));
         setNewMessage("");
         setError("");
       } catch (err) {
@@ -307,6 +363,11 @@ const ChatPage = () => {
           {!connected && <div className="error-message">Connecting to chat...</div>}
           {error && <div className="error-message">{error}</div>}
           <div className="chat-box" ref={chatBoxRef}>
+            {hasOlder && (
+              <button type="button" onClick={handleLoadOlder} disabled={loadingOlder}>
+                {loadingOlder ? "Loading..." : "Load earlier messages"}
+              </button>
+            )}
             {messages.length > 0 ? (
               messages.map((message) => (
                 <div
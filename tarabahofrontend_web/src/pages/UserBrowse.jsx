@@ -44,6 +44,12 @@ const Browse = () => {
   const [isLoading, setIsLoading] = useState(false)
   const [error, setError] = useState("")
   const [showResults, setShowResults] = useState(false)
+  // Cursor for the next page of the last search, and the query it belongs to
+  const [nextCursor, setNextCursor] = useState(null)
+  const [searchedQuery, setSearchedQuery] = useState("")
+  const [totalMatches, setTotalMatches] = useState(0)
+  const [isLoadingMore, setIsLoadingMore] = useState(false)
+  const [loadMoreError, setLoadMoreError] = useState("")
   const backendUrl = import.meta.env.VITE_BACKEND_URL
 
   // Function to construct Supabase image URL (reused from original)
@@ -67,6 +73,8 @@ const Browse = () => {
     setIsLoading(true)
     setError("")
     setSearchResults([])
+    setNextCursor(null)
+    setLoadMoreError("")
     setShowResults(true)
 
     try {
@@ -74,8 +82,11 @@ const Browse = () => {
         params: { query: searchQuery },
         withCredentials: true,
       })
-      const data = Array.isArray(response.data) ? response.data : []
+      const data = Array.isArray(response.data?.results) ? response.data.results : []
       setSearchResults(data)
+      setNextCursor(response.data?.nextCursor || null)
+      setSearchedQuery(searchQuery)
+      setTotalMatches(response.data?.totalMatches ?? data.length)
       if (data.length === 0) {
         setError("No matching portfolios found.")
       }
@@ -91,9 +102,31 @@ const Browse = () => {
     }
   }
 
+  const handleLoadMore = async () => {
+    if (!nextCursor) return
+
+    setIsLoadingMore(true)
+    setLoadMoreError("")
+    try {
+      const response = await axios.get(`${backendUrl}/api/portfolio/search`, {
+        params: { query: searchedQuery, after: nextCursor },
+        withCredentials: true,
+      })
+      const data = Array.isArray(response.data?.results) ? response.data.results : []
+      setSearchResults((prev) => [...prev, ...data])
+      setNextCursor(response.data?.nextCursor || null)
+    } catch (err) {
+      console.error("Failed to load more portfolios:", err)
+      setLoadMoreError(`Failed to load more portfolios: ${err.message}`)
+    } finally {
+      setIsLoadingMore(false)
+    }
+  }
+
   const clearSearch = () => {
     setSearchQuery("")
     setSearchResults([])
+    setNextCursor(null)
     setError("")
     setShowResults(false)
   }
@@ -229,10 +262,10 @@ const Browse = () => {
                   <div className="flex items-center justify-between mb-8">
                     <div>
                       <Typography variant="h5" color="blue" className="font-light">
-                        {searchResults.length} Professional{searchResults.length !== 1 ? 's' : ''} Found
+                        {totalMatches} Professional{totalMatches !== 1 ? 's' : ''} Found
                       </Typography>
                       <Typography variant="small" color="gray">
-                        for "{searchQuery}"
+                        for "{searchedQuery}"
                       </Typography>
                     </div>
                     <Button 
@@ -360,6 +393,25 @@ const Browse = () => {
                   </div>
                 )}
 
+                {nextCursor && !isLoading && !error && (
+                  <div className="text-center mt-10">
+                    {loadMoreError && (
+                      <Typography color="red" className="mb-4">
+                        {loadMoreError}
+                      </Typography>
+                    )}
+                    <Button
+                      color="blue"
+                      variant="outlined"
+                      onClick={handleLoadMore}
+                      disabled={isLoadingMore}
+                      className="font-medium"
+                    >
+                      {isLoadingMore ? <Spinner className="h-5 w-5 mx-auto" /> : "Load More"}
+                    </Button>
+                  </div>
+                )}
+
                 {/* No results empty state */}
                 {searchResults.length === 0 && !isLoading && showResults && (
                   <div className="text-center py-20">
@@ -19,6 +19,9 @@ const getImageUrl = (profilePicture) => {
   return `${SUPABASE_STORAGE_URL}${profilePicture.startsWith("/") ? "" : "/"}${profilePicture}`
 }
 
+// Workers per request; the backend caps the page at 100.
+const PAGE_SIZE = 100
+
 class ErrorBoundary extends React.Component {
   state = { hasError: false, error: null }
   static getDerivedStateFromError(error) {
@@ -54,6 +57,8 @@ const UserBrowseCategory = () => {
   const [priceRange, setPriceRange] = useState({ min: 0, max: 1000 })
   const [ratingFilter, setRatingFilter] = useState(0)
   const [favorites, setFavorites] = useState([])
+  const [hasMore, setHasMore] = useState(false)
+  const [isLoadingMore, setIsLoadingMore] = useState(false)
   const backendUrl = import.meta.env.VITE_BACKEND_URL
 
   useEffect(() => {
@@ -78,11 +83,13 @@ const UserBrowseCategory = () => {
         const workersResponse = await axios.get(
           `${backendUrl}/api/worker/category/${formattedCategoryName}/available`,
           {
+            params: { offset: 0, limit: PAGE_SIZE },
             withCredentials: true,
           },
         )
         setWorkers(workersResponse.data)
         setFilteredWorkers(workersResponse.data)
+        setHasMore(workersResponse.data.length === PAGE_SIZE)
         setError("")
       } catch (err) {
         console.error(`Failed to fetch data for ${categoryName}:`, err)
@@ -107,6 +114,31 @@ const UserBrowseCategory = () => {
     fetchCategoryAndWorkers()
   }, [categoryName, navigate, backendUrl])
 
+  const handleLoadMore = async () => {
+    setIsLoadingMore(true)
+    try {
+      const formattedCategoryName = categoryName.charAt(0).toUpperCase() + categoryName.slice(1)
+      const workersResponse = await axios.get(
+        `${backendUrl}/api/worker/category/${formattedCategoryName}/available`,
+        {
+          params: { offset: workers.length, limit: PAGE_SIZE },
+          withCredentials: true,
+        },
+      )
+      // The ranking can shift between pages, so skip workers already listed
+      setWorkers((prev) => {
+        const known = new Set(prev.map((worker) => worker.id))
+        return [...prev, ...workersResponse.data.filter((worker) => !known.has(worker.id))]
+      })
+      setHasMore(workersResponse.data.length === PAGE_SIZE)
+    } catch (err) {
+      console.error(`Failed to load more workers for ${categoryName}:`, err)
+      setError(err.response?.data?.replace("⚠️ ", "") || "Failed to load more workers. Please try again.")
+    } finally {
+      setIsLoadingMore(false)
+    }
+  }
+
   useEffect(() => {
     let updatedWorkers = [...workers]
     if (searchQuery) {
@@ -348,6 +380,11 @@ const UserBrowseCategory = () => {
               })}
             </div>
           )}
+          {!isLoading && !error && hasMore && (
+            <button className={styles.filterButton} onClick={handleLoadMore} disabled={isLoadingMore}>
+              {isLoadingMore ? "Loading..." : "Load more workers"}
+            </button>
+          )}
         </div>
       </div>
       <Footer />